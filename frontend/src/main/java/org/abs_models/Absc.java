@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
+import org.abs_models.backend.java.codegeneration.Inlining;
 import org.abs_models.frontend.parser.Main;
 import org.abs_models.frontend.typechecker.CheckSPLCommand;
 import org.abs_models.frontend.typechecker.locationtypes.LocationType;
@@ -152,6 +153,10 @@ public class Absc implements Callable<Integer> {
     @Option(names = { "--sourceonly" },
             description = "@|bold Java backend:|@ do not generate Java .class files")
     public boolean java_sourceOnly = false;
+    @Option(names = { "--inline-limit" },
+            description = "@|bold Java backend:|@ inline calls of non-recursive functions whose body has at most @|italic n|@ expression nodes, 0 disables inlining (default: ${DEFAULT-VALUE})",
+            paramLabel = "n")
+    public int java_inlineLimit = Inlining.DEFAULT_LIMIT;
 
     // Pretty-printer
     @Option(names = { "-f", "--force" },
@@ -20,6 +20,7 @@ import org.abs_models.Absc;
 import org.abs_models.backend.common.InternalBackendException;
 import org.abs_models.backend.java.codegeneration.JavaCode;
 import org.abs_models.backend.java.codegeneration.JavaCodeGenerationException;
+import org.abs_models.backend.java.codegeneration.NativeStdLib;
 import org.abs_models.backend.java.lib.runtime.ABSFut;
 import org.abs_models.backend.java.lib.runtime.ABSObject;
 import org.abs_models.backend.java.lib.types.ABSProcess;
@@ -101,6 +102,7 @@ public class JavaBackend extends Main {
 
     private void compile(Model m, File destDir, File output_jar) throws IOException, JavaCodeGenerationException {
         JavaCode javaCode = new JavaCode(destDir, output_jar, arguments.http_index_file, arguments.http_static_dir);
+        m.javaInlineLimit = arguments.java_inlineLimit;
         if (this.untypedJavaGen) {
             if (arguments.verbose) System.out.println("Generating dynamic Java code...");
             m.generateJavaCodeDynamic(javaCode, arguments.debug_generated_code);
@@ -143,6 +145,35 @@ public class JavaBackend extends Main {
         return getQualifiedString(type);
     }
 
+    /**
+     * The Java type used for local variables, fields and function
+     * parameters of the given type: like {@link #getJavaType(Type)}, but
+     * uses the primitive types {@code boolean} and {@code double} for
+     * Bool and Float.  Method signatures, constructor arguments and type
+     * arguments keep the boxed types.
+     */
+    public static String getUnboxedJavaType(Type type) {
+        if (type.isBoolType()) return "boolean";
+        if (type.isFloatType()) return "double";
+        return getQualifiedString(type);
+    }
+
+    /**
+     * Whether {@link #getUnboxedJavaType} returns a primitive type.
+     */
+    public static boolean isUnboxedType(Type type) {
+        return type.isBoolType() || type.isFloatType();
+    }
+
+    /**
+     * The initial value of an uninitialized variable of the given type.
+     */
+    public static String getDefaultValue(Type type) {
+        if (type.isBoolType()) return "false";
+        if (type.isFloatType()) return "0.0";
+        return "null";
+    }
+
     public static String getQualifiedString(String s) {
         return s;
     }
@@ -172,7 +203,11 @@ public class JavaBackend extends Main {
                 }
                 sb.append(">");
             }
-            return getQualifiedString(dt.getDecl()) + sb.toString();
+            String className = NativeStdLib.getJavaClassName(dt.getDecl());
+            if (className == null) {
+                className = getQualifiedString(dt.getDecl());
+            }
+            return className + sb.toString();
         } else if (absType.isInterfaceType()) {
             InterfaceType it = (InterfaceType) absType;
             return getQualifiedString(it.getDecl());
@@ -85,6 +85,7 @@ public class ClassDeclGenerator {
         generateNewObjectMethods();
         stream.println();
         generateMethods();
+        decl.getModel().getJavaMethodSplitter().generatePendingMethods(stream);
         stream.println("}");
     }
 
@@ -299,6 +300,7 @@ public class ClassDeclGenerator {
         for (FieldDecl f : decl.getFields()) {
             f.generateJava(stream);
         }
+        JavaGeneratorHelper.generateHoistedConstants(stream, decl.hoistedConstants());
     }
 
     private void generateFieldNamesMethod() {
@@ -0,0 +1,351 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.codegeneration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.abs_models.backend.java.JavaBackend;
+import org.abs_models.backend.java.lib.expr.UnmatchedCaseException;
+import org.abs_models.frontend.ast.ASTNode;
+import org.abs_models.frontend.ast.Binary;
+import org.abs_models.frontend.ast.BoolExp;
+import org.abs_models.frontend.ast.CaseBranch;
+import org.abs_models.frontend.ast.CaseExp;
+import org.abs_models.frontend.ast.ConstructorPattern;
+import org.abs_models.frontend.ast.DataConstructorExp;
+import org.abs_models.frontend.ast.DataTypeDecl;
+import org.abs_models.frontend.ast.Decl;
+import org.abs_models.frontend.ast.ExpFunctionDef;
+import org.abs_models.frontend.ast.FnApp;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.IfExp;
+import org.abs_models.frontend.ast.ListLiteral;
+import org.abs_models.frontend.ast.LiteralExp;
+import org.abs_models.frontend.ast.ParamDecl;
+import org.abs_models.frontend.ast.ParametricFunctionDecl;
+import org.abs_models.frontend.ast.Pattern;
+import org.abs_models.frontend.ast.PatternVar;
+import org.abs_models.frontend.ast.PureExp;
+import org.abs_models.frontend.ast.Unary;
+import org.abs_models.frontend.ast.UnderscorePattern;
+import org.abs_models.frontend.ast.VarOrFieldUse;
+import org.abs_models.frontend.ast.VarUse;
+import org.abs_models.frontend.typechecker.DataTypeType;
+import org.abs_models.frontend.typechecker.Type;
+import org.abs_models.frontend.typechecker.TypeCheckerHelper;
+
+/**
+ * Inlines calls of small non-recursive functions instead of calling
+ * the {@code apply} method of the function's class.
+ *
+ * Three kinds of function bodies are inlined:
+ * <ul>
+ * <li>Native bodies (see {@link NativeStdLib}) that return a single
+ *   expression using each parameter once, e.g. {@code head} and
+ *   {@code contains}.  The argument code is substituted for the
+ *   parameters.
+ * <li>A {@code case} over the only parameter whose branches match a
+ *   constructor with variables and return one of them or a constant,
+ *   e.g. {@code fst}, {@code fromJust} and {@code isJust}.  These
+ *   become a switch over the argument.
+ * <li>Bodies without binders whose parameters are each used once,
+ *   unconditionally and in order, and that evaluate nothing but
+ *   literals and parameters before the last parameter use, e.g. {@code
+ *   def Int inc(Int x) = x + 1;}.  The body is compiled at the call
+ *   site with the argument code substituted for the parameters (see
+ *   {@link #getArgument}).  Only functions without type parameters
+ *   whose parameters and result have no type arguments are inlined
+ *   this way, so that the argument code can be cast to the type of the
+ *   parameter.
+ * </ul>
+ *
+ * Memoized functions, functions compiled into loops and functions
+ * whose body has more than {@code limit} expression nodes are called
+ * as usual.  In all three cases, the argument code is evaluated in the
+ * same order as before and before anything else in the body, so
+ * inlining does not change the result or the exception thrown.  For
+ * example, {@code def Int f(Int x, Int y) = g(x) + y;} is not
+ * substituted, since {@code g} would be called before the argument
+ * code for {@code y} is evaluated.
+ */
+public class Inlining {
+
+    /** The default value of the {@code --inline-limit} option. */
+    public static final int DEFAULT_LIMIT = 12;
+
+    private final int limit;
+
+    /** The code of the arguments substituted for the parameters of inlined bodies. */
+    private final Map<ParamDecl, String> arguments = new IdentityHashMap<>();
+
+    private final Map<FunctionDecl, Boolean> recursive = new HashMap<>();
+
+    public Inlining(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the code substituted for a parameter while compiling the
+     * inlined body of its function, or null.
+     */
+    public String getArgument(ParamDecl p) {
+        return arguments.isEmpty() ? null : arguments.get(p);
+    }
+
+    /**
+     * Prints the inlined body of the function called by {@code app}
+     * and returns true, or returns false if the call is not inlined.
+     */
+    public boolean generateInlinedCall(PrintStream stream, FnApp app) {
+        if (limit <= 0
+            || !(app.getDecl() instanceof FunctionDecl f)
+            || JavaGeneratorHelper.getMemoizeAnnotation(f) != null) {
+            return false;
+        }
+        if (NativeStdLib.getFunctionBody(f) != null) {
+            if (!hasPreciseArgs(app)) return false;
+            String result = NativeStdLib.getInlinedBody(f, generateArgs(app));
+            if (result == null) return false;
+            stream.print(result);
+            return true;
+        }
+        if (!(f.getFunctionDef() instanceof ExpFunctionDef def)
+            || def.getRhs().findChildren(PureExp.class).size() > limit
+            || ListLoops.of(f) != null
+            || TailCalls.of(f) != null
+            || isRecursive(f)) {
+            return false;
+        }
+        PureExp body = def.getRhs();
+        if (isSelector(f, body) && hasPreciseArgs(app)) {
+            generateSelector(stream, app, (CaseExp)body);
+            return true;
+        }
+        if (isSubstitutable(f, body)) {
+            generateSubstituted(stream, app, f, body);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the Java type of the code generated for each argument
+     * is known without a target type.  Otherwise, e.g. for {@code
+     * Nil}, the type arguments are only inferred when passing the
+     * argument to {@code apply}.
+     */
+    private static boolean hasPreciseArgs(FnApp app) {
+        for (PureExp arg : app.getParams()) {
+            if (!(arg instanceof VarOrFieldUse) && !hasNoTypeArgs(arg.getType())) return false;
+        }
+        return true;
+    }
+
+    private static boolean hasNoTypeArgs(Type t) {
+        return !t.isTypeParameter() && !t.isBoundedType()
+            && !(t instanceof DataTypeType dt && dt.hasTypeArgs());
+    }
+
+    private boolean isRecursive(FunctionDecl f) {
+        Boolean result = recursive.get(f);
+        if (result == null) {
+            result = false;
+            Set<FunctionDecl> visited = new HashSet<>();
+            Deque<FunctionDecl> todo = new ArrayDeque<>();
+            todo.push(f);
+            while (!todo.isEmpty() && !result) {
+                FunctionDecl g = todo.pop();
+                for (FnApp call : g.getFunctionDef().findChildren(FnApp.class)) {
+                    if (call.getDecl() == f) result = true;
+                    if (call.getDecl() instanceof FunctionDecl h && visited.add(h)) todo.push(h);
+                }
+            }
+            recursive.put(f, result);
+        }
+        return result;
+    }
+
+    private static List<String> generateArgs(FnApp app) {
+        List<String> result = new ArrayList<>();
+        for (PureExp arg : app.getParams()) {
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            PrintStream stream = new PrintStream(code);
+            arg.generateJava(stream);
+            stream.flush();
+            result.add(code.toString());
+        }
+        return result;
+    }
+
+    // Selectors: case p { C1(x, _) => x; C2(_) => False; ... }
+
+    private static boolean isSelector(FunctionDecl f, PureExp body) {
+        if (f.getNumParam() != 1
+            || !(body instanceof CaseExp c)
+            || !(c.getExpr() instanceof VarUse v)
+            || v.getDecl() != f.getParam(0)
+            || !(f.getParam(0).getType() instanceof DataTypeType t)) {
+            return false;
+        }
+        DataTypeDecl decl = t.getDecl();
+        if (t.isBoolType() || t.isUnitType() || t.isExceptionType() || NativeStdLib.isNativeDataType(decl)) {
+            return false;
+        }
+        for (int i = 0; i < c.getNumBranch(); i++) {
+            CaseBranch b = c.getBranch(i);
+            if (b.getLeft() instanceof ConstructorPattern p) {
+                for (Pattern sub : p.getParams()) {
+                    if (!(sub instanceof PatternVar) && !(sub instanceof UnderscorePattern)) return false;
+                }
+                if (projection(b) < 0 && !isConstant(b.getRight())) return false;
+            } else if (!(b.getLeft() instanceof UnderscorePattern)
+                       || i < c.getNumBranch() - 1
+                       || !isConstant(b.getRight())) {
+                // a default branch can only come last in Java
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the constructor argument returned by the
+     * branch, or -1 if it does not return a variable of its pattern.
+     */
+    private static int projection(CaseBranch b) {
+        if (b.getRight() instanceof VarUse v && b.getLeft() instanceof ConstructorPattern p) {
+            for (int i = 0; i < p.getNumParam(); i++) {
+                if (p.getParam(i) instanceof PatternVar var && var.getVar() == v.getDecl()) return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isConstant(PureExp e) {
+        if (e instanceof DataConstructorExp d) {
+            return d.getNumParam() == 0 && hasNoTypeArgs(d.getType());
+        }
+        return e instanceof LiteralExp && !(e instanceof ListLiteral);
+    }
+
+    private static void generateSelector(PrintStream stream, FnApp app, CaseExp c) {
+        int depth = app.distanceTo(Decl.class);
+        int counter = 0;
+        boolean unboxed = JavaBackend.isUnboxedType(app.getType());
+        stream.print(unboxed ? "((" + JavaBackend.getUnboxedJavaType(app.getType()) + ")(switch (" : "(switch (");
+        app.getParam(0).generateJava(stream);
+        stream.print(") { ");
+        boolean needsDefault = TypeCheckerHelper.needsDefaultBranch(c);
+        for (CaseBranch b : c.getBranchs()) {
+            String result = null;
+            if (b.getLeft() instanceof ConstructorPattern p) {
+                int projection = projection(b);
+                stream.print("case " + JavaBackend.getQualifiedString(p.getDataConstructor()) + "(");
+                for (int i = 0; i < p.getNumParam(); i++) {
+                    String var = "$in" + counter++ + "$" + depth;
+                    if (i == projection) result = var;
+                    stream.print("var " + var + ", ");
+                }
+                // the record component holding the hash code
+                stream.print("int $in" + counter++ + "$" + depth + ") -> ");
+            } else {
+                stream.print("default -> ");
+            }
+            if (result != null) {
+                stream.print(result);
+            } else {
+                b.getRight().generateJava(stream);
+            }
+            stream.print("; ");
+        }
+        if (needsDefault) {
+            stream.print("default -> throw new " + UnmatchedCaseException.class.getName() + "(\""
+                         + JavaGeneratorHelper.escapedString(c.getPositionString())
+                         + ": value did not match any pattern.\"); ");
+        }
+        stream.print(unboxed ? "}))" : "})");
+    }
+
+    // Other bodies: the parameters are replaced by the arguments
+
+    private static boolean isSubstitutable(FunctionDecl f, PureExp body) {
+        if (f instanceof ParametricFunctionDecl p && p.getNumTypeParameter() > 0
+            || !hasNoTypeArgs(f.getType())) {
+            return false;
+        }
+        for (ParamDecl p : f.getParams()) {
+            if (!hasNoTypeArgs(p.getType())) return false;
+        }
+        for (PureExp e : body.findChildren(PureExp.class)) {
+            if (!(e instanceof LiteralExp || e instanceof VarUse || e instanceof FnApp
+                  || e instanceof DataConstructorExp || e instanceof Unary || e instanceof Binary
+                  || e instanceof IfExp)) {
+                // in particular, no case and let expressions
+                return false;
+            }
+        }
+        List<VarUse> uses = body.findChildren(VarUse.class);
+        if (uses.size() != f.getNumParam()) return false;
+        for (int i = 0; i < uses.size(); i++) {
+            if (uses.get(i).getDecl() != f.getParam(i) || isConditional(uses.get(i), body)) return false;
+        }
+        return uses.isEmpty() || isEvaluatedFirst(uses.get(uses.size() - 1), body);
+    }
+
+    /**
+     * Whether only literals and variables are evaluated before {@code
+     * e} when evaluating {@code body}, i.e. the siblings before each
+     * node on the path from {@code e} to {@code body}.
+     */
+    private static boolean isEvaluatedFirst(PureExp e, PureExp body) {
+        for (ASTNode<?> n = e; n != body; n = n.getParent()) {
+            ASTNode<?> parent = n.getParent();
+            for (int i = 0; i < parent.getIndexOfChild(n); i++) {
+                ASTNode<?> sibling = parent.getChild(i);
+                if (!(sibling instanceof LiteralExp) && !(sibling instanceof VarUse)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@code e} is only evaluated for some values of the other
+     * subexpressions of {@code body}.
+     */
+    private static boolean isConditional(PureExp e, PureExp body) {
+        for (ASTNode<?> n = e; n != body; n = n.getParent()) {
+            ASTNode<?> parent = n.getParent();
+            if (parent instanceof IfExp i && n != i.getCondExp()
+                || parent instanceof BoolExp b && n == b.getRight()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void generateSubstituted(PrintStream stream, FnApp app, FunctionDecl f, PureExp body) {
+        List<String> args = generateArgs(app);
+        for (int i = 0; i < f.getNumParam(); i++) {
+            ParamDecl p = f.getParam(i);
+            arguments.put(p, "((" + JavaBackend.getUnboxedJavaType(p.getType()) + ")(" + args.get(i) + "))");
+        }
+        stream.print("((" + JavaBackend.getUnboxedJavaType(app.getType()) + ")(");
+        body.generateJava(stream);
+        stream.print("))");
+        for (ParamDecl p : f.getParams()) {
+            arguments.remove(p);
+        }
+    }
+}
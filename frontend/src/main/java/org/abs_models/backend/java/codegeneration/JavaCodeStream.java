@@ -8,11 +8,14 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
 
 import org.abs_models.backend.java.JavaBackend;
+import org.abs_models.backend.java.profiling.PositionTable;
 
 public class JavaCodeStream extends PrintStream {
 
@@ -23,6 +26,14 @@ public class JavaCodeStream extends PrintStream {
     private Boolean startNewLine = true;
     private String indent = "";
 
+    /** The file we write to, if any; used to place the position table next to it. */
+    private File file = null;
+    /** Number of the line currently being written (1-based). */
+    private int currentLine = 1;
+    /** Java line -> ABS position entries, see {@link PositionTable}. */
+    private final StringBuilder positions = new StringBuilder();
+    private boolean closed = false;
+
     private JavaCodeStream(OutputStream out) throws UnsupportedEncodingException {
         super(out, false, JavaBackend.CHARSET.name());
     }
@@ -41,7 +52,35 @@ public class JavaCodeStream extends PrintStream {
     }
 
     public static JavaCodeStream from(File file) throws FileNotFoundException {
-        return from(new BufferedOutputStream(new FileOutputStream(file)));
+        JavaCodeStream result = from(new BufferedOutputStream(new FileOutputStream(file)));
+        result.file = file;
+        return result;
+    }
+
+    /**
+     * Record that the code written from the current line onwards
+     * stems from the given ABS source position.  The recorded
+     * positions are written to a {@link PositionTable} file next to
+     * the generated Java file when the stream is closed, and are
+     * used by the sampling profiler to map Java stack frames back
+     * to ABS code.
+     *
+     * @param context the qualified name of the enclosing ABS method or function
+     * @param absFile the ABS file name, or null if unknown
+     * @param absLine the ABS line number
+     */
+    public void recordAbsPosition(String context, String absFile, int absLine) {
+        if (file == null || absLine <= 0) return;
+        positions.append(currentLine).append('\t')
+            .append(absLine).append('\t')
+            .append(context).append('\t')
+            .append(absFile == null ? "" : absFile).append('\n');
+    }
+
+    private void countLines(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '\n') currentLine++;
+        }
     }
 
     public void incIndent() {
@@ -71,9 +110,20 @@ public class JavaCodeStream extends PrintStream {
 
 
         super.print(s);
+        countLines(s);
         startNewLine = false;
     }
 
+    @Override
+    public void print(char c) {
+        print(String.valueOf(c));
+    }
+
+    @Override
+    public void print(Object o) {
+        print(String.valueOf(o));
+    }
+
     /*
      * println statement that tries to be smart about code indentation:
      * If string ends with "{", it will increase the indentation,
@@ -95,15 +145,40 @@ public class JavaCodeStream extends PrintStream {
             super.print(indent);
         super.print(s);
         super.println();
+        countLines(s);
+        currentLine++;
         startNewLine = true;
 
         if (s.endsWith("{") || s.endsWith("("))
             incIndent();
     }
 
+    @Override
+    public void println(Object o) {
+        println(String.valueOf(o));
+    }
+
     @Override
     public void println() {
         startNewLine = true;
+        currentLine++;
         super.println();
     }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        super.close();
+        if (file != null && positions.length() > 0) {
+            String name = file.getName();
+            if (name.endsWith(".java")) name = name.substring(0, name.length() - ".java".length());
+            File posFile = new File(file.getParentFile(), name + PositionTable.RESOURCE_SUFFIX);
+            try {
+                Files.writeString(posFile.toPath(), positions, JavaBackend.CHARSET);
+            } catch (IOException e) {
+                System.err.println("Warning: could not write position table " + posFile + ": " + e.getMessage());
+            }
+        }
+    }
 }
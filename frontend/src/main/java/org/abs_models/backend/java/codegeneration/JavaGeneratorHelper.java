@@ -10,6 +10,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,29 +21,38 @@ import java.util.stream.StreamSupport;
 import org.abs_models.backend.java.JavaBackend;
 import org.abs_models.backend.java.JavaBackendConstants;
 import org.abs_models.backend.java.lib.expr.BinOp;
+import org.abs_models.backend.java.lib.expr.IntOps;
 import org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions;
 import org.abs_models.backend.java.lib.runtime.ABSFut;
 import org.abs_models.backend.java.lib.runtime.ABSRuntime;
 import org.abs_models.backend.java.lib.runtime.ABSThread;
 import org.abs_models.backend.java.lib.runtime.AbstractAsyncCallRT;
+import org.abs_models.backend.java.lib.runtime.FunctionCache;
 import org.abs_models.backend.java.lib.runtime.ModelApi;
 import org.abs_models.backend.java.lib.runtime.Task;
+import org.abs_models.backend.java.lib.types.ABSList;
 import org.abs_models.backend.java.lib.types.ABSProcess;
 import org.abs_models.backend.java.lib.types.ABSValue;
+import org.abs_models.backend.java.lib.types.InternTable;
 import org.abs_models.backend.java.scheduling.UserSchedulingStrategy;
 import org.abs_models.common.Constants;
 import org.abs_models.frontend.analyser.AnnotationHelper;
+import org.abs_models.frontend.analyser.PartialEvaluator;
 import org.abs_models.frontend.ast.ASTNode;
 import org.abs_models.frontend.ast.Annotation;
 import org.abs_models.frontend.ast.AsyncCall;
 import org.abs_models.frontend.ast.AwaitAsyncCall;
 import org.abs_models.frontend.ast.AwaitStmt;
 import org.abs_models.frontend.ast.BuiltinFunctionDef;
+import org.abs_models.frontend.ast.CaseBranch;
+import org.abs_models.frontend.ast.CaseBranchStmt;
+import org.abs_models.frontend.ast.CaseExp;
 import org.abs_models.frontend.ast.CaseStmt;
 import org.abs_models.frontend.ast.ClassDecl;
 import org.abs_models.frontend.ast.ConstructorArg;
 import org.abs_models.frontend.ast.ConstructorPattern;
 import org.abs_models.frontend.ast.DataConstructor;
+import org.abs_models.frontend.ast.DataConstructorExp;
 import org.abs_models.frontend.ast.DataTypeDecl;
 import org.abs_models.frontend.ast.Decl;
 import org.abs_models.frontend.ast.Exp;
@@ -49,12 +60,19 @@ import org.abs_models.frontend.ast.ExpGuard;
 import org.abs_models.frontend.ast.FnApp;
 import org.abs_models.frontend.ast.FunctionDecl;
 import org.abs_models.frontend.ast.HasTypeParameters;
+import org.abs_models.frontend.ast.InitBlock;
+import org.abs_models.frontend.ast.IntLiteral;
 import org.abs_models.frontend.ast.LetExp;
 import org.abs_models.frontend.ast.List;
+import org.abs_models.frontend.ast.ListLiteral;
+import org.abs_models.frontend.ast.LiteralPattern;
+import org.abs_models.frontend.ast.MainBlock;
 import org.abs_models.frontend.ast.MethodImpl;
 import org.abs_models.frontend.ast.MethodSig;
+import org.abs_models.frontend.ast.ModuleDecl;
 import org.abs_models.frontend.ast.NewExp;
 import org.abs_models.frontend.ast.ParamDecl;
+import org.abs_models.frontend.ast.ParametricDataTypeDecl;
 import org.abs_models.frontend.ast.Pattern;
 import org.abs_models.frontend.ast.PatternVar;
 import org.abs_models.frontend.ast.PatternVarUse;
@@ -65,6 +83,7 @@ import org.abs_models.frontend.ast.StringLiteral;
 import org.abs_models.frontend.ast.ThisExp;
 import org.abs_models.frontend.ast.TypeParameterDecl;
 import org.abs_models.frontend.ast.TypedVarOrFieldDecl;
+import org.abs_models.frontend.ast.UnderscorePattern;
 import org.abs_models.frontend.ast.VarDecl;
 import org.abs_models.frontend.ast.VarOrFieldDecl;
 import org.abs_models.frontend.ast.VarUse;
@@ -77,10 +96,472 @@ public class JavaGeneratorHelper {
 
     private static final String FLI_METHOD_PREFIX = "fli_";
 
+    /**
+     * The name of the record component of generated datatype
+     * constructors that holds the hash code.
+     */
+    public static final String HASH_COMPONENT = "$hash";
+
     public static void generateHelpLine(PrintStream stream, ASTNode<?> node) {
+        recordAbsPosition(stream, node);
         stream.println("// " + node.getPositionString());
     }
 
+    /**
+     * Record the source position of {@code node} for the code that is
+     * written next, if {@code stream} keeps track of positions.
+     *
+     * @see JavaCodeStream#recordAbsPosition(String, String, int)
+     */
+    public static void recordAbsPosition(PrintStream stream, ASTNode<?> node) {
+        if (stream instanceof JavaCodeStream jstream) {
+            jstream.recordAbsPosition(getAbsContextName(node), node.getFileName(), node.getStartLine());
+        }
+    }
+
+    /**
+     * Return a human-readable name of the ABS definition containing
+     * {@code node}, e.g., {@code Module.Class.method} or {@code
+     * Module.function}.
+     */
+    public static String getAbsContextName(ASTNode<?> node) {
+        ModuleDecl module = node instanceof ModuleDecl md ? md : node.closestParent(ModuleDecl.class);
+        String prefix = module == null ? "" : module.getName() + ".";
+        MethodImpl method = node instanceof MethodImpl mi ? mi : node.closestParent(MethodImpl.class);
+        ClassDecl cls = node instanceof ClassDecl cd ? cd : node.closestParent(ClassDecl.class);
+        if (cls != null) {
+            if (method != null) {
+                return prefix + cls.getName() + "." + method.getMethodSig().getName();
+            } else if (node instanceof InitBlock || node.closestParent(InitBlock.class) != null) {
+                return prefix + cls.getName() + ".init";
+            } else if (node.closestParent(CaseBranchStmt.class) != null) {
+                return prefix + cls.getName() + ".recover";
+            } else {
+                return prefix + cls.getName();
+            }
+        }
+        if (node instanceof MainBlock || node.closestParent(MainBlock.class) != null) {
+            return prefix + "main";
+        }
+        Decl decl = node instanceof Decl d ? d : node.closestParent(Decl.class);
+        return decl == null ? prefix + "<unknown>" : prefix + decl.getName();
+    }
+
+    /**
+     * Whether values of the datatype are shared via {@link InternTable},
+     * as requested by the annotation {@code [Intern]}.
+     */
+    public static boolean isInterned(DataTypeDecl decl) {
+        return !AnnotationHelper.getAnnotationsOfType(decl.getAnnotations(), "ABS.StdLib.InternAnnotation").isEmpty();
+    }
+
+    /**
+     * Returns the annotation {@code [Memoize]} or {@code
+     * [MemoizeWith(size, eviction)]} of the function, or null if its
+     * results are not cached.
+     */
+    public static DataConstructorExp getMemoizeAnnotation(FunctionDecl decl) {
+        java.util.List<Annotation> annotations
+            = AnnotationHelper.getAnnotationsOfType(decl.getAnnotations(), "ABS.StdLib.MemoizeAnnotation");
+        return annotations.isEmpty() ? null : (DataConstructorExp)annotations.get(0).getValue();
+    }
+
+    /**
+     * Prints the result cache of a memoized function and its {@code
+     * apply} method, which looks up the arguments in the cache and
+     * calls {@code applyUncached} on a miss.  The type checker ensures
+     * that the size given in the annotation is a positive literal.
+     */
+    public static void generateMemoizedApply(PrintStream stream, FunctionDecl decl, DataConstructorExp memoize) {
+        int size = 1000;
+        boolean leastRecentlyUsed = true;
+        if (memoize.getNumParam() == 2) {
+            size = Integer.parseInt(((IntLiteral)memoize.getParam(0)).getContent());
+            leastRecentlyUsed = !(memoize.getParam(1) instanceof DataConstructorExp e
+                                  && e.getDataConstructor().getName().equals("EvictOldest"));
+        }
+        stream.println("private static final " + FunctionCache.class.getName() + " $cache = new "
+                       + FunctionCache.class.getName() + "(\"" + decl.getQualifiedName() + "\", "
+                       + size + ", " + leastRecentlyUsed + ");");
+        String returnType = JavaBackend.getUnboxedJavaType(decl.getType());
+        String args = StreamSupport.stream(decl.getParamList().spliterator(), false)
+            .map(p -> JavaBackend.getVariableName(p.getName()))
+            .collect(Collectors.joining(", "));
+        stream.print("public static ");
+        generateTypeParameters(stream, decl);
+        stream.print(returnType + " apply");
+        generateParams(stream, decl.getParams(), true);
+        stream.println(" {");
+        stream.println("final Object $cached = $cache.lookup(" + args + ");");
+        stream.println("if ($cached != " + FunctionCache.class.getName() + ".MISSING) return ("
+                       + returnType + ")$cached;");
+        stream.println("return $cache.store(applyUncached(" + args + ")" + (args.isEmpty() ? "" : ", " + args) + ");");
+        stream.println("}");
+    }
+
+    /**
+     * The maximal size (see {@link PartialEvaluator#size}) of values
+     * that are compiled into constants; larger values are computed at
+     * runtime to keep the generated code small.
+     */
+    private static final int MAX_CONSTANT_SIZE = 1000;
+
+    /**
+     * Returns the expressions below {@code root} that are evaluated at
+     * compile time and compiled into the static fields {@code
+     * $const<i>} of the Java class generated for {@code root}, in the
+     * order of their index.  These are the outermost closed function
+     * applications, constructor applications with arguments, non-empty
+     * list literals and integer literals whose value is not shared by
+     * {@link IntOps#valueOf}, with a small value whose type can be
+     * written in Java, as well as larger list literals of such values
+     * (see {@link #isChunkedList}).  Nullary constructors need no field
+     * since their values are shared anyway.  Annotations are skipped, since these are compiled
+     * elsewhere, and so are patterns, whose literals are compared
+     * against.
+     */
+    public static java.util.List<PureExp> findHoistedConstants(ASTNode<?> root) {
+        java.util.List<PureExp> result = new ArrayList<>();
+        findHoistedConstants(root, result);
+        return result;
+    }
+
+    private static void findHoistedConstants(ASTNode<?> node, java.util.List<PureExp> result) {
+        if (node instanceof Annotation || node instanceof Pattern) {
+            return;
+        }
+        if (node instanceof ListLiteral l && isChunkedList(l)) {
+            result.add(l);
+            return;
+        }
+        if (node instanceof PureExp e && isHoisted(e) && isConstantType(e.getType())) {
+            Object value = e.getCompileTimeValue();
+            if (value != null && PartialEvaluator.size(value) <= MAX_CONSTANT_SIZE) {
+                result.add(e);
+                return;
+            }
+        }
+        for (int i = 0; i < node.getNumChild(); i++) {
+            findHoistedConstants(node.getChild(i), result);
+        }
+    }
+
+    /**
+     * Whether {@code l} is a list literal of constants that is too large
+     * for a single method: its elements are built by several nested
+     * classes, each creating an array of values of total size at most
+     * {@link #MAX_CONSTANT_SIZE}, and joined by {@link
+     * ABSList#fromChunks}.  This keeps the generated methods and class
+     * files below the JVM's code size and constant pool limits for data
+     * tables of any length.
+     */
+    private static boolean isChunkedList(ListLiteral l) {
+        if (l.getNumPureExp() <= 1 || !isConstantType(l.getType())) {
+            return false;
+        }
+        int size = 0;
+        for (PureExp e : l.getPureExps()) {
+            Object value = e.getCompileTimeValue();
+            if (value == null || PartialEvaluator.size(value) > MAX_CONSTANT_SIZE) {
+                return false;
+            }
+            size += PartialEvaluator.size(value);
+        }
+        return size > MAX_CONSTANT_SIZE;
+    }
+
+    private static boolean isHoisted(PureExp e) {
+        return e instanceof FnApp
+            || e instanceof DataConstructorExp d && d.getNumParam() > 0
+            || e instanceof ListLiteral l && l.getNumPureExp() > 0
+            || e instanceof IntLiteral i && !IntOps.isCached(i.getContent());
+    }
+
+    /**
+     * Whether a constant of type {@code t} can be declared in Java: the
+     * type must be closed and its values must not be floats.
+     */
+    private static boolean isConstantType(Type t) {
+        if (t.isFloatType()) {
+            return false;
+        } else if (t.isInterfaceType()) {
+            return true;
+        } else if (!t.isDataType()) {
+            return false;
+        }
+        DataTypeType dt = (DataTypeType)t;
+        if (dt.getDecl() instanceof ParametricDataTypeDecl && !dt.hasTypeArgs()) {
+            return false;
+        }
+        for (Type arg : dt.getTypeArgs()) {
+            if (!isConstantType(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints the static fields holding the values of the given
+     * expressions, and reports the function applications among them in
+     * verbose mode.
+     */
+    public static void generateHoistedConstants(PrintStream stream, java.util.List<PureExp> constants) {
+        for (int i = 0; i < constants.size(); i++) {
+            PureExp e = constants.get(i);
+            if (e instanceof FnApp app && app.getModel() != null && app.getModel().verbose) {
+                System.out.println(app.getPositionString() + ": evaluated " + app.getName()
+                                   + "(...) at compile time");
+            }
+            stream.print("public static final " + JavaBackend.getUnboxedJavaType(e.getType())
+                         + " $const" + i + " = ");
+            if (e instanceof ListLiteral l && isChunkedList(l)) {
+                generateChunkedList(stream, l, "$const" + i);
+                continue;
+            }
+            generateConstantValue(stream, e.getCompileTimeValue(), e.getType().isBoolType());
+            stream.println(";");
+        }
+    }
+
+    /**
+     * Prints the initializer of the field {@code name} holding the value
+     * of {@code l}, followed by the nested classes {@code name$<j>}
+     * whose method {@code values} creates an array of its elements.
+     * Each chunk is a class of its own since the constants of the
+     * elements would overflow the constant pool of a single class.
+     */
+    private static void generateChunkedList(PrintStream stream, ListLiteral l, String name) {
+        java.util.List<java.util.List<Object>> chunks = new ArrayList<>();
+        java.util.List<Object> chunk = new ArrayList<>();
+        int size = 0;
+        for (PureExp e : l.getPureExps()) {
+            Object value = e.getCompileTimeValue();
+            if (size + PartialEvaluator.size(value) > MAX_CONSTANT_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                size = 0;
+            }
+            chunk.add(value);
+            size += PartialEvaluator.size(value);
+        }
+        chunks.add(chunk);
+        stream.println(ABSList.class.getName() + ".fromChunks("
+                       + IntStream.range(0, chunks.size())
+                           .mapToObj(j -> name + "$" + j + ".values()")
+                           .collect(Collectors.joining(", "))
+                       + ");");
+        for (int j = 0; j < chunks.size(); j++) {
+            stream.println("private static final class " + name + "$" + j + " {");
+            stream.println("static Object[] values() {");
+            stream.println("return new Object[] {");
+            for (Object value : chunks.get(j)) {
+                generateConstantValue(stream, value, false);
+                stream.println(",");
+            }
+            stream.println("};");
+            stream.println("}");
+            stream.println("}");
+        }
+    }
+
+    /**
+     * Prints the Java expression creating a value computed by {@link
+     * PartialEvaluator}, like the code for the literals and constructor
+     * expressions it consists of.
+     */
+    private static void generateConstantValue(PrintStream stream, Object value, boolean unboxed) {
+        if (value instanceof Boolean b) {
+            stream.print(unboxed ? b.toString() : (b ? "Boolean.TRUE" : "Boolean.FALSE"));
+        } else if (value instanceof String s) {
+            stream.print("\"");
+            printEscapedString(stream, s);
+            stream.print("\"");
+        } else if (value instanceof Apint i) {
+            generateIntConstant(stream, i);
+        } else if (value instanceof Aprational r) {
+            stream.print("new " + Aprational.class.getName() + "(");
+            generateIntConstant(stream, r.numerator());
+            stream.print(", ");
+            generateIntConstant(stream, r.denominator());
+            stream.print(")");
+        } else {
+            PartialEvaluator.DataValue v = (PartialEvaluator.DataValue)value;
+            DataConstructor c = v.getConstructor();
+            DataTypeDecl decl = c.getDataTypeDecl();
+            if (decl.getType().isUnitType()) {
+                stream.print(JavaBackendConstants.UNITVALUE);
+            } else if (NativeStdLib.isNativeDataType(decl) && c.getName().equals("Cons")) {
+                // print the whole list, as ListLiteral.generateJava does
+                stream.print(ABSList.class.getName() + ".of(");
+                String sep = "";
+                while (!v.getArgs().isEmpty()) {
+                    stream.print(sep);
+                    generateConstantValue(stream, v.getArgs().get(0), false);
+                    v = (PartialEvaluator.DataValue)v.getArgs().get(1);
+                    sep = ", ";
+                }
+                stream.print(")");
+            } else if (v.getArgs().isEmpty() && !NativeStdLib.isNativeDataType(decl)) {
+                // as DataConstructorExp.generateJava
+                stream.print(JavaBackend.getQualifiedString(c) + ".instance()");
+            } else {
+                boolean interned = isInterned(decl);
+                if (interned) {
+                    stream.print(InternTable.class.getName() + ".intern(");
+                }
+                if (NativeStdLib.isNativeDataType(decl)) {
+                    stream.print(NativeStdLib.getFactoryMethod(c));
+                } else {
+                    stream.print("new " + JavaBackend.getQualifiedString(c));
+                    if (decl instanceof ParametricDataTypeDecl) {
+                        stream.print("<>");
+                    }
+                }
+                stream.print("(");
+                String sep = "";
+                for (Object arg : v.getArgs()) {
+                    stream.print(sep);
+                    generateConstantValue(stream, arg, false);
+                    sep = ", ";
+                }
+                stream.print(interned ? "))" : ")");
+            }
+        }
+    }
+
+    private static void generateIntConstant(PrintStream stream, Apint i) {
+        // as IntLiteral.generateJava
+        String content = i.toString();
+        if (content.equals("0")) {
+            stream.print(Apint.class.getName() + ".ZERO");
+        } else if (content.equals("1")) {
+            stream.print(Apint.class.getName() + ".ONE");
+        } else if (content.length() > 18) {
+            stream.print("new " + Apint.class.getName() + "(\"" + content + "\")");
+        } else {
+            stream.print(IntOps.class.getName() + ".valueOf(" + content + "L)");
+        }
+    }
+
+    /**
+     * Whether a case expression needs a default branch because some of
+     * its patterns match a datatype implemented by a runtime class (see
+     * {@link NativeStdLib}); these patterns are guarded, so Java does
+     * not consider the switch exhaustive.
+     */
+    public static boolean matchesNativeDataType(CaseExp e) {
+        for (CaseBranch b : e.getBranchs()) {
+            if (b.getLeft() instanceof UnderscorePattern
+                || b.getLeft() instanceof PatternVar) {
+                // the switch has an unconditional branch already
+                return false;
+            }
+        }
+        for (CaseBranch b : e.getBranchs()) {
+            if (containsNativePattern(b.getLeft())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Case expressions and statements with at least this many literal
+     * patterns in a row dispatch on them via a switch over constants.
+     */
+    private static final int MIN_LITERAL_SWITCH = 3;
+
+    /**
+     * Returns the number of leading branches of a case expression or
+     * statement that are matched via a switch over constants, or 0 if
+     * there are too few of them.  These are the branches up to the first
+     * one whose pattern is not a String literal or an Int literal that
+     * fits into a Java int.  Java compiles a switch over string
+     * constants into a hash lookup and a switch over int constants into
+     * a table lookup, while patterns with `when` conditions are tried
+     * one after the other.
+     *
+     * @see #generateLiteralSwitch
+     */
+    public static int getLiteralSwitchLength(Type scrutineeType, java.util.List<Pattern> patterns) {
+        if (!scrutineeType.isStringType() && !scrutineeType.isIntType()) return 0;
+        int result = 0;
+        while (result < patterns.size() && getSwitchLabel(patterns.get(result)) != null) {
+            result++;
+        }
+        return result >= MIN_LITERAL_SWITCH ? result : 0;
+    }
+
+    /**
+     * Returns the Java constant to switch on for a literal pattern, or
+     * null if the pattern cannot be matched via a switch.
+     */
+    public static String getSwitchLabel(Pattern p) {
+        if (!(p instanceof LiteralPattern lp)) return null;
+        if (lp.getLiteral() instanceof StringLiteral l) {
+            return "\"" + escapedString(l.getContent()) + "\"";
+        } else if (lp.getLiteral() instanceof IntLiteral l) {
+            BigInteger value = new BigInteger(l.getContent());
+            return value.bitLength() < 32 ? value.toString() : null;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Prints the head of a switch over the constants of the given
+     * literal patterns, where {@code var} holds the value to match.
+     * Int values are mapped to a Java int via {@link IntOps#switchKey},
+     * with a value that none of the patterns matches for large values.
+     */
+    public static void generateLiteralSwitch(PrintStream stream, Type scrutineeType, String var,
+                                             java.util.List<Pattern> literals)
+    {
+        if (scrutineeType.isStringType()) {
+            stream.println("switch (" + var + ") {");
+        } else {
+            Set<String> labels = new HashSet<>();
+            for (Pattern p : literals) {
+                labels.add(getSwitchLabel(p));
+            }
+            int outside = Integer.MIN_VALUE;
+            while (labels.contains(Integer.toString(outside))) {
+                outside++;
+            }
+            stream.println("switch (" + IntOps.class.getName() + ".switchKey(" + var + ", " + outside + ")) {");
+        }
+    }
+
+    /**
+     * Whether one of the patterns matches every value, so that a switch
+     * over them needs no default branch.
+     */
+    public static boolean hasCatchAllPattern(java.util.List<Pattern> patterns) {
+        for (Pattern p : patterns) {
+            if (p instanceof UnderscorePattern || p instanceof PatternVar) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsNativePattern(Pattern p) {
+        if (!(p instanceof ConstructorPattern cp)) {
+            return false;
+        }
+        DataConstructor c = cp.getDataConstructor();
+        if (c != null && NativeStdLib.isNativeDataType(c.getDataTypeDecl())) {
+            return true;
+        }
+        for (Pattern param : cp.getParams()) {
+            if (containsNativePattern(param)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static void generateArgs(PrintStream stream, List<PureExp> args, java.util.List<Type> types) {
         generateArgs(stream, null, args, types);
     }
@@ -217,9 +698,7 @@ public class JavaGeneratorHelper {
         stream.println("if (!java.nio.file.Files.isReadable(java.nio.file.Paths.get(\"" + dbname + "\"))) {");
         stream.println("throw new RuntimeException(\"Database file " + dbname + " not found\");");
         stream.println("}");
-        stream.println("// Not all databases support reading a resultset in reverse, use accumulator to preserve row order");
         stream.println("java.util.List<Object> acc = new java.util.ArrayList<>();");
-        stream.println("ABS.StdLib.List result = new ABS.StdLib.List_Nil();");
         stream.println("String connection_string = \"jdbc:sqlite:" + dbname + "\";");
         stream.println("try (java.sql.Connection connection = java.sql.DriverManager.getConnection(connection_string);");
         stream.println("java.sql.PreparedStatement statement = connection.prepareStatement(\"" + query + "\")) {");
@@ -262,7 +741,7 @@ public class JavaGeneratorHelper {
         if (query_type.isIntType() || query_type.isFloatType() || query_type.isStringType() || query_type.isBoolType() || query_type.isRatType())
         {
             // handle singleton return value
-            stream.print("acc.add(0, ");
+            stream.print("acc.add(");
             if (query_type.isBoolType()) {
                 stream.print("rs.getBoolean(1)");
             } else if (query_type.isIntType()) {
@@ -308,16 +787,14 @@ public class JavaGeneratorHelper {
                 }
             }
             stream.println(");");
-            stream.println("acc.add(0, row);");
+            stream.println("acc.add(row);");
         }
         stream.println("}");
         stream.println("} catch (java.sql.SQLException e) {");
         stream.println("System.err.println(e);");
         stream.println("System.exit(1);");
         stream.println("}");
-        stream.println("for (Object row : acc) {");
-        stream.println("result = new ABS.StdLib.List_Cons(row, result);");
-        stream.println("}");
+        stream.println(ABSList.class.getName() + " result = " + ABSList.class.getName() + ".fromIterable(acc);");
         stream.println("return result;");
     }
 
@@ -325,18 +802,52 @@ public class JavaGeneratorHelper {
         String constructorClassName = JavaBackend.getConstructorName(c);
         JavaGeneratorHelper.generateHelpLine(stream,c);
 
+        // The last record component caches the structural hash code;
+        // it is computed from the arguments by the second constructor,
+        // which is the one called by generated code.
+        String params = IntStream
+            .range(0, c.getNumConstructorArg())
+            .mapToObj(i -> JavaBackend.getJavaType(c.getConstructorArg(i)) + " arg" + i)
+            .collect(Collectors.joining(", "));
         stream.print("public record " + constructorClassName);
         if (dataTypeDecl != null) JavaGeneratorHelper.generateTypeParameters(stream,dataTypeDecl);
-        stream.print("("
-                       + IntStream
-                               .range(0, c.getNumConstructorArg())
-                               .mapToObj(i -> JavaBackend.getJavaType(c.getConstructorArg(i)) + " arg" + i)
-                               .collect(Collectors.joining(", "))
-                     + ")");
+        stream.print("(" + params + (params.isEmpty() ? "" : ", ") + "int " + HASH_COMPONENT + ")");
         stream.print(" implements " + datatypeName);
 
         stream.println(" {");
 
+        String hash = String.valueOf(c.getName().hashCode());
+        for (int i = 0; i < c.getNumConstructorArg(); i++) {
+            hash = BinOp.class.getName() + ".hash(" + hash + ", arg" + i + ")";
+        }
+        stream.println("public " + constructorClassName + "(" + params + ") {");
+        stream.println("this(" + IntStream.range(0, c.getNumConstructorArg())
+                       .mapToObj(i -> "arg" + i + ", ")
+                       .collect(Collectors.joining())
+                       + hash + ");");
+        stream.println("}");
+        if (c.getNumConstructorArg() == 0) {
+            // The single value of a nullary constructor, which generated
+            // code uses instead of creating new ones
+            String typeParams = dataTypeDecl == null ? "" : getTypeParameters(dataTypeDecl);
+            String value = "new " + constructorClassName + (typeParams.isEmpty() ? "" : "<>") + "()";
+            if (dataTypeDecl != null && isInterned(dataTypeDecl)) {
+                value = InternTable.class.getName() + ".intern(" + value + ")";
+            }
+            stream.println("private static final " + constructorClassName + (typeParams.isEmpty() ? "" : "<?>")
+                           + " INSTANCE = " + value + ";");
+            if (typeParams.isEmpty()) {
+                stream.println("public static " + constructorClassName + " instance() { return INSTANCE; }");
+            } else {
+                stream.println("@SuppressWarnings(\"unchecked\")");
+                stream.println("public static " + typeParams + " " + constructorClassName + typeParams
+                               + " instance() { return (" + constructorClassName + typeParams + ")INSTANCE; }");
+            }
+        }
+        stream.println("@Override public int hashCode() { return " + HASH_COMPONENT + "; }");
+        stream.println("@Override public boolean equals(Object o) { return o instanceof " + ABSValue.class.getName() + " v && eq(v); }");
+        stream.println("public int getNumArgs() { return " + c.getNumConstructorArg() + "; }");
+
         stream.println("public Object[] getArgs() { return new Object[] { "
                        + IntStream
                                .range(0, c.getNumConstructorArg())
@@ -354,32 +865,36 @@ public class JavaGeneratorHelper {
         stream.println("public java.lang.String getConstructorName() { return \"" + c.getName() + "\";}");
 
         stream.println("public java.lang.String toString() {");
-        stream.println("StringBuilder sb = new StringBuilder();");
-        stream.println("sb.append(\"" + c.getName() + "\");");
+        stream.println("return " + ABSBuiltInFunctions.class.getName() + ".toString(this);");
+        stream.println("}");
+        // Print the constructor name and leave the arguments on the work
+        // stack, last one first, so that deep values print without
+        // recursion (see ABSBuiltInFunctions.toString(Appendable, Object)).
+        stream.println("public void appendTo(java.lang.Appendable out, java.util.List<java.lang.Object> work) throws java.io.IOException {");
         if (c.getNumConstructorArg() > 0) {
-            String separator = "";
-            stream.println("sb.append(\"(\");");
-            for (int i = 0; i < c.getNumConstructorArg(); i++) {
-                if (!separator.isEmpty()) {
-                    stream.println("sb.append(\"" + separator + "\");");
-                }
-                separator = ",";
+            stream.println("out.append(\"" + c.getName() + "(\");");
+            stream.println("work.add(\")\");");
+            for (int i = c.getNumConstructorArg() - 1; i >= 0; i--) {
                 ConstructorArg a = c.getConstructorArg(i);
                 if (a.getType().isStringType()) {
-                    stream.println("sb.append(\"\\\"\" + arg" + i + " + \"\\\"\");");
+                    stream.println("work.add(\"\\\"\" + arg" + i + " + \"\\\"\");");
                 } else {
-                    stream.println("sb.append(" + ABSBuiltInFunctions.class.getName() + ".toString(arg" + i + "));");
+                    stream.println("work.add(arg" + i + ");");
+                }
+                if (i > 0) {
+                    stream.println("work.add(\",\");");
                 }
             }
-            stream.println("sb.append(\")\");");
+        } else {
+            stream.println("out.append(\"" + c.getName() + "\");");
         }
-        stream.println("return sb.toString();");
         stream.println("}");
 
         // eq method
         stream.println("public boolean eq(" + ABSValue.class.getName() + " o) {");
+        stream.println("if (this == o) return true;");
         stream.println("if (o instanceof " + constructorClassName + " other) {");
-        stream.println("return true"
+        stream.println("return " + HASH_COMPONENT + " == other." + HASH_COMPONENT
                        + IntStream.range(0, c.getNumConstructorArg())
                                .mapToObj(i -> " && "
                                               + BinOp.class.getName()
@@ -400,15 +915,15 @@ public class JavaGeneratorHelper {
 
     /**
      * Convert data types to something that can be JSONified by the
-     * Jackson library for the Model API.  There are three cases:<p>
+     * Jackson library for the Model API.  The standard library
+     * datatypes List, Set and Map are implemented natively (see {@link
+     * NativeStdLib}) and convert themselves.  There are two cases:<p>
      *
      * <ul>
-
-     * <li> One of the standard library datatypes (List, Set, Map):
-     *      these get hardcoded behavior.
-
      * <li> A constructor that has accessor functions and/or {@code
-     *      HTTPName} annotations: these are returned as maps
+     *      HTTPName} annotations: these are returned as maps from the
+     *      names to the unconverted argument values, which {@link
+     *      ModelApi#absToJson} then converts without recursion
      *
      * <li> Any other constructor: return the value of calling {@code ABS StdLib.toString} on it.
      * </ul>
@@ -416,7 +931,6 @@ public class JavaGeneratorHelper {
      * @return A Java object that can be handled by the Jackson library
      */
     public static void generateDataTypeConstructorToJsonMethod(PrintStream stream, DataConstructor c) {
-        String qualifiedName = JavaBackend.getQualifiedString(c);
         boolean useToString = StreamSupport.stream(c.getConstructorArgs().spliterator(), false)
             .noneMatch(
                 ca -> ca.hasSelectorName()
@@ -425,54 +939,7 @@ public class JavaGeneratorHelper {
                           "ABS.StdLib.HTTPName")
                          != null);
         stream.println("@Override public java.lang.Object toJson() {");
-        if (qualifiedName.equals("ABS.StdLib.List_Cons")) {
-            stream.println(
-                """
-                java.lang.String className = this.getClass().getName();
-                java.util.ArrayList<Object> result = new java.util.ArrayList<>();
-                org.abs_models.backend.java.lib.types.ABSDataType value = this;
-                while (className.equals("ABS.StdLib.List_Cons")) {
-                    result.addLast(org.abs_models.backend.java.lib.runtime.ModelApi.absToJson(value.getArg(0)));
-                    value = (org.abs_models.backend.java.lib.types.ABSDataType)value.getArg(1);
-                    className = value.getClass().getName();
-                }
-                return result;
-                """);
-        } else if (qualifiedName.equals("ABS.StdLib.List_Nil")) {
-            stream.println("return java.util.List.of();");
-        } else if (qualifiedName.equals("ABS.StdLib.Set_Insert")) {
-            stream.println(
-                """
-                java.lang.String className = this.getClass().getName();
-                java.util.ArrayList<Object> result = new java.util.ArrayList<>();
-                org.abs_models.backend.java.lib.types.ABSDataType value = this;
-                while (className.equals("ABS.StdLib.Set_Insert")) {
-                    result.addLast(org.abs_models.backend.java.lib.runtime.ModelApi.absToJson(value.getArg(0)));
-                    value = (org.abs_models.backend.java.lib.types.ABSDataType)value.getArg(1);
-                    className = value.getClass().getName();
-                }
-                return result;
-                """);
-        } else if (qualifiedName.equals("ABS.StdLib.Set_EmptySet")) {
-            stream.println("return java.util.List.of();");
-        } else if (qualifiedName.equals("ABS.StdLib.Map_InsertAssoc")) {
-            stream.println(
-                """
-                java.lang.String className = this.getClass().getName();
-                java.util.HashMap<java.lang.String, Object> result = new java.util.HashMap<>();
-                org.abs_models.backend.java.lib.types.ABSDataType value = this;
-                while (className.equals("ABS.StdLib.Map_InsertAssoc")) {
-                    org.abs_models.backend.java.lib.types.ABSDataType entry = (org.abs_models.backend.java.lib.types.ABSDataType)value.getArg(0); // guaranteed to be Pair
-                    result.putIfAbsent(org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions.toString(entry.getArg(0)),
-                        org.abs_models.backend.java.lib.runtime.ModelApi.absToJson(entry.getArg(1)));
-                    value = (org.abs_models.backend.java.lib.types.ABSDataType)value.getArg(1);
-                    className = value.getClass().getName();
-                }
-                return result;
-                """);
-        } else if (qualifiedName.equals("ABS.StdLib.Map_EmptyMap")) {
-            stream.println("return java.util.Map.of();");
-        } else if (useToString) {
+        if (useToString) {
             // no accessors or HTTPName annotations
             stream.println("return " + ABSBuiltInFunctions.class.getName() + ".toString(this);");
         } else {
@@ -488,8 +955,7 @@ public class JavaGeneratorHelper {
                     key = ca.getSelectorName().toString();
                 }
                 if (key != null) {
-                    stream.println("result.put(\"" + key + "\", "
-                                   + ModelApi.class.getName() + ".absToJson(arg" + elem + "));");
+                    stream.println("result.put(\"" + key + "\", arg" + elem + ");");
                 }
             }
             stream.println("return result;");
@@ -594,13 +1060,13 @@ public class JavaGeneratorHelper {
         stream.println(",");
         PureExp rtAttr;
         rtAttr = AnnotationHelper.getAnnotationValueFromSimpleName(annotations, "Deadline");
-        if (rtAttr == null) stream.print("new ABS.StdLib.Duration_InfDuration()"); else rtAttr.generateJava(stream);
+        if (rtAttr == null) stream.print("ABS.StdLib.Duration_InfDuration.instance()"); else rtAttr.generateJava(stream);
         stream.println(",");
         // TODO: read Cost annotation of the method definition here, if any --
         // but process execution cost is not used in the Real-Time ABS
         // semantics anyway.  It's a modeling device; we have duration
         // statements in the method bodies instead.
-        stream.print("new ABS.StdLib.Duration_InfDuration()");
+        stream.print("ABS.StdLib.Duration_InfDuration.instance()");
         stream.println(",");
         rtAttr = AnnotationHelper.getAnnotationValueFromSimpleName(annotations, "Critical");
         if (rtAttr == null) stream.print("false"); else rtAttr.generateJava(stream);
@@ -704,6 +1170,7 @@ public class JavaGeneratorHelper {
         // Sync variant
         generateMethodSig(stream, m.getMethodSig(), false, "final", "");
         generateMethodBody(stream, m, false);
+        MethodSplitter.checkSize(m, "method " + m.getMethodSig().getName(), MethodSplitter.residualSize(m.getBlock()));
 
         if (m.isForeign()) {
             generateFLIMethod(stream,m);
@@ -754,6 +1221,7 @@ public class JavaGeneratorHelper {
      * variables that are pattern-matched against.
      */
     public static void generateStmtPreamble(PrintStream stream, Stmt stmt) {
+        recordAbsPosition(stream, stmt);
         if (stmt.getModel().includeDebug) {
             stream.println(JavaGeneratorHelper.getDebugString(stmt));
         }
@@ -934,7 +1402,7 @@ public class JavaGeneratorHelper {
             stream.println(" extends " + UserSchedulingStrategy.class.getName() + " {");
 
             stream.println("public synchronized " + ABSProcess.class.getName() + " userschedule(Object q) {");
-            stream.println("ABS.StdLib.List<" + ABSProcess.class.getName() + "> queue = (ABS.StdLib.List<" + ABSProcess.class.getName() + ">) q;");
+            stream.println(ABSList.class.getName() + "<" + ABSProcess.class.getName() + "> queue = (" + ABSList.class.getName() + "<" + ABSProcess.class.getName() + ">) q;");
 
             // call the given scheduling function
             // here goes whatever is specified in the Scheduler annotation
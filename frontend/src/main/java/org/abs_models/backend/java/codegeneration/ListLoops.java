@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.codegeneration;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.abs_models.backend.java.JavaBackend;
+import org.abs_models.backend.java.lib.runtime.ParallelLists;
+import org.abs_models.backend.java.lib.types.ABSList;
+import org.abs_models.frontend.ast.CaseExp;
+import org.abs_models.frontend.ast.ConstructorPattern;
+import org.abs_models.frontend.ast.DataConstructorExp;
+import org.abs_models.frontend.ast.ExpFunctionDef;
+import org.abs_models.frontend.ast.FnApp;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.IfExp;
+import org.abs_models.frontend.ast.LetExp;
+import org.abs_models.frontend.ast.Model;
+import org.abs_models.frontend.ast.ParametricFunctionDecl;
+import org.abs_models.frontend.ast.PatternVar;
+import org.abs_models.frontend.ast.PureExp;
+import org.abs_models.frontend.ast.VarUse;
+import org.abs_models.frontend.pardef.AnnotationUtil;
+import org.abs_models.frontend.typechecker.DataTypeType;
+import org.abs_models.frontend.typechecker.Type;
+
+/**
+ * Compiles the expansions of the standard library functions {@code
+ * map}, {@code filter}, {@code foldl} and {@code foldr} into loops.
+ *
+ * The partially defined functions are expanded into a recursive
+ * function for each function argument (see {@code
+ * PartialFunctionExpander}).  For these expansions, the {@code apply}
+ * method iterates over the list instead, and a second method {@code
+ * applyToElement} contains the code of the function argument applied
+ * to one element: the mapped value, the filter condition, or the next
+ * accumulator value.  Its parameters are the element, the accumulator
+ * for folds, and the closure parameters of the expansion.  In {@code
+ * foldr}, the recursive call in the function argument is replaced by
+ * the accumulator {@code $rec}, and the loop runs over the reversed
+ * list.  The expansions of {@code parMap} and {@code parReduce}, which
+ * are defined like {@code map} and {@code foldr}, pass {@code
+ * applyToElement} to {@link ParallelLists} instead.
+ *
+ * A call of a {@code map} or {@code filter} expansion whose list
+ * argument is another such call is compiled into a single loop that
+ * applies all stages to each element, so the intermediate lists are
+ * not built.  The loop is a method {@code apply$after$...} of the
+ * outermost expansion, named after the inner stages; it takes the
+ * innermost list followed by the closure arguments of all stages.
+ * If one of the stages throws an exception, the fused loop runs the
+ * stages again one after the other, so that the exception is the same
+ * as without fusion.  Since expansions are reused by modules that
+ * import them, the chains are collected from the whole model (see
+ * {@link #findFusedChains}).
+ * Only expansions without type parameters are fused.
+ */
+public class ListLoops {
+
+    private static final String LIST = ABSList.class.getName();
+    private static final String PARALLEL = ParallelLists.class.getName();
+
+    private enum Kind {
+        MAP("map"), FILTER("filter"), FOLDL("foldl"), FOLDR("foldr"),
+        PARMAP("parMap"), PARREDUCE("parReduce");
+
+        /** The prefix of the names of expansions, see {@code PartialFunctionDecl.expandedName}. */
+        private final String prefix;
+
+        Kind(String name) {
+            this.prefix = name + "_ABS_StdLib_";
+        }
+
+        /** The function with the same definition. */
+        private Kind shape() {
+            return switch (this) {
+                case PARMAP -> MAP;
+                case PARREDUCE -> FOLDR;
+                default -> this;
+            };
+        }
+    }
+
+    private final FunctionDecl f;
+    private final Kind kind;
+    /** The element variable bound by the {@code Cons} branch. */
+    private final PatternVar element;
+    /** The function argument applied to the element. */
+    private final PureExp step;
+
+    private ListLoops(FunctionDecl f, Kind kind, PatternVar element, PureExp step) {
+        this.f = f;
+        this.kind = kind;
+        this.element = element;
+        this.step = step;
+    }
+
+    /**
+     * Returns the loop to compile {@code f} into, or null if {@code f}
+     * is not an expansion of one of the list functions.
+     */
+    public static ListLoops of(FunctionDecl f) {
+        if (AnnotationUtil.getExpansionId(f) < 0
+            || !(f.getFunctionDef() instanceof ExpFunctionDef def)) {
+            return null;
+        }
+        Kind kind = null;
+        for (Kind k : Kind.values()) {
+            if (f.getName().startsWith(k.prefix)) kind = k;
+        }
+        if (kind == null) return null;
+        int nParams = (kind.shape() == Kind.MAP || kind == Kind.FILTER) ? 1 : 2;
+        // The shape of the definitions in abslang.abs: a case over the
+        // list whose second branch matches Cons(x, xs).
+        if (f.getNumParam() < nParams
+            || !(def.getRhs() instanceof CaseExp c)
+            || c.getNumBranch() != 2
+            || !(c.getExpr() instanceof VarUse v)
+            || !v.getName().equals(f.getParam(0).getName())
+            || !(c.getBranch(1).getLeft() instanceof ConstructorPattern p)
+            || !p.getDataConstructor().getQualifiedName().equals("ABS.StdLib.Cons")
+            || !(p.getParam(0) instanceof PatternVar element)) {
+            return null;
+        }
+        PureExp right = c.getBranch(1).getRight();
+        PureExp step = switch (kind.shape()) {
+            // Cons(f(x), map(xs))
+            case MAP -> right instanceof DataConstructorExp d && d.getNumParam() == 2 ? d.getParam(0) : null;
+            // let (List<T> filtered) = filter(xs) in when predicate(x) then ... else ...
+            case FILTER -> right instanceof LetExp l && l.getExp() instanceof IfExp i ? i.getCondExp() : null;
+            // foldl(xs, f(x, val))
+            case FOLDL -> right instanceof FnApp app && app.getNumParam() >= 2 ? app.getParam(1) : null;
+            // f(x, foldr(xs, val))
+            case FOLDR -> right;
+            default -> null;
+        };
+        return step == null ? null : new ListLoops(f, kind, element, step);
+    }
+
+    /**
+     * Whether {@code app} is the recursive call in the function
+     * argument of a {@code foldr} expansion, which stands for the
+     * accumulator.
+     */
+    public static boolean isAccumulator(FnApp app) {
+        FunctionDecl f = app.closestParent(FunctionDecl.class);
+        if (f == null || app.getDecl() != f) return false;
+        ListLoops loops = of(f);
+        return loops != null && loops.kind.shape() == Kind.FOLDR;
+    }
+
+    private int firstClosureParam() {
+        return (kind.shape() == Kind.MAP || kind == Kind.FILTER) ? 1 : 2;
+    }
+
+    private static String elementType(Type listType) {
+        return JavaBackend.getQualifiedString(((DataTypeType)listType).getTypeArg(0));
+    }
+
+    private String closureArgs() {
+        StringBuilder result = new StringBuilder();
+        for (int i = firstClosureParam(); i < f.getNumParam(); i++) {
+            result.append(", ").append(JavaBackend.getVariableName(f.getParam(i).getName()));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Prints the body of the {@code apply} method.
+     */
+    public void generateLoop(PrintStream stream) {
+        String list = JavaBackend.getVariableName(f.getParam(0).getName());
+        String elementType = elementType(f.getParam(0).getType());
+        switch (kind) {
+            case MAP -> {
+                stream.println(JavaBackend.getQualifiedString(f.getType()) + " $result = " + LIST + ".empty();");
+                stream.println("for (" + elementType + " $e : " + list + ") {");
+                stream.println("$result = $result.append(applyToElement($e" + closureArgs() + "));");
+                stream.println("}");
+                stream.println("return $result;");
+            }
+            case FILTER -> {
+                // filter evaluates the rest of the list before the
+                // condition, so the loop starts at the end of the list
+                stream.println(JavaBackend.getQualifiedString(f.getType()) + " $result = " + LIST + ".empty();");
+                stream.println("for (" + elementType + " $e : " + list + ".reverse()) {");
+                stream.println("if (applyToElement($e" + closureArgs() + ")) $result = " + LIST + ".cons($e, $result);");
+                stream.println("}");
+                stream.println("return $result;");
+            }
+            case FOLDL, FOLDR -> {
+                String resultType = JavaBackend.getUnboxedJavaType(f.getType());
+                String val = JavaBackend.getVariableName(f.getParam(1).getName());
+                String elements = kind == Kind.FOLDL ? list : list + ".reverse()";
+                stream.println(resultType + " $acc = " + val + ";");
+                stream.println("for (" + elementType + " $e : " + elements + ") {");
+                stream.println("$acc = applyToElement($e, $acc" + closureArgs() + ");");
+                stream.println("}");
+                stream.println("return $acc;");
+            }
+            case PARMAP -> {
+                stream.println("return " + PARALLEL + ".map(" + list + ", $e -> applyToElement($e"
+                               + closureArgs() + "));");
+            }
+            case PARREDUCE -> {
+                String neutral = JavaBackend.getVariableName(f.getParam(1).getName());
+                stream.println("return " + PARALLEL + ".reduce(" + list + ", " + neutral
+                               + ", ($e, $rec) -> applyToElement($e, $rec" + closureArgs() + "));");
+            }
+        }
+    }
+
+    /**
+     * Prints the {@code applyToElement} method, and the fused loops for
+     * the chains of calls that end in a call of this function.
+     */
+    public void generateMethods(PrintStream stream) {
+        stream.print("public static ");
+        JavaGeneratorHelper.generateTypeParameters(stream, f);
+        stream.print(switch (kind.shape()) {
+            case MAP -> elementType(f.getType());
+            case FILTER -> "boolean";
+            default -> JavaBackend.getUnboxedJavaType(f.getType());
+        });
+        stream.print(" applyToElement(final " + JavaBackend.getQualifiedString(element.getVar().getType())
+                     + " " + JavaBackend.getVariableName(element.getVar().getName()));
+        if (kind == Kind.FOLDL) {
+            stream.print(", final ");
+            f.getParam(1).generateJava(stream);
+        } else if (kind.shape() == Kind.FOLDR) {
+            stream.print(", final " + JavaBackend.getUnboxedJavaType(f.getType()) + " $rec");
+        }
+        for (int i = firstClosureParam(); i < f.getNumParam(); i++) {
+            stream.print(", final ");
+            f.getParam(i).generateJava(stream);
+        }
+        stream.println(") {");
+        stream.print("return ");
+        step.generateJava(stream);
+        stream.println(";");
+        stream.println("}");
+
+        Set<String> generated = new HashSet<>();
+        for (List<FnApp> chain : f.getModel().fusedListLoops().getOrDefault(f, List.of())) {
+            if (generated.add(fusedName(chain))) {
+                generateFusedLoop(stream, chain);
+            }
+        }
+    }
+
+    /**
+     * Returns the chains of calls to fuse (see {@link #fusedChain}) in
+     * all modules of the model, by the function of the outermost call.
+     */
+    public static Map<FunctionDecl, List<List<FnApp>>> findFusedChains(Model model) {
+        Map<FunctionDecl, List<List<FnApp>>> result = new IdentityHashMap<>();
+        for (FnApp app : model.findChildren(FnApp.class)) {
+            List<FnApp> chain = fusedChain(app);
+            if (chain != null) {
+                result.computeIfAbsent((FunctionDecl)app.getDecl(), d -> new ArrayList<>()).add(chain);
+            }
+        }
+        return result;
+    }
+
+    private static ListLoops stage(FnApp app) {
+        if (!(app.getDecl() instanceof FunctionDecl d)
+            || d instanceof ParametricFunctionDecl p && p.getNumTypeParameter() > 0
+            || isAccumulator(app)
+            || app.constantField() != null) {
+            // constant calls are evaluated at compile time
+            return null;
+        }
+        ListLoops loops = of(d);
+        return loops != null && (loops.kind == Kind.MAP || loops.kind == Kind.FILTER) ? loops : null;
+    }
+
+    /**
+     * Returns the calls of {@code map} and {@code filter} expansions to
+     * fuse into one loop, innermost first, if {@code app} is the
+     * outermost call of a chain of at least two such calls; otherwise
+     * returns null.
+     */
+    public static List<FnApp> fusedChain(FnApp app) {
+        if (stage(app) == null) return null;
+        if (app.getParent() != null && app.getParent().getParent() instanceof FnApp outer
+            && outer.getNumParam() > 0 && outer.getParam(0) == app && stage(outer) != null) {
+            // part of a longer chain
+            return null;
+        }
+        List<FnApp> result = new ArrayList<>();
+        result.add(app);
+        while (result.get(0).getParam(0) instanceof FnApp inner && stage(inner) != null) {
+            result.add(0, inner);
+        }
+        return result.size() >= 2 ? result : null;
+    }
+
+    private static String fusedName(List<FnApp> chain) {
+        StringBuilder result = new StringBuilder("apply$after");
+        for (int i = 0; i < chain.size() - 1; i++) {
+            result.append('$').append(JavaBackend.getFunctionName(chain.get(i).getDecl().getName()));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Prints a call of the fused loop for {@code chain} (see {@link
+     * #fusedChain}).
+     */
+    public static void generateFusedCall(PrintStream stream, List<FnApp> chain) {
+        FnApp outer = chain.get(chain.size() - 1);
+        stream.print(JavaBackend.getQualifiedString(outer.getDecl()) + "." + fusedName(chain) + "(");
+        chain.get(0).getParam(0).generateJava(stream);
+        for (FnApp app : chain) {
+            for (int i = 1; i < app.getNumParam(); i++) {
+                stream.print(", ");
+                app.getParam(i).generateJava(stream);
+            }
+        }
+        stream.print(")");
+    }
+
+    private void generateFusedLoop(PrintStream stream, List<FnApp> chain) {
+        FunctionDecl first = (FunctionDecl)chain.get(0).getDecl();
+        stream.print("public static " + JavaBackend.getQualifiedString(f.getType()) + " " + fusedName(chain)
+                     + "(final " + JavaBackend.getQualifiedString(first.getParam(0).getType()) + " $list");
+        for (int i = 0; i < chain.size(); i++) {
+            FunctionDecl d = (FunctionDecl)chain.get(i).getDecl();
+            for (int j = 1; j < d.getNumParam(); j++) {
+                stream.print(", final " + JavaBackend.getUnboxedJavaType(d.getParam(j).getType())
+                             + " $c" + i + "$" + j);
+            }
+        }
+        stream.println(") {");
+        stream.println("try {");
+        stream.println(JavaBackend.getQualifiedString(f.getType()) + " $result = " + LIST + ".empty();");
+        stream.println("for (" + elementType(first.getParam(0).getType()) + " $e0 : $list) {");
+        String current = "$e0";
+        for (int i = 0; i < chain.size(); i++) {
+            FunctionDecl d = (FunctionDecl)chain.get(i).getDecl();
+            StringBuilder call = new StringBuilder(JavaBackend.getQualifiedString(d))
+                .append(".applyToElement(").append(current);
+            for (int j = 1; j < d.getNumParam(); j++) {
+                call.append(", $c").append(i).append('$').append(j);
+            }
+            call.append(')');
+            if (of(d).kind == Kind.MAP) {
+                String next = "$e" + (i + 1);
+                stream.println(elementType(d.getType()) + " " + next + " = " + call + ";");
+                current = next;
+            } else {
+                stream.println("if (!" + call + ") continue;");
+            }
+        }
+        stream.println("$result = $result.append(" + current + ");");
+        stream.println("}");
+        stream.println("return $result;");
+        stream.println("} catch (RuntimeException $ex) {");
+        // Run the stages one after the other, so that the same
+        // exception surfaces as in the code without fusion.
+        String stages = "$list";
+        for (int i = 0; i < chain.size(); i++) {
+            FunctionDecl d = (FunctionDecl)chain.get(i).getDecl();
+            StringBuilder call = new StringBuilder(JavaBackend.getQualifiedString(d))
+                .append(".apply(").append(stages);
+            for (int j = 1; j < d.getNumParam(); j++) {
+                call.append(", $c").append(i).append('$').append(j);
+            }
+            stages = call.append(')').toString();
+        }
+        stream.println("return " + stages + ";");
+        stream.println("}");
+        stream.println("}");
+    }
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.codegeneration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.abs_models.backend.java.JavaBackend;
+import org.abs_models.frontend.ast.ASTNode;
+import org.abs_models.frontend.ast.Annotation;
+import org.abs_models.frontend.ast.AssignStmt;
+import org.abs_models.frontend.ast.Block;
+import org.abs_models.frontend.ast.InitBlock;
+import org.abs_models.frontend.ast.MainBlock;
+import org.abs_models.frontend.ast.MethodImpl;
+import org.abs_models.frontend.ast.MethodSig;
+import org.abs_models.frontend.ast.ParamDecl;
+import org.abs_models.frontend.ast.PatternVarUse;
+import org.abs_models.frontend.ast.PureExp;
+import org.abs_models.frontend.ast.ReturnStmt;
+import org.abs_models.frontend.ast.Stmt;
+import org.abs_models.frontend.ast.VarDecl;
+import org.abs_models.frontend.ast.VarDeclStmt;
+import org.abs_models.frontend.ast.VarOrFieldDecl;
+import org.abs_models.frontend.ast.VarUse;
+
+/**
+ * Splits large blocks of statements into several Java methods.
+ *
+ * HotSpot does not JIT-compile methods with more than {@link
+ * #HUGE_METHOD_LIMIT} bytes of bytecode, and javac rejects methods
+ * larger than 64 KB.  The size of the code generated for a node is
+ * estimated from the number of AST nodes below it; hoisted constants
+ * count as a single node.  In a method body, init block or main block
+ * estimated larger than {@link #SPLIT_LIMIT}, each block of that size
+ * moves runs of consecutive statements into private methods {@code
+ * $split<n>} of the same class, which take the local variables and
+ * method parameters that the statements read as parameters.
+ *
+ * A statement stays in place if it returns, assigns a local variable
+ * declared outside of it, declares a variable used by a later
+ * statement (or {@code testresult} in the main block), or matches
+ * against a bound variable, which refers to a {@code final} binding of
+ * the enclosing statement.  The helper methods are printed after the
+ * other members of the class by {@link #generatePendingMethods}.
+ *
+ * Methods, main blocks and functions whose code remains larger than
+ * {@link #HUGE_METHOD_LIMIT} are reported on standard error.
+ */
+public class MethodSplitter {
+
+    /** HotSpot's {@code HugeMethodLimit}, in bytes of bytecode. */
+    public static final int HUGE_METHOD_LIMIT = 8000;
+    /** Blocks larger than this are split. */
+    public static final int SPLIT_LIMIT = HUGE_METHOD_LIMIT / 2;
+    /** The maximal size of the statements moved into one method. */
+    private static final int MAX_PART_SIZE = HUGE_METHOD_LIMIT / 4;
+    /** Runs of statements smaller than this are not worth a call. */
+    private static final int MIN_PART_SIZE = 200;
+    /** The estimated bytecode size per AST node. */
+    private static final int BYTES_PER_NODE = 8;
+
+    private final StringBuilder pending = new StringBuilder();
+    private int counter = 0;
+
+    /**
+     * The estimated size of the bytecode generated for {@code node}.
+     */
+    public static int estimatedSize(ASTNode<?> node) {
+        int nodes = 0;
+        Deque<ASTNode<?>> todo = new ArrayDeque<>();
+        todo.push(node);
+        while (!todo.isEmpty()) {
+            ASTNode<?> n = todo.pop();
+            nodes++;
+            if (n instanceof Annotation || n instanceof PureExp e && e.constantField() != null) {
+                continue;
+            }
+            for (int i = 0; i < n.getNumChild(); i++) {
+                todo.push(n.getChild(i));
+            }
+        }
+        return nodes * BYTES_PER_NODE;
+    }
+
+    /**
+     * The runs of statements of {@code block} that are moved into
+     * methods of their own, in order.
+     */
+    public static List<List<Stmt>> parts(Block block) {
+        List<List<Stmt>> result = new ArrayList<>();
+        if (block.javaCodeSize() <= SPLIT_LIMIT
+            || block.closestParent(MethodImpl.class) == null
+               && !(block instanceof MainBlock || block instanceof InitBlock)
+               && block.closestParent(MainBlock.class) == null
+               && block.closestParent(InitBlock.class) == null) {
+            return result;
+        }
+        List<Stmt> part = new ArrayList<>();
+        int partSize = 0;
+        for (int i = 0; i < block.getNumStmt(); i++) {
+            Stmt stmt = block.getStmt(i);
+            int size = estimatedSize(stmt);
+            if (size > MAX_PART_SIZE || !isMovable(block, i)) {
+                addPart(result, part, partSize);
+                part = new ArrayList<>();
+                partSize = 0;
+                continue;
+            }
+            if (partSize + size > MAX_PART_SIZE) {
+                addPart(result, part, partSize);
+                part = new ArrayList<>();
+                partSize = 0;
+            }
+            part.add(stmt);
+            partSize += size;
+        }
+        addPart(result, part, partSize);
+        return result;
+    }
+
+    private static void addPart(List<List<Stmt>> parts, List<Stmt> part, int size) {
+        if (size >= MIN_PART_SIZE) {
+            parts.add(part);
+        }
+    }
+
+    private static boolean isMovable(Block block, int index) {
+        Stmt stmt = block.getStmt(index);
+        if (!stmt.findChildren(ReturnStmt.class).isEmpty()
+            || !stmt.findChildren(PatternVarUse.class).isEmpty()) {
+            return false;
+        }
+        for (AssignStmt assign : stmt.findChildren(AssignStmt.class)) {
+            if (assign.getVar() instanceof VarUse v && !isInside(v.getDecl(), stmt)) {
+                return false;
+            }
+        }
+        for (VarUse use : stmt.findChildren(VarUse.class)) {
+            VarOrFieldDecl decl = use.getDecl();
+            if (!isInside(decl, stmt) && isLocal(decl) && !isPassable(decl)) {
+                return false;
+            }
+        }
+        if (stmt instanceof VarDeclStmt s) {
+            VarDecl decl = s.getVarDecl();
+            if (block instanceof MainBlock && decl.getName().equals("testresult")) {
+                return false;
+            }
+            for (int i = index + 1; i < block.getNumStmt(); i++) {
+                for (VarUse use : block.getStmt(i).findChildren(VarUse.class)) {
+                    if (use.getDecl() == decl) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInside(ASTNode<?> node, ASTNode<?> ancestor) {
+        for (ASTNode<?> n = node; n != null; n = n.getParent()) {
+            if (n == ancestor) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@code decl} is a Java local variable or parameter, as
+     * opposed to a field.
+     */
+    private static boolean isLocal(VarOrFieldDecl decl) {
+        return !(decl instanceof ParamDecl p && p.closestParent(MethodSig.class) == null
+                 && p.closestParent(Block.class) == null);
+    }
+
+    /** Whether {@code decl} can be passed to a helper method. */
+    private static boolean isPassable(VarOrFieldDecl decl) {
+        return decl instanceof VarDecl v && !v.isStringAccumulator()
+            || decl instanceof ParamDecl p && p.closestParent(MethodSig.class) != null;
+    }
+
+    /**
+     * The estimated size of the method generated for {@code body},
+     * after moving statements into helper methods.
+     */
+    public static int residualSize(Block body) {
+        int result = body.javaCodeSize();
+        for (Block block : body.findChildren(Block.class)) {
+            for (List<Stmt> part : block.javaSplitParts()) {
+                for (Stmt stmt : part) {
+                    result -= estimatedSize(stmt);
+                }
+                result += BYTES_PER_NODE * (1 + freeVars(part).size());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prints a warning if the method generated for {@code node} is still
+     * too large to be JIT-compiled.
+     */
+    public static void checkSize(ASTNode<?> node, String what, int size) {
+        if (size > HUGE_METHOD_LIMIT) {
+            System.err.println("Warning: " + node.getPositionString() + ": the Java code generated for " + what
+                               + " has an estimated size of " + size + " bytes, more than the JIT compiler's limit of "
+                               + HUGE_METHOD_LIMIT + " bytes; it will run in the interpreter.");
+        }
+    }
+
+    /** The local variables read by {@code part} and declared outside of it. */
+    private static List<VarOrFieldDecl> freeVars(List<Stmt> part) {
+        Set<VarOrFieldDecl> result = new LinkedHashSet<>();
+        for (Stmt stmt : part) {
+            for (VarUse use : stmt.findChildren(VarUse.class)) {
+                VarOrFieldDecl decl = use.getDecl();
+                if (isPassable(decl) && part.stream().noneMatch(s -> isInside(decl, s))) {
+                    result.add(decl);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Prints a call of a new helper method that runs the statements of
+     * {@code part}, and remembers the helper method for {@link
+     * #generatePendingMethods}.
+     */
+    public void generateCall(PrintStream stream, Block block, List<Stmt> part) {
+        String name = "$split" + counter++;
+        List<VarOrFieldDecl> params = freeVars(part);
+        stream.println(name + "(" + params.stream()
+                       .map(d -> JavaBackend.getVariableName(d.getName()))
+                       .collect(Collectors.joining(", ")) + ");");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PrintStream out = JavaCodeStream.from(bytes)) {
+            out.println("private void " + name + "(" + params.stream()
+                        .map(d -> "final " + javaType(d) + " " + JavaBackend.getVariableName(d.getName()))
+                        .collect(Collectors.joining(", ")) + ") {");
+            for (Stmt stmt : part) {
+                block.generateJavaStmt(out, stmt);
+            }
+            out.println("}");
+        }
+        pending.append(bytes.toString(JavaBackend.CHARSET));
+    }
+
+    /** The Java type of a local variable or method parameter. */
+    private static String javaType(VarOrFieldDecl decl) {
+        // method parameters keep the boxed types of the method signature
+        return decl instanceof ParamDecl
+            ? JavaBackend.getJavaType(decl.getType())
+            : JavaBackend.getUnboxedJavaType(decl.getType());
+    }
+
+    /**
+     * Prints the helper methods created since the last call.
+     */
+    public void generatePendingMethods(PrintStream stream) {
+        if (pending.length() > 0) {
+            stream.print(pending.toString());
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.codegeneration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.abs_models.backend.java.JavaBackend;
+import org.abs_models.backend.java.lib.expr.IntOps;
+import org.abs_models.backend.java.lib.types.ABSList;
+import org.abs_models.backend.java.lib.types.ABSMap;
+import org.abs_models.backend.java.lib.types.ABSSet;
+import org.abs_models.frontend.ast.DataConstructor;
+import org.abs_models.frontend.ast.DataTypeDecl;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.HasTypeParameters;
+import org.abs_models.frontend.ast.TypeParameterDecl;
+import org.abs_models.frontend.typechecker.DataTypeType;
+import org.abs_models.frontend.typechecker.Type;
+
+/**
+ * Standard library datatypes and functions that the Java backend
+ * implements natively instead of compiling their ABS definitions.
+ *
+ * A native datatype is represented by a runtime class instead of a
+ * generated sealed interface and records.  Its constructors are
+ * static factory methods of that class, and constructor patterns are
+ * compiled into a type pattern plus a condition: nullary
+ * constructors test {@code isEmpty()}, the others match the record
+ * returned by {@code view()}.  For maps, {@code view()} takes the
+ * Java type of the entries as type argument.
+ *
+ * Native functions get a hand-written method body; the ABS definition
+ * stays in the standard library for the other backends.  In the
+ * bodies, {@code {0}}, {@code {1}}, ... stand for the parameters and
+ * {@code {T0}}, {@code {T1}}, ... for the type parameters of the
+ * function, so that the bodies do not depend on the names used in the
+ * standard library.
+ */
+public class NativeStdLib {
+
+    private static final String LIST = ABSList.class.getName();
+    private static final String MAP = ABSMap.class.getName();
+    private static final String SET = ABSSet.class.getName();
+
+    /** Qualified datatype name to Java class. */
+    private static final Map<String, String> dataTypes = Map.of(
+        "ABS.StdLib.List", LIST,
+        "ABS.StdLib.Map", MAP,
+        "ABS.StdLib.Set", SET);
+
+    /** Qualified constructor name to Java factory method. */
+    private static final Map<String, String> constructors = Map.of(
+        "ABS.StdLib.Nil", LIST + ".empty",
+        "ABS.StdLib.Cons", LIST + ".cons",
+        "ABS.StdLib.EmptyMap", MAP + ".empty",
+        "ABS.StdLib.InsertAssoc", MAP + ".insertAssoc",
+        "ABS.StdLib.EmptySet", SET + ".empty",
+        "ABS.StdLib.Insert", SET + ".insert");
+
+    /** Qualified constructor name to the Java record returned by {@code view()}. */
+    private static final Map<String, String> views = Map.of(
+        "ABS.StdLib.Cons", LIST + ".Cons",
+        "ABS.StdLib.InsertAssoc", MAP + ".InsertAssoc",
+        "ABS.StdLib.Insert", SET + ".Insert");
+
+    /** Placeholders for the parameters and type parameters in function bodies. */
+    private static final Pattern placeholder = Pattern.compile("\\{(T?)(\\d+)\\}");
+
+    /** Qualified function name to Java method body. */
+    private static final Map<String, String> functions = Map.ofEntries(
+        Map.entry("ABS.StdLib.head", "return {0}.first();"),
+        Map.entry("ABS.StdLib.tail", "return {0}.rest();"),
+        Map.entry("ABS.StdLib.length", "return " + IntOps.class.getName() + ".valueOf({0}.size());"),
+        Map.entry("ABS.StdLib.isEmpty", "return {0}.isEmpty();"),
+        Map.entry("ABS.StdLib.nth", "return {0}.nth({1});"),
+        Map.entry("ABS.StdLib.without", "return {0}.without({1});"),
+        Map.entry("ABS.StdLib.concatenate", "return {0}.concatenate({1});"),
+        Map.entry("ABS.StdLib.appendright", "return {0}.append({1});"),
+        Map.entry("ABS.StdLib.reverse", "return {0}.reverse();"),
+        Map.entry("ABS.StdLib.copy", "return " + LIST + ".copy({0}, {1});"),
+        Map.entry("ABS.StdLib.map", """
+            %1$s<{T0}, {T1}> $result = %1$s.empty();
+            for (ABS.StdLib.Pair<{T0}, {T1}> $e : {0}) {
+                $result = $result.append($e);
+            }
+            return $result;
+            """.formatted(MAP)),
+        Map.entry("ABS.StdLib.emptyMap", "return {0}.isEmpty();"),
+        Map.entry("ABS.StdLib.removeKey", "return {0}.removeKey({1});"),
+        Map.entry("ABS.StdLib.values", "return " + LIST + ".fromIterable({0}.values());"),
+        Map.entry("ABS.StdLib.entries", "return " + LIST + ".fromIterable({0}.<ABS.StdLib.Pair<{T0}, {T1}>>entries());"),
+        Map.entry("ABS.StdLib.lookup", """
+            {T1} $v = {0}.getOrDefault({1}, %1$s.missing());
+            if ($v == %1$s.missing()) return ABS.StdLib.Maybe_Nothing.instance();
+            return new ABS.StdLib.Maybe_Just<>($v);
+            """.formatted(MAP)),
+        Map.entry("ABS.StdLib.lookupDefault", "return {0}.getOrDefault({1}, {2});"),
+        Map.entry("ABS.StdLib.put", "return {0}.put({1}, {2}, new ABS.StdLib.Pair_Pair<>({1}, {2}));"),
+        Map.entry("ABS.StdLib.set", """
+            %1$s<{T0}> $result = %1$s.empty();
+            for ({T0} $e : {0}) {
+                $result = $result.insert($e);
+            }
+            return $result;
+            """.formatted(SET)),
+        Map.entry("ABS.StdLib.contains", "return {0}.contains({1});"),
+        Map.entry("ABS.StdLib.emptySet", "return {0}.isEmpty();"),
+        Map.entry("ABS.StdLib.size", "return " + IntOps.class.getName() + ".valueOf({0}.size());"),
+        Map.entry("ABS.StdLib.elements", "return " + LIST + ".fromIterable({0}.elements(true));"),
+        Map.entry("ABS.StdLib.union", "return {0}.union({1});"),
+        Map.entry("ABS.StdLib.intersection", "return {0}.intersection({1});"),
+        Map.entry("ABS.StdLib.difference", "return {0}.difference({1});"),
+        Map.entry("ABS.StdLib.isSubset", "return {0}.isSubset({1});"),
+        Map.entry("ABS.StdLib.insertElement", "return {0}.insert({1});"),
+        Map.entry("ABS.StdLib.remove", "return {0}.remove({1});"),
+        Map.entry("ABS.StdLib.take", "return {0}.first();"),
+        Map.entry("ABS.StdLib.takeMaybe", """
+            if ({0}.isEmpty()) return ABS.StdLib.Maybe_Nothing.instance();
+            return new ABS.StdLib.Maybe_Just<>({0}.first());
+            """),
+        Map.entry("ABS.StdLib.hasNext", "return !{0}.isEmpty();"),
+        Map.entry("ABS.StdLib.next", "return new ABS.StdLib.Pair_Pair<>({0}.rest(), {0}.first());"));
+
+    public static boolean isNativeDataType(DataTypeDecl decl) {
+        return dataTypes.containsKey(decl.getQualifiedName());
+    }
+
+    public static boolean isNativeDataType(Type type) {
+        return type.isDataType() && isNativeDataType(((DataTypeType)type).getDecl());
+    }
+
+    /**
+     * Returns the Java class implementing the datatype, or null if it is
+     * not native.
+     */
+    public static String getJavaClassName(DataTypeDecl decl) {
+        return dataTypes.get(decl.getQualifiedName());
+    }
+
+    /**
+     * Returns the static method that creates values of a constructor of
+     * a native datatype.
+     */
+    public static String getFactoryMethod(DataConstructor c) {
+        return constructors.get(c.getQualifiedName());
+    }
+
+    /**
+     * Returns the record that {@code view()} returns for values built
+     * by a non-nullary constructor of a native datatype.
+     */
+    public static String getViewRecord(DataConstructor c) {
+        return views.get(c.getQualifiedName());
+    }
+
+    /**
+     * Returns the call of {@code view()} on the variable {@code varName}
+     * of a native datatype, where {@code argType} is the Java type of
+     * the constructor's first argument.
+     */
+    public static String getViewCall(DataConstructor c, String varName, String argType) {
+        if (c.getDataTypeDecl().getQualifiedName().equals("ABS.StdLib.Map")) {
+            return varName + ".<" + argType + ">view()";
+        }
+        return varName + ".view()";
+    }
+
+    /**
+     * Returns the Java method body implementing the function, or null
+     * if its ABS definition should be compiled.
+     */
+    public static String getFunctionBody(FunctionDecl decl) {
+        String body = functions.get(decl.getQualifiedName());
+        if (body == null) {
+            return null;
+        }
+        List<String> typeParams = new ArrayList<>();
+        if (decl instanceof HasTypeParameters p) {
+            for (TypeParameterDecl t : p.getTypeParameters()) {
+                typeParams.add(t.getName());
+            }
+        }
+        Matcher m = placeholder.matcher(body);
+        StringBuilder result = new StringBuilder();
+        while (m.find()) {
+            boolean isType = !m.group(1).isEmpty();
+            int i = Integer.parseInt(m.group(2));
+            if (i >= (isType ? typeParams.size() : decl.getNumParam())) {
+                throw new IllegalStateException("Native body of " + decl.getQualifiedName()
+                                                + " refers to " + m.group() + ", but the function has "
+                                                + decl.getNumParam() + " parameters and "
+                                                + typeParams.size() + " type parameters");
+            }
+            String name = isType ? typeParams.get(i)
+                : JavaBackend.getVariableName(decl.getParam(i).getName());
+            m.appendReplacement(result, Matcher.quoteReplacement(name));
+        }
+        m.appendTail(result);
+        return result.toString();
+    }
+
+    /**
+     * Returns the expression computing the function for the given
+     * argument code (see {@link Inlining}), or null if its body is not
+     * a single {@code return} that uses each parameter once, in
+     * order.  Bodies with explicit type arguments are not inlined
+     * since these refer to the type parameters of the function.
+     */
+    public static String getInlinedBody(FunctionDecl decl, List<String> args) {
+        String body = functions.get(decl.getQualifiedName());
+        if (body == null || !body.startsWith("return ") || !body.endsWith(";")
+            || body.contains("\n") || body.contains("<")) {
+            return null;
+        }
+        body = body.substring("return ".length(), body.length() - 1);
+        StringBuilder result = new StringBuilder("(");
+        int from = 0;
+        for (int i = 0; i < args.size(); i++) {
+            String param = "{" + i + "}";
+            int index = body.indexOf(param, from);
+            if (index < 0 || body.indexOf(param) != index || body.lastIndexOf(param) != index) {
+                return null;
+            }
+            result.append(body, from, index).append('(').append(args.get(i)).append(')');
+            from = index + param.length();
+        }
+        return result.append(body, from, body.length()).append(')').toString();
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.codegeneration;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.abs_models.backend.java.JavaBackend;
+import org.abs_models.frontend.ast.CaseBranch;
+import org.abs_models.frontend.ast.CaseExp;
+import org.abs_models.frontend.ast.ExpFunctionDef;
+import org.abs_models.frontend.ast.FnApp;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.IfExp;
+import org.abs_models.frontend.ast.LetExp;
+import org.abs_models.frontend.ast.ParamDecl;
+import org.abs_models.frontend.ast.ParametricFunctionDecl;
+import org.abs_models.frontend.ast.PatternVarUse;
+import org.abs_models.frontend.ast.PureExp;
+
+/**
+ * Compiles tail calls between ABS functions into jumps.
+ *
+ * A call is in tail position if it is the body of a function, or a
+ * branch of a {@code when} or {@code case} expression or the body of
+ * a {@code let} expression in tail position.  A function whose body
+ * contains tail calls to itself is compiled into a loop: its
+ * parameters become variables that a tail call assigns before
+ * starting the next iteration.  Functions that
+ * call each other in tail position (e.g., {@code isEven} and {@code
+ * isOdd}) form a group; each function of the group is compiled into a
+ * loop containing the bodies of all functions of the group, and a
+ * variable {@code $fn} selects the body to run next.  Groups are only
+ * merged if their functions have no type parameters and the same
+ * result type; otherwise only self calls become jumps.
+ *
+ * In the loop body, each parameter is bound to a final local variable
+ * of its original name, so the code generated for the function body
+ * does not change.  The loop variables are named {@code $arg<i>$<name>},
+ * where {@code i} is the index of the function in its group.
+ */
+public class TailCalls {
+
+    /** Larger groups are not merged, to limit code duplication. */
+    private static final int MAX_GROUP_SIZE = 8;
+
+    /** The functions of the group; the one being compiled comes first. */
+    private final List<FunctionDecl> group;
+
+    private TailCalls(List<FunctionDecl> group) {
+        this.group = group;
+    }
+
+    /**
+     * Returns the tail calls to compile into jumps when generating
+     * {@code f}, or null if {@code f} has no tail calls to itself or
+     * to functions of its group.
+     */
+    public static TailCalls of(FunctionDecl f) {
+        if (!isCompiled(f)) return null;
+        // The group of f: the functions reachable from f via tail calls
+        // that can reach f again.
+        List<FunctionDecl> reachable = reachableFrom(f);
+        List<FunctionDecl> group = new ArrayList<>();
+        group.add(f);
+        for (FunctionDecl g : reachable) {
+            if (g != f && reachableFrom(g).contains(f)) {
+                group.add(g);
+            }
+        }
+        if (group.size() > 1 && canMerge(group)) {
+            return new TailCalls(group);
+        } else if (tailCallees(f).contains(f)) {
+            return new TailCalls(List.of(f));
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isCompiled(FunctionDecl f) {
+        return f.getFunctionDef() instanceof ExpFunctionDef
+            && NativeStdLib.getFunctionBody(f) == null
+            && ListLoops.of(f) == null;
+    }
+
+    private static boolean canMerge(List<FunctionDecl> group) {
+        if (group.size() > MAX_GROUP_SIZE) return false;
+        String resultType = JavaBackend.getUnboxedJavaType(group.get(0).getType());
+        for (FunctionDecl g : group) {
+            if (g instanceof ParametricFunctionDecl p && p.getNumTypeParameter() > 0) return false;
+            if (!JavaBackend.getUnboxedJavaType(g.getType()).equals(resultType)) return false;
+        }
+        return true;
+    }
+
+    private static List<FunctionDecl> reachableFrom(FunctionDecl f) {
+        Set<FunctionDecl> result = new LinkedHashSet<>();
+        List<FunctionDecl> todo = new ArrayList<>(tailCallees(f));
+        while (!todo.isEmpty()) {
+            FunctionDecl g = todo.remove(todo.size() - 1);
+            if (result.add(g)) {
+                todo.addAll(tailCallees(g));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /** The compiled functions that {@code f} calls in tail position. */
+    private static Set<FunctionDecl> tailCallees(FunctionDecl f) {
+        Set<FunctionDecl> result = new LinkedHashSet<>();
+        List<PureExp> todo = new ArrayList<>();
+        todo.add(((ExpFunctionDef)f.getFunctionDef()).getRhs());
+        while (!todo.isEmpty()) {
+            switch (todo.remove(todo.size() - 1)) {
+                case IfExp e -> {
+                    todo.add(e.getThenExp());
+                    todo.add(e.getElseExp());
+                }
+                case CaseExp e -> {
+                    for (CaseBranch b : e.getBranchs()) {
+                        todo.add(b.getRight());
+                    }
+                }
+                case LetExp e -> todo.add(e.getExp());
+                case FnApp app -> {
+                    if (app.getDecl() instanceof FunctionDecl g && isCompiled(g)) {
+                        result.add(g);
+                    }
+                }
+                default -> { }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether {@code app}, which is in tail position, is compiled into
+     * a jump.
+     */
+    public boolean isJump(FnApp app) {
+        return group.contains(app.getDecl());
+    }
+
+    private static String argVar(int i, ParamDecl p) {
+        return "$arg" + i + "$" + p.getName();
+    }
+
+    /**
+     * Prints the parameter list of the {@code apply} method, whose
+     * parameters are the loop variables of the function.
+     */
+    public void generateParams(PrintStream stream) {
+        FunctionDecl f = group.get(0);
+        stream.print("(");
+        String separator = "";
+        for (ParamDecl p : f.getParams()) {
+            stream.print(separator + JavaBackend.getUnboxedJavaType(p.getType()) + " " + argVar(0, p));
+            separator = ", ";
+        }
+        stream.print(")");
+    }
+
+    /**
+     * Prints the body of the {@code apply} method: a loop that runs the
+     * body of the function in the group selected by {@code $fn}.
+     */
+    public void generateLoop(PrintStream stream) {
+        for (int i = 1; i < group.size(); i++) {
+            for (ParamDecl p : group.get(i).getParams()) {
+                stream.println(JavaBackend.getUnboxedJavaType(p.getType()) + " " + argVar(i, p)
+                               + " = " + JavaBackend.getDefaultValue(p.getType()) + ";");
+            }
+        }
+        if (group.size() > 1) {
+            stream.println("int $fn = 0;");
+        }
+        stream.println("while (true) {");
+        if (group.size() > 1) {
+            stream.println("switch ($fn) {");
+            for (int i = 0; i < group.size(); i++) {
+                stream.println("case " + i + " -> {");
+                generateBody(stream, i);
+                stream.println("}");
+            }
+            stream.println("}");
+        } else {
+            generateBody(stream, 0);
+        }
+        stream.println("}");
+    }
+
+    private void generateBody(PrintStream stream, int i) {
+        FunctionDecl f = group.get(i);
+        for (ParamDecl p : f.getParams()) {
+            stream.println("final " + JavaBackend.getUnboxedJavaType(p.getType()) + " "
+                           + JavaBackend.getVariableName(p.getName()) + " = " + argVar(i, p) + ";");
+        }
+        PureExp body = ((ExpFunctionDef)f.getFunctionDef()).getRhs();
+        for (PatternVarUse boundVar : body.boundPatternVars()) {
+            stream.println("final var $$" + boundVar.getName() + " = " + boundVar.getName() + ";");
+        }
+        body.generateJavaTail(stream, this);
+    }
+
+    /**
+     * Prints a tail call as assignments to the loop variables of the
+     * callee followed by a jump to the next iteration.  The arguments
+     * only refer to the final locals of the current iteration, so the
+     * loop variables can be assigned in order.
+     */
+    public void generateJump(PrintStream stream, FnApp app) {
+        int i = group.indexOf(app.getDecl());
+        FunctionDecl callee = group.get(i);
+        // Polymorphic recursion can instantiate the type parameters
+        // differently; values are erased in Java, so cast via Object.
+        boolean cast = callee instanceof ParametricFunctionDecl p && p.getNumTypeParameter() > 0;
+        for (int j = 0; j < callee.getNumParam(); j++) {
+            ParamDecl p = callee.getParam(j);
+            stream.print(argVar(i, p) + " = ");
+            if (cast) {
+                stream.print("(" + JavaBackend.getUnboxedJavaType(p.getType()) + ")(java.lang.Object)(");
+            }
+            app.getParam(j).generateJava(stream);
+            if (cast) {
+                stream.print(")");
+            }
+            stream.println(";");
+        }
+        if (group.size() > 1) {
+            stream.println("$fn = " + i + ";");
+        }
+        stream.println("continue;");
+    }
+}
@@ -4,12 +4,19 @@
  */
 package org.abs_models.backend.java.lib.expr;
 
+import java.util.ArrayList;
+
 import org.abs_models.backend.java.lib.runtime.ABSDynamicClass;
 import org.abs_models.backend.java.lib.runtime.ABSFut;
 import org.abs_models.backend.java.lib.runtime.ABSObject;
 import org.abs_models.backend.java.lib.types.ABSAlgebraicDataType;
+import org.abs_models.backend.java.lib.types.ABSList;
+import org.abs_models.backend.java.lib.types.ABSMap;
 import org.abs_models.backend.java.lib.types.ABSProcess;
+import org.abs_models.backend.java.lib.types.ABSSet;
 import org.abs_models.backend.java.lib.types.ABSUnit;
+
+import org.apfloat.Apint;
 import org.apfloat.Aprational;
 
 /**
@@ -18,6 +25,10 @@ import org.apfloat.Aprational;
 public class BinOp {
 
     public static Boolean eq(Object v1, Object v2) {
+        if (v1 == v2) {
+            // shared values, e.g. nullary constructors and constants
+            return true;
+        }
         // Various branches in the following switch statement rely on the
         // typechecker to only allow through type-correct programs, which
         // means that v1 and v2 have the same ABS type.
@@ -35,7 +46,7 @@ public class BinOp {
             case Boolean b1: return b1.equals(v2);
             case Aprational r1:
                 if (v2 instanceof Aprational r2) { // includes Apint
-                    return r1.compareTo(r2) == 0;
+                    return RatOps.compare(r1, r2) == 0;
                 }
                 break;
             case Double f1:
@@ -48,14 +59,24 @@ public class BinOp {
                     return s1.equals(s2);
                 }
                 break;
+            case ABSList<?> l1:
+                if (v2 instanceof ABSList<?> l2) {
+                    return l1.eq(l2);
+                }
+                break;
+            case ABSMap<?, ?> m1:
+                if (v2 instanceof ABSMap<?, ?> m2) {
+                    return m1.eq(m2);
+                }
+                break;
+            case ABSSet<?> s1:
+                if (v2 instanceof ABSSet<?> s2) {
+                    return s1.eq(s2);
+                }
+                break;
             case ABSAlgebraicDataType t1:
-                if (v2 instanceof ABSAlgebraicDataType t2) {
-                    if (!t1.getConstructorName().equals(t2.getConstructorName())) return false;
-                    for (int i = 0; i < t1.getNumArgs(); i++) {
-                        if (!BinOp.eq(t1.getArg(i), t2.getArg(i)))
-                            return false;
-                    }
-                    return true;
+                if (v2 instanceof ABSAlgebraicDataType) {
+                    return eqConstructors(t1, v2);
                 }
                 break;
             default:
@@ -69,6 +90,184 @@ public class BinOp {
         return !eq(v, v2);
     }
 
+    /**
+     * A hash code for ABS values, consistent with {@link #eq}: values
+     * that are equal in ABS have the same hash code, even if their Java
+     * representations differ (e.g., an {@link Apint} and an integral
+     * {@link Aprational}).  Datatype values compute their hash code
+     * when they are created, so it is not recomputed here.
+     */
+    public static int hash(Object v) {
+        switch (v) {
+            case null: return 0;
+            case ABSDynamicClass c: return c.getName().hashCode();
+            case ABSProcess p: return System.identityHashCode(p);
+            case ABSObject o: return System.identityHashCode(o);
+            case ABSFut<?> f: return System.identityHashCode(f);
+            case ABSUnit u: return 1;
+            case Boolean b: return b.hashCode();
+            case Apint i: return hashInt(i);
+            case Aprational r:
+                if (r.denominator().equals(Apint.ONE)) {
+                    return hashInt(r.numerator());
+                }
+                return 31 * hashInt(r.numerator()) + hashInt(r.denominator());
+            case Double f: return f.hashCode();
+            case String s: return s.hashCode();
+            case ABSList<?> l: return l.hashCode();
+            case ABSMap<?, ?> m: return m.hashCode();
+            case ABSSet<?> s: return s.hashCode();
+            case ABSAlgebraicDataType t: return t.hashCode();
+            default:
+                // e.g., objects of foreign classes; values are hashed
+                // eagerly when stored in a datatype, so do not fail here
+                return v.hashCode();
+        }
+    }
+
+    /**
+     * A total order on ABS values of the same type, consistent with
+     * {@link #eq}.  It agrees with {@link #gt} for all built-in types;
+     * datatype values are ordered by constructor name and then
+     * lexicographically by their arguments.  Native collections such as
+     * {@link ABSSet} use this order to sort their elements.
+     */
+    public static int compare(Object v1, Object v2) {
+        if (v1 == null) return v2 == null ? 0 : -1;
+        if (v2 == null) return 1;
+        switch (v1) {
+            case ABSDynamicClass c1:
+                if (v2 instanceof ABSDynamicClass c2) {
+                    return c1.getName().compareTo(c2.getName());
+                }
+                break;
+            case ABSProcess p1:
+                if (v2 instanceof ABSProcess p2) {
+                    return Integer.compare(p1.getPid(), p2.getPid());
+                }
+                break;
+            case ABSObject o1:
+                if (v2 instanceof ABSObject o2) {
+                    int comp = o1.getClassName().compareTo(o2.getClassName());
+                    if (comp == 0) return Long.compare(o1.getView().getID(), o2.getView().getID());
+                    else return comp;
+                }
+                break;
+            case ABSFut<?> f1:
+                if (v2 instanceof ABSFut<?> f2) {
+                    return Integer.compare(f1.getID(), f2.getID());
+                }
+                break;
+            case ABSUnit u: return 0;
+            case Boolean b1:
+                if (v2 instanceof Boolean b2) {
+                    return b1.compareTo(b2);
+                }
+                break;
+            case Aprational r1:
+                if (v2 instanceof Aprational r2) { // includes Apint
+                    return RatOps.compare(r1, r2);
+                }
+                break;
+            case Double f1:
+                if (v2 instanceof Double f2) {
+                    return f1.compareTo(f2);
+                }
+                break;
+            case String s1:
+                if (v2 instanceof String s2) {
+                    return s1.compareTo(s2);
+                }
+                break;
+            case ABSList<?> l1:
+                if (v2 instanceof ABSList<?> l2) {
+                    return l1.compareTo(l2);
+                }
+                break;
+            case ABSMap<?, ?> m1:
+                if (v2 instanceof ABSMap<?, ?> m2) {
+                    return m1.compareTo(m2);
+                }
+                break;
+            case ABSSet<?> s1:
+                if (v2 instanceof ABSSet<?> s2) {
+                    return s1.compareTo(s2);
+                }
+                break;
+            case ABSAlgebraicDataType t1:
+                if (v2 instanceof ABSAlgebraicDataType) {
+                    return compareConstructors(t1, v2);
+                }
+                break;
+            default:
+                throw new RuntimeException("Encountered unknown ABS type " + v1.getClass() + " in BinOp#compare, giving up.");
+        }
+        // not reached except in case of mistyped program
+        throw new RuntimeException("Encountered unknown ABS type " + v1.getClass() + " in BinOp#compare, giving up.");
+    }
+
+    /**
+     * Combines a hash code with the hash code of the next constructor
+     * argument.  Generated datatype constructors compute their hash
+     * code as {@code hash(hash(seed, arg0), arg1)...}, where {@code seed}
+     * is the hash code of the constructor name.
+     */
+    public static int hash(int h, Object arg) {
+        return 31 * h + hash(arg);
+    }
+
+    /**
+     * Scrambles a hash code.  Native collections add up the scrambled
+     * hash codes of their elements, so that their hash code can be
+     * updated in constant time when adding or removing an element.
+     */
+    public static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int hashInt(Apint i) {
+        return IntOps.isSmall(i) ? Long.hashCode(i.longValue()) : i.hashCode();
+    }
+
+    // Overloads for numbers, chosen by javac when both operands have
+    // static type Apint or Aprational in the generated code.  Note that
+    // javac also selects them for `null == null`.
+
+    public static Boolean eq(Aprational v1, Aprational v2) {
+        if (v1 == null || v2 == null) return eq((Object)v1, (Object)v2);
+        return RatOps.compare(v1, v2) == 0;
+    }
+
+    public static Boolean notEq(Aprational v1, Aprational v2) {
+        if (v1 == null || v2 == null) return notEq((Object)v1, (Object)v2);
+        return RatOps.compare(v1, v2) != 0;
+    }
+
+    public static Boolean gt(Aprational v1, Aprational v2) {
+        if (v1 == null || v2 == null) return gt((Object)v1, (Object)v2);
+        return RatOps.compare(v1, v2) > 0;
+    }
+
+    public static Boolean lt(Aprational v1, Aprational v2) {
+        if (v1 == null || v2 == null) return lt((Object)v1, (Object)v2);
+        return RatOps.compare(v1, v2) < 0;
+    }
+
+    public static Boolean gtEq(Aprational v1, Aprational v2) {
+        if (v1 == null || v2 == null) return gtEq((Object)v1, (Object)v2);
+        return RatOps.compare(v1, v2) >= 0;
+    }
+
+    public static boolean ltEq(Aprational v1, Aprational v2) {
+        if (v1 == null || v2 == null) return ltEq((Object)v1, (Object)v2);
+        return RatOps.compare(v1, v2) <= 0;
+    }
+
     public static Boolean gt(Object v1, Object v2) {
         switch (v1) {
             case null: return false;
@@ -105,7 +304,7 @@ public class BinOp {
                 break;
             case Aprational r1:
                 if (v2 instanceof Aprational r2) { // includes Apint
-                    return r1.compareTo(r2) > 0;
+                    return RatOps.compare(r1, r2) > 0;
                 }
                 break;
             case Double f1:
@@ -118,18 +317,24 @@ public class BinOp {
                     return s1.compareTo(s2) > 0;
                 }
                 break;
+            case ABSList<?> l1:
+                if (v2 instanceof ABSList<?> l2) {
+                    return l1.gt(l2);
+                }
+                break;
+            case ABSMap<?, ?> m1:
+                if (v2 instanceof ABSMap<?, ?> m2) {
+                    return m1.gt(m2);
+                }
+                break;
+            case ABSSet<?> s1:
+                if (v2 instanceof ABSSet<?> s2) {
+                    return s1.gt(s2);
+                }
+                break;
             case ABSAlgebraicDataType t1:
-                if (v2 instanceof ABSAlgebraicDataType t2) {
-                    int constructorComparison = t1.getConstructorName().compareTo(t2.getConstructorName());
-                    if (constructorComparison == 0) {
-                        for (int i = 0; i < t1.getNumArgs(); i++) {
-                            if (BinOp.gt(t1.getArg(i), t2.getArg(i)))
-                                return true;
-                        }
-                        return false;
-                    } else {
-                        return constructorComparison > 0;
-                    }
+                if (v2 instanceof ABSAlgebraicDataType) {
+                    return gtConstructors(t1, v2);
                 }
                 break;
             default:
@@ -139,6 +344,91 @@ public class BinOp {
         throw new RuntimeException("Encountered unknown ABS type " + v1.getClass() + " in BinOp#gt, giving up.");
     }
 
+    // Equality and ordering of datatype values.  These do not recurse
+    // once per constructor level but keep the pairs of arguments still
+    // to be visited on an explicit work stack, so that deeply nested
+    // values (e.g., a long user-defined list) do not overflow the Java
+    // stack.  Arguments are pushed last-to-first, so they are visited
+    // left to right and a right-nested chain such as a list only ever
+    // occupies a constant number of stack entries.  Native collections
+    // iterate over their elements themselves.
+
+    private static boolean isConstructorValue(Object v) {
+        return v instanceof ABSAlgebraicDataType
+            && !(v instanceof ABSList || v instanceof ABSMap || v instanceof ABSSet);
+    }
+
+    private static void pushArgs(ArrayList<Object> work, ABSAlgebraicDataType t1, ABSAlgebraicDataType t2) {
+        for (int i = t1.getNumArgs() - 1; i >= 0; i--) {
+            work.add(t1.getArg(i));
+            work.add(t2.getArg(i));
+        }
+    }
+
+    private static boolean eqConstructors(Object v1, Object v2) {
+        ArrayList<Object> work = new ArrayList<>();
+        while (true) {
+            if (v1 == v2) {
+                // shared or identical subterm
+            } else if (isConstructorValue(v1) && v2 instanceof ABSAlgebraicDataType t2) {
+                ABSAlgebraicDataType t1 = (ABSAlgebraicDataType)v1;
+                // each constructor is a class of its own
+                if (t1.getClass() != t2.getClass()) return false;
+                if (t1.hashCode() != t2.hashCode()) return false;
+                pushArgs(work, t1, t2);
+            } else if (!eq(v1, v2)) {
+                return false;
+            }
+            if (work.isEmpty()) return true;
+            v2 = work.remove(work.size() - 1);
+            v1 = work.remove(work.size() - 1);
+        }
+    }
+
+    private static int compareConstructors(Object v1, Object v2) {
+        ArrayList<Object> work = new ArrayList<>();
+        while (true) {
+            if (v1 == v2) {
+                // shared or identical subterm
+            } else if (isConstructorValue(v1) && v2 instanceof ABSAlgebraicDataType t2) {
+                ABSAlgebraicDataType t1 = (ABSAlgebraicDataType)v1;
+                if (t1.getClass() != t2.getClass()) {
+                    int comp = t1.getConstructorName().compareTo(t2.getConstructorName());
+                    if (comp != 0) return comp;
+                }
+                pushArgs(work, t1, t2);
+            } else {
+                int comp = compare(v1, v2);
+                if (comp != 0) return comp;
+            }
+            if (work.isEmpty()) return 0;
+            v2 = work.remove(work.size() - 1);
+            v1 = work.remove(work.size() - 1);
+        }
+    }
+
+    private static boolean gtConstructors(Object v1, Object v2) {
+        // A value is greater than another one with the same constructor
+        // if any of its arguments is greater.
+        ArrayList<Object> work = new ArrayList<>();
+        while (true) {
+            if (v1 == v2) {
+                // shared or identical subterm
+            } else if (isConstructorValue(v1) && v2 instanceof ABSAlgebraicDataType t2) {
+                ABSAlgebraicDataType t1 = (ABSAlgebraicDataType)v1;
+                int constructorComparison = t1.getClass() == t2.getClass() ? 0
+                    : t1.getConstructorName().compareTo(t2.getConstructorName());
+                if (constructorComparison > 0) return true;
+                if (constructorComparison == 0) pushArgs(work, t1, t2);
+            } else if (gt(v1, v2)) {
+                return true;
+            }
+            if (work.isEmpty()) return false;
+            v2 = work.remove(work.size() - 1);
+            v1 = work.remove(work.size() - 1);
+        }
+    }
+
     // Note: the below methods could be open-coded to make one pass over v1,
     // v2 instead of two -- we go for simpler code instead of performance for
     // now.
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.expr;
+
+import org.apfloat.Apint;
+
+/**
+ * Arithmetic on ABS integers with a fast path for small values.
+ *
+ * ABS integers are unbounded and represented by {@link Apint}, whose
+ * arithmetic is expensive even for small numbers.  The methods of this
+ * class compute on {@code long} when both operands have at most
+ * {@link #MAX_LONG_DIGITS} decimal digits and the result does not
+ * overflow, and fall back to {@link Apint} arithmetic otherwise, so the
+ * results are exactly those of the plain {@link Apint} operations.
+ */
+public final class IntOps {
+
+    /** Numbers with at most this many decimal digits fit into a long. */
+    static final long MAX_LONG_DIGITS = 18;
+
+    static final int CACHE_LOW = -128;
+    static final int CACHE_HIGH = 1024;
+    private static final Apint[] CACHE = new Apint[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new Apint(i + CACHE_LOW);
+        }
+    }
+
+    private IntOps() {
+    }
+
+    /**
+     * Whether {@link #valueOf} shares the instance for the decimal
+     * number {@code digits}.
+     */
+    public static boolean isCached(String digits) {
+        if (digits.length() > MAX_LONG_DIGITS) return false;
+        long value = Long.parseLong(digits);
+        return value >= CACHE_LOW && value <= CACHE_HIGH;
+    }
+
+    /**
+     * Return an {@link Apint} for {@code value}, sharing instances for
+     * small values.
+     */
+    public static Apint valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int)value - CACHE_LOW];
+        }
+        return new Apint(value);
+    }
+
+    /**
+     * Returns true if {@code x} can be converted to a long without loss.
+     */
+    public static boolean isSmall(Apint x) {
+        return x.scale() <= MAX_LONG_DIGITS && x.radix() == 10;
+    }
+
+    /**
+     * Returns {@code x} as an int if it fits, and {@code outside}
+     * otherwise.  Generated code uses this to match integer literal
+     * patterns via a switch over int constants; {@code outside} is a
+     * value that none of the constants match.
+     */
+    public static int switchKey(Apint x, int outside) {
+        if (x.radix() != 10) {
+            x = x.toRadix(10);
+        }
+        if (isSmall(x)) {
+            long value = x.longValue();
+            if (value == (int)value) {
+                return (int)value;
+            }
+        }
+        return outside;
+    }
+
+    public static Apint add(Apint x, Apint y) {
+        if (isSmall(x) && isSmall(y)) {
+            // cannot overflow: both operands are below 10^18
+            return valueOf(x.longValue() + y.longValue());
+        }
+        return x.add(y);
+    }
+
+    public static Apint subtract(Apint x, Apint y) {
+        if (isSmall(x) && isSmall(y)) {
+            return valueOf(x.longValue() - y.longValue());
+        }
+        return x.subtract(y);
+    }
+
+    public static Apint multiply(Apint x, Apint y) {
+        if (isSmall(x) && isSmall(y)) {
+            long a = x.longValue();
+            long b = y.longValue();
+            long high = Math.multiplyHigh(a, b);
+            long low = a * b;
+            if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+                return valueOf(low);
+            }
+        }
+        return x.multiply(y);
+    }
+
+    public static Apint negate(Apint x) {
+        if (isSmall(x)) {
+            return valueOf(-x.longValue());
+        }
+        return x.negate();
+    }
+
+    public static int compare(Apint x, Apint y) {
+        if (isSmall(x) && isSmall(y)) {
+            return Long.compare(x.longValue(), y.longValue());
+        }
+        return x.compareTo(y);
+    }
+}
@@ -5,4 +5,14 @@
 package org.abs_models.backend.java.lib.expr;
 
 public abstract class Let {
+
+    /**
+     * Returns its argument.  Generated code binding a let variable of
+     * a generic type passes the value through this method, so that the
+     * type arguments of expressions like {@code ABSList.empty()} are
+     * inferred from the type of the variable.
+     */
+    public static <T> T bind(T value) {
+        return value;
+    }
 }
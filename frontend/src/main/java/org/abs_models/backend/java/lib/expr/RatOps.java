@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.expr;
+
+import org.apfloat.Apint;
+import org.apfloat.Aprational;
+
+/**
+ * Arithmetic on ABS rationals with a fast path for small values.
+ *
+ * Rationals are represented by {@link Aprational}.  When numerator and
+ * denominator of both operands fit into a {@code long} (see {@link
+ * IntOps#isSmall}), the methods of this class compute the result on
+ * {@code long}, normalize it by the gcd and only then create the
+ * {@link Aprational}; on overflow they fall back to {@link Aprational}
+ * arithmetic.  Results are always {@link Aprational}, never {@link
+ * Apint}, as with the plain operations.
+ */
+public final class RatOps {
+
+    private RatOps() {
+    }
+
+    private static boolean isSmall(Aprational x) {
+        return IntOps.isSmall(x.numerator()) && IntOps.isSmall(x.denominator());
+    }
+
+    /**
+     * Create the normalized rational n/d.  The denominator must be
+     * positive.
+     *
+     * The two-argument constructor of {@link Aprational} reduces the
+     * fraction again, and there is no public constructor that takes a
+     * fraction as is.  Integral results, which are the common case
+     * (e.g., for times and durations), use the one-argument
+     * constructor, which does not reduce.  Other fractions are reduced
+     * a second time by apfloat.
+     */
+    private static Aprational make(long n, long d) {
+        long g = gcd(Math.abs(n), d);
+        if (g > 1) {
+            n = n / g;
+            d = d / g;
+        }
+        if (d == 1) {
+            return new Aprational(IntOps.valueOf(n));
+        }
+        return new Aprational(IntOps.valueOf(n), IntOps.valueOf(d));
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    public static Aprational add(Aprational x, Aprational y) {
+        if (isSmall(x) && isSmall(y)) {
+            long xn = x.numerator().longValue(), xd = x.denominator().longValue();
+            long yn = y.numerator().longValue(), yd = y.denominator().longValue();
+            if (xd == yd) {
+                return make(xn + yn, xd);
+            }
+            try {
+                return make(Math.addExact(Math.multiplyExact(xn, yd), Math.multiplyExact(yn, xd)),
+                            Math.multiplyExact(xd, yd));
+            } catch (ArithmeticException e) {
+                // overflow, fall through
+            }
+        }
+        return x.add(y);
+    }
+
+    public static Aprational subtract(Aprational x, Aprational y) {
+        if (isSmall(x) && isSmall(y)) {
+            long xn = x.numerator().longValue(), xd = x.denominator().longValue();
+            long yn = y.numerator().longValue(), yd = y.denominator().longValue();
+            if (xd == yd) {
+                return make(xn - yn, xd);
+            }
+            try {
+                return make(Math.subtractExact(Math.multiplyExact(xn, yd), Math.multiplyExact(yn, xd)),
+                            Math.multiplyExact(xd, yd));
+            } catch (ArithmeticException e) {
+                // overflow, fall through
+            }
+        }
+        return x.subtract(y);
+    }
+
+    public static Aprational multiply(Aprational x, Aprational y) {
+        if (isSmall(x) && isSmall(y)) {
+            try {
+                return make(Math.multiplyExact(x.numerator().longValue(), y.numerator().longValue()),
+                            Math.multiplyExact(x.denominator().longValue(), y.denominator().longValue()));
+            } catch (ArithmeticException e) {
+                // overflow, fall through
+            }
+        }
+        return x.multiply(y);
+    }
+
+    public static Aprational divide(Aprational x, Aprational y) {
+        if (y.signum() != 0 && isSmall(x) && isSmall(y)) {
+            long n = x.numerator().longValue();
+            long d = y.numerator().longValue();
+            long f = x.denominator().longValue();
+            if (d < 0) {
+                n = -n;
+                d = -d;
+            }
+            try {
+                return make(Math.multiplyExact(n, y.denominator().longValue()), Math.multiplyExact(f, d));
+            } catch (ArithmeticException e) {
+                // overflow, fall through
+            }
+        }
+        if (x instanceof Apint xi && y instanceof Apint yi) {
+            // integer division is truncating, build the fraction instead
+            return new Aprational(xi, yi);
+        }
+        return x.divide(y);
+    }
+
+    /**
+     * Compare two rationals.  Exact for all values; avoids allocation
+     * when both are small.
+     */
+    public static int compare(Aprational x, Aprational y) {
+        if (isSmall(x) && isSmall(y)) {
+            long xn = x.numerator().longValue(), xd = x.denominator().longValue();
+            long yn = y.numerator().longValue(), yd = y.denominator().longValue();
+            if (xd == yd) {
+                return Long.compare(xn, yn);
+            }
+            // compare the 128-bit products xn*yd and yn*xd
+            long high1 = Math.multiplyHigh(xn, yd), low1 = xn * yd;
+            long high2 = Math.multiplyHigh(yn, xd), low2 = yn * xd;
+            return high1 != high2 ? Long.compare(high1, high2) : Long.compareUnsigned(low1, low2);
+        }
+        return x.compareTo(y);
+    }
+
+    public static Aprational min(Aprational x, Aprational y) {
+        return compare(x, y) < 0 ? x : y;
+    }
+}
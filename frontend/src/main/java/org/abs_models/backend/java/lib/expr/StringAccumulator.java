@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.expr;
+
+/**
+ * The value of a local {@code String} variable that is built by
+ * repeated concatenation, as in {@code s = s + x;} inside a loop.
+ *
+ * ABS strings are Java strings, so concatenating onto a string copies
+ * it and building a string of length n piece by piece takes time
+ * quadratic in n.  The Java backend compiles such variables into an
+ * accumulator instead: appending takes amortized constant time, and
+ * the accumulated string is only flattened into a Java string when the
+ * variable is read.  The flattened string is kept until the next
+ * change, so repeated reads are cheap.  All other code, including
+ * equality, pattern matching and foreign classes, only ever sees the
+ * flattened string.
+ */
+public final class StringAccumulator {
+
+    /** The accumulated string, or null if it has not been flattened since the last append. */
+    private String value;
+    /** The accumulated string, or null if nothing was appended since the last assignment. */
+    private StringBuilder builder;
+
+    public StringAccumulator(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Appends to the accumulated string, as in {@code s = s + part}.
+     */
+    public StringAccumulator append(String part) {
+        if (builder == null) {
+            builder = new StringBuilder(Math.max(16, 2 * (value.length() + part.length())));
+            builder.append(value);
+        }
+        builder.append(part);
+        value = null;
+        return this;
+    }
+
+    /**
+     * Replaces the accumulated string, as in {@code s = value}.
+     */
+    public void set(String value) {
+        this.value = value;
+        this.builder = null;
+    }
+
+    /**
+     * Returns the accumulated string.
+     */
+    @Override
+    public String toString() {
+        if (value == null) {
+            value = builder.toString();
+        }
+        return value;
+    }
+}
@@ -4,9 +4,13 @@
  */
 package org.abs_models.backend.java.lib.runtime;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
 
@@ -14,6 +18,7 @@ import org.abs_models.backend.java.lib.expr.BinOp;
 import org.abs_models.backend.java.lib.expr.UnmatchedCaseException;
 import org.abs_models.backend.java.lib.runtime.metaABS.ObjectMirror;
 import org.abs_models.backend.java.lib.runtime.metaABS.ProductLine;
+import org.abs_models.backend.java.lib.types.ABSAlgebraicDataType;
 import org.abs_models.backend.java.lib.types.ABSInterface;
 import org.abs_models.backend.java.lib.types.ABSProcess;
 import org.abs_models.backend.java.lib.types.ABSUnit;
@@ -84,11 +89,43 @@ public class ABSBuiltInFunctions {
     public static <T> String toString(T t) {
         if (t == null) {
             return "null";
+        } else if (t instanceof ABSAlgebraicDataType) {
+            StringBuilder sb = new StringBuilder();
+            try {
+                toString(sb, t);
+            } catch (IOException e) {
+                // StringBuilder does not throw
+                throw new UncheckedIOException(e);
+            }
+            return sb.toString();
         } else {
             return t.toString();
         }
     }
 
+    /**
+     * Writes the string representation of a value to {@code out}.
+     * Datatype values are printed via an explicit work stack (see
+     * {@link ABSAlgebraicDataType#appendTo}), so that printing a deeply
+     * nested value does not overflow the Java stack.
+     */
+    public static void toString(Appendable out, Object value) throws IOException {
+        if (!(value instanceof ABSAlgebraicDataType)) {
+            out.append(String.valueOf(value));
+            return;
+        }
+        List<Object> work = new ArrayList<>();
+        work.add(value);
+        while (!work.isEmpty()) {
+            Object v = work.remove(work.size() - 1);
+            if (v instanceof ABSAlgebraicDataType d) {
+                d.appendTo(out, work);
+            } else {
+                out.append(String.valueOf(v));
+            }
+        }
+    }
+
     /*
      * functions related to user-defined schedulers (see abslang, module
      * ABS.Scheduler)
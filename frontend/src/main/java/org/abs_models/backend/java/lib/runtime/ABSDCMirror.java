@@ -80,7 +80,7 @@ public class ABSDCMirror {
             throw new RuntimeException(e);
 	}
         @SuppressWarnings("rawtypes")
-	    Map m = (Map)creationTimeRaw.toJson();
+	    Map m = (Map)ModelApi.absToJson(creationTimeRaw);
         Double result = (Double)m.get("timeValue");
         return result;
     }
@@ -93,7 +93,7 @@ public class ABSDCMirror {
             throw new RuntimeException(e);
 	}
         @SuppressWarnings("rawtypes")
-            List<Number> result = (List)cpuHistoryRaw.toJson();
+            List<Number> result = (List)ModelApi.absToJson(cpuHistoryRaw);
         return result.reversed();
     }
 
@@ -105,7 +105,7 @@ public class ABSDCMirror {
             throw new RuntimeException(e);
 	}
         @SuppressWarnings("rawtypes")
-            List<Number> result = (List)cpuTotalsHistoryRaw.toJson();
+            List<Number> result = (List)ModelApi.absToJson(cpuTotalsHistoryRaw);
         return result.reversed();
     }
 
@@ -6,6 +6,7 @@ package org.abs_models.backend.java.lib.runtime;
 
 import java.util.logging.Logger;
 
+import org.abs_models.backend.java.lib.expr.RatOps;
 import org.apfloat.Aprational;
 
 /**
@@ -38,8 +39,8 @@ public class ABSDurationGuard extends ABSGuard {
      */
     public ABSDurationGuard(Aprational minduration, Aprational maxduration) {
         Aprational current_time = ABSRuntime.getRuntime().getClock();
-        this.min_time = current_time.add(minduration);
-        this.max_time = current_time.add(maxduration);
+        this.min_time = RatOps.add(current_time, minduration);
+        this.max_time = RatOps.add(current_time, maxduration);
     }
 
     /**
@@ -58,7 +59,7 @@ public class ABSDurationGuard extends ABSGuard {
 
     @Override
     public boolean isTrue() {
-        return ABSRuntime.getRuntime().getClock().compareTo(min_time) >= 0;
+        return RatOps.compare(ABSRuntime.getRuntime().getClock(), min_time) >= 0;
     }
 
     @Override
@@ -75,7 +76,7 @@ public class ABSDurationGuard extends ABSGuard {
      */
     @Override
     public synchronized boolean await(COG cog, Task<?> task) {
-        log.finest(() -> "Awaiting until time between " + getMinTime() + " and " + getMaxTime());
+        if (Logging.FINEST) log.finest(() -> "Awaiting until time between " + getMinTime() + " and " + getMaxTime());
 
         boolean mustSuspend = !isTrue();
 
@@ -91,7 +92,7 @@ public class ABSDurationGuard extends ABSGuard {
                 this.wait();
             } catch (InterruptedException e) {
                 // This code copied over from ABSFut#await
-                log.finest(() -> this + " was interruped during await");
+                if (Logging.FINEST) log.finest(() -> this + " was interruped during await");
                 Thread.currentThread().interrupt();
                 break;
             }
@@ -54,10 +54,10 @@ public abstract class ABSExpGuard extends ABSGuard {
     public boolean await(COG cog, Task<?> task) {
         boolean isTrue = isTrue();
         if (!isTrue && wasPreviouslyTrue) {
-            log.finest(() -> "Condition of " + this + " changed from true to false; telling cog we can't run...");
+            if (Logging.FINEST) log.finest(() -> "Condition of " + this + " changed from true to false; telling cog we can't run...");
             cog.notifyAwait(task);
         } else if (isTrue && !wasPreviouslyTrue) {
-            log.finest(() -> "Condition of " + this + " changed from false to true; telling cog we can run...");
+            if (Logging.FINEST) log.finest(() -> "Condition of " + this + " changed from false to true; telling cog we can run...");
             cog.notifyWakeup(task);
         }
         wasPreviouslyTrue = isTrue;
@@ -7,6 +7,8 @@ package org.abs_models.backend.java.lib.runtime;
 import org.abs_models.backend.java.lib.types.ABSBuiltInDataType;
 import org.abs_models.backend.java.observing.FutObserver;
 import org.abs_models.backend.java.observing.FutView;
+import org.abs_models.backend.java.observing.ObserverEvent;
+import org.abs_models.backend.java.observing.ObserverList;
 import org.abs_models.backend.java.observing.TaskView;
 import org.abs_models.backend.java.scheduling.GuardWaiter;
 
@@ -124,23 +126,23 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
     }
 
     public synchronized void awaitForModelApi() {
-        log.finest(() -> this + " awaiting for Model API");
+        if (Logging.FINEST) log.finest(() -> this + " awaiting for Model API");
 
         while (!isDone) {
             try {
                 this.wait();
             } catch (InterruptedException e) {
-                log.finest(() -> this + " was interruped during await");
+                if (Logging.FINEST) log.finest(() -> this + " was interruped during await");
                 Thread.currentThread().interrupt();
                 break;
             }
         }
 
-        log.finest(() -> this + " ready for Model API");
+        if (Logging.FINEST) log.finest(() -> this + " ready for Model API");
     }
 
     public synchronized void await(COG cog, Task<?> task) {
-        log.fine(() -> this + (isDone ? " ready, skipping await" : " awaiting."));
+        if (Logging.FINE) log.fine(() -> this + (isDone ? " ready, skipping await" : " awaiting."));
 
         boolean neededSuspend = !isDone;
 
@@ -148,7 +150,7 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
             if (taskHasWokenUp == null) {
                 taskHasWokenUp = new AtomicBoolean(false);
             }
-            log.finest(() -> this + " notifying COG: will suspend.");
+            if (Logging.FINEST) log.finest(() -> this + " notifying COG: will suspend.");
             cog.notifyAwait(task);
         }
 
@@ -156,14 +158,14 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
             try {
                 this.wait();
             } catch (InterruptedException e) {
-                log.finest(() -> this + " was interruped during await");
+                if (Logging.FINEST) log.finest(() -> this + " was interruped during await");
                 Thread.currentThread().interrupt();
                 break;
             }
         }
 
         if (neededSuspend) {
-            log.finest(() -> this + " notifying COG: became ready.");
+            if (Logging.FINEST) log.finest(() -> this + " notifying COG: became ready.");
             cog.notifyWakeup(task);
             taskHasWokenUp.set(true);
             this.notify();
@@ -188,18 +190,18 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
             isDone = true;
             this.notifyAll();
             if (taskHasWokenUp != null) {
-                log.finest(() -> this + " waiting for at least one awaiting task to wake up");
+                if (Logging.FINEST) log.finest(() -> this + " waiting for at least one awaiting task to wake up");
                 while (!taskHasWokenUp.get()) {
                     try {
                         this.wait();
                     } catch (InterruptedException e1) {
-                        log.finest(() -> this + " was interruped during await");
+                        if (Logging.FINEST) log.finest(() -> this + " was interruped during await");
                         Thread.currentThread().interrupt();
                     }
                 }
             }
         }
-        log.finest(() -> this + (e == null
+        if (Logging.FINEST) log.finest(() -> this + (e == null
             ? (" is resolved to value " + o)
             : (" is resolved to exception " + e)));
         informWaitingThreads();
@@ -220,14 +222,14 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
         synchronized (this) {
             if (waitingThreads == null)
             {
-                log.finest(() -> this + ": no threads waiting for result");
+                if (Logging.FINEST) log.finest(() -> this + ": no threads waiting for result");
                 return;
             }
             copy = new ArrayList<>(waitingThreads);
             waitingThreads.clear();
         }
 
-        log.finest(() -> this + " informing " + copy.size() + " awaiting thread(s)");
+        if (Logging.FINEST) log.finest(() -> this + " informing " + copy.size() + " awaiting thread(s)");
         for (GuardWaiter s : copy) {
             s.checkGuard();
         }
@@ -241,19 +243,19 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
     public boolean addWaitingThread(GuardWaiter thread) {
         // NOTE: this method is not used in the default scheduler.
         if (isDone) {
-            log.finest(() -> this + " is already resolved");
+            if (Logging.FINEST) log.finest(() -> this + " is already resolved");
             return false;
         }
         synchronized(this) {
             if (isDone) {
-                log.finest(() -> this + " is already resolved");
+                if (Logging.FINEST) log.finest(() -> this + " is already resolved");
                 return false;
             }
             if (waitingThreads == null)
                 waitingThreads = new ArrayList<>(1);
             waitingThreads.add(thread);
         }
-        log.finest(() -> "Added guard to queue of " + this);
+        if (Logging.FINEST) log.finest(() -> "Added guard to queue of " + this);
         return true;
     }
 
@@ -277,18 +279,10 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
 
     protected class View implements FutView {
 
-        private List<FutObserver> futObserver;
+        private final ObserverList<FutObserver> futObserver = new ObserverList<>();
 
-        private synchronized List<FutObserver> getObservers() {
-            if (futObserver == null)
-                futObserver = new ArrayList<>(1);
-            return futObserver;
-        }
-
-        synchronized void onResolved(Object v) {
-            for (FutObserver f : getObservers()) {
-                f.onResolved(this, v);
-            }
+        void onResolved(Object v) {
+            futObserver.notify(ObserverEvent.FUTURE_RESOLVED, this, v, null, 0);
         }
 
 
@@ -314,7 +308,7 @@ public abstract class ABSFut<V> extends ABSBuiltInDataType
 
         @Override
         public void registerFutObserver(FutObserver obs) {
-            getObservers().add(obs);
+            futObserver.add(obs);
         }
 
     }
@@ -6,6 +6,7 @@ package org.abs_models.backend.java.lib.runtime;
 
 import java.util.logging.Logger;
 
+import org.abs_models.backend.java.lib.expr.RatOps;
 import org.apfloat.Aprational;
 
 /**
@@ -47,7 +48,7 @@ public class ABSResourceGuard extends ABSGuard {
      * Return the remaining amount of resources needed.
      */
     public Aprational getResourcesNeeded() {
-        return resources_needed.subtract(resources_consumed);
+        return RatOps.subtract(resources_needed, resources_consumed);
     }
 
     /**
@@ -58,15 +59,15 @@ public class ABSResourceGuard extends ABSGuard {
      * @return true if enough resources have been consumed, false otherwise.
      */
     public boolean consumeResources(Aprational amount) {
-        resources_consumed = resources_consumed.add(amount);
-        log.finest(() -> "Got " + resources_consumed + " of wanted " + resources_needed + " resources");
+        resources_consumed = RatOps.add(resources_consumed, amount);
+        if (Logging.FINEST) log.finest(() -> "Got " + resources_consumed + " of wanted " + resources_needed + " resources");
         return isTrue();
     }
 
     @Override
     public boolean isTrue() {
         // return true also if we consumed more resources than needed
-        return resources_needed.compareTo(resources_consumed) <= 0;
+        return RatOps.compare(resources_needed, resources_consumed) <= 0;
     }
 
     @Override
@@ -86,12 +87,12 @@ public class ABSResourceGuard extends ABSGuard {
      */
     @Override
     public synchronized boolean await(COG cog, Task<?> task) {
-        log.finest(() -> "Consuming " + resources_needed + " resources ");
+        if (Logging.FINEST) log.finest(() -> "Consuming " + resources_needed + " resources ");
 
         boolean mustSuspend = !isTrue();
 
         if (mustSuspend) {
-            log.finest(() -> "Waiting for resources from " + cog.getDC());
+            if (Logging.FINEST) log.finest(() -> "Waiting for resources from " + cog.getDC());
             // Update ABSRuntime state *before* notifying our own cog to avoid
             // a small race conditon where the runtime might decide everyone's
             // idle.
@@ -103,7 +104,7 @@ public class ABSResourceGuard extends ABSGuard {
                 this.wait();
             } catch (InterruptedException e) {
                 // This code copied over from ABSFut#await
-                log.finest(() -> this + " was interruped during await");
+                if (Logging.FINEST) log.finest(() -> this + " was interruped during await");
                 Thread.currentThread().interrupt();
                 break;
             }
@@ -16,7 +16,6 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,10 +23,13 @@ import java.util.PriorityQueue;
 import java.util.Properties;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.abs_models.backend.java.lib.expr.RatOps;
 import org.abs_models.backend.java.lib.types.ABSInterface;
 import org.abs_models.backend.java.lib.types.ABSRef;
+import org.abs_models.backend.java.observing.AsyncObserverDispatcher;
 import org.abs_models.backend.java.observing.SystemObserver;
 import org.abs_models.backend.java.scheduling.DefaultTaskScheduler;
 import org.abs_models.backend.java.scheduling.GlobalScheduler;
@@ -43,7 +45,6 @@ import org.abs_models.backend.java.scheduling.TotalSchedulingStrategy;
 import org.abs_models.backend.java.scheduling.UsesRandomSeed;
 import org.apfloat.Apint;
 import org.apfloat.Aprational;
-import org.apfloat.AprationalMath;
 
 /**
  * The singleton runtime class.
@@ -105,7 +106,7 @@ public class ABSRuntime {
      * NOTE: Protect all access to this field with {@code synchronized(duration_guards)}.
      */
     private final PriorityQueue<ABSDurationGuard> duration_guards
-        = new PriorityQueue<>(Comparator.comparing(ABSDurationGuard::getMinTime));
+        = new PriorityQueue<>((g1, g2) -> RatOps.compare(g1.getMinTime(), g2.getMinTime()));
 
     /**
      * All deployment components in the system.  Upon time advance, we need to
@@ -175,7 +176,7 @@ public class ABSRuntime {
             // Note that here, the DC of `cog` is still null; we set up the
             // global DC from the generated code--its constructor needs to run
             // inside an ABS task since it calls `getCurrentCog()`.
-            log.fine("Starting Main block.");
+            if (Logging.FINE) log.fine("Starting Main block.");
             asyncCall(new ABSMainCall(mainObject));
             doNextStep();
         } catch (SecurityException | NoSuchMethodException | IllegalArgumentException | InvocationTargetException e) {
@@ -220,6 +221,8 @@ public class ABSRuntime {
     }
 
     private final List<SystemObserver> systemObserver = new ArrayList<>();
+    /** Delivers observer events asynchronously, or {@code null} for synchronous delivery. */
+    private volatile AsyncObserverDispatcher observerDispatcher = null;
 
     private GlobalSchedulingStrategy globalSchedulingStrategy;
     private GlobalScheduler globalScheduler;
@@ -257,10 +260,35 @@ public class ABSRuntime {
         return runtimeSingleton;
     }
 
+    /**
+     * The class loader used to load the classes of the running model.
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
     public void addSystemObserver(SystemObserver t) {
         this.systemObserver.add(t);
     }
 
+    /**
+     * Deliver task, future, object creation and scheduler events to
+     * observers on a separate thread instead of the thread of the
+     * reporting ABS task.  System observers are always called
+     * synchronously, since they typically register further observers.
+     *
+     * @param bufferSize the number of events that can be pending
+     */
+    public void enableAsyncObserverDispatch(int bufferSize) {
+        if (observerDispatcher == null) {
+            observerDispatcher = new AsyncObserverDispatcher(bufferSize);
+        }
+    }
+
+    public AsyncObserverDispatcher getObserverDispatcher() {
+        return observerDispatcher;
+    }
+
     public synchronized long getRandomSeed() {
         return randomSeed;
     }
@@ -453,7 +481,7 @@ public class ABSRuntime {
     public <T extends ABSRef> ABSFut<?> asyncCall(AsyncCall<T> call) {
         Task<T> task = new Task<>(call);
         task.schedule();
-        log.fine(() -> "Asynccall " + call.methodName() + " from " + call.getSource() + " to " + call.getTarget() + " (" + task + ")");
+        if (Logging.FINE) Logging.event(log, Level.FINE, "asynccall", "method", call.methodName(), "source", call.getSource(), "target", call.getTarget(), "task", task);
         return task.getFut();
     }
 
@@ -471,6 +499,10 @@ public class ABSRuntime {
     }
 
     public void systemFinished() {
+        AsyncObserverDispatcher dispatcher = observerDispatcher;
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
         for (SystemObserver obs : systemObserver) {
             obs.systemFinished();
         }
@@ -676,7 +708,7 @@ public class ABSRuntime {
      */
     public Long addToClockLimit(Long amount) {
         if (clockLimit == null) return null;
-        log.finest(() -> "Adding to clock limit: " + amount);
+        if (Logging.FINEST) log.finest(() -> "Adding to clock limit: " + amount);
         synchronized(this) {
             // Note: we can do exact comparison here, since the clock
             // will always jump to the nearest integer since
@@ -684,7 +716,7 @@ public class ABSRuntime {
             boolean wasAtLimit = clock.compareTo(clockLimit) == 0;
             clockLimit = clockLimit.add(new Apint(amount));
             if (wasAtLimit && nActiveCogs == 0) {
-                log.finest(() -> "Clock limit increased and no active cogs, trying to advance clock.");
+                if (Logging.FINEST) log.finest(() -> "Clock limit increased and no active cogs, trying to advance clock.");
                 maybeAdvanceClock();
             }
         }
@@ -703,11 +735,11 @@ public class ABSRuntime {
      */
     protected synchronized int handResourcesToWaitingGuards() {
         if (resource_guards.isEmpty()) {
-            log.finest("No tasks waiting for resources");
+            if (Logging.FINEST) log.finest("No tasks waiting for resources");
             return 0;
         }
         int guardsWoken = 0;
-        log.finest("Handing out resources to waiting tasks");
+        if (Logging.FINEST) log.finest("Handing out resources to waiting tasks");
         var iterator = resource_guards.entrySet().iterator();
         while (iterator.hasNext()) {
             // we iterate through (dc, guards), so this loop is executed once
@@ -716,7 +748,7 @@ public class ABSRuntime {
             Map.Entry<ABSInterface, List<ABSResourceGuard>> entry = iterator.next();
             var dc = new ABSDCMirror(entry.getKey());
             var guards = entry.getValue();
-            log.finest(() -> "Processing " + dc.getWrappedDC() + " with " + guards.size() + " waiting guards");
+            if (Logging.FINEST) log.finest(() -> "Processing " + dc.getWrappedDC() + " with " + guards.size() + " waiting guards");
             guard_loop:
             while (!guards.isEmpty()) {
                 ABSResourceGuard guard = guards.get(0);
@@ -728,7 +760,7 @@ public class ABSRuntime {
                     break guard_loop;
                 }
                 guard.consumeResources(consumed);
-                log.finest(() -> guard + " consumed " + consumed + " of " + needed + " resources from DC " + dc.getWrappedDC() + "; guard is finished: " + guard.isTrue());
+                if (Logging.FINEST) log.finest(() -> guard + " consumed " + consumed + " of " + needed + " resources from DC " + dc.getWrappedDC() + "; guard is finished: " + guard.isTrue());
                 if (guard.isTrue()) {
                     guards.remove(0);
                     synchronized(guard) {
@@ -744,7 +776,7 @@ public class ABSRuntime {
                 }
             }
             if (guards.isEmpty()) {
-                log.finest(() -> dc.getWrappedDC() + " has no more guards waiting; removing from to-do list");
+                if (Logging.FINEST) log.finest(() -> dc.getWrappedDC() + " has no more guards waiting; removing from to-do list");
                 iterator.remove();
             }
         }
@@ -767,38 +799,38 @@ public class ABSRuntime {
         // occurs (and hence, a resource guard might receive enough resources
         // to unblock), whichever comes earlier.
         if (nWakingCogs > 0) {
-            log.finest(() -> "Not advancing clock before " + nWakingCogs + " more cogs have woken up");
+            if (Logging.FINEST) log.finest(() -> "Not advancing clock before " + nWakingCogs + " more cogs have woken up");
             return;
         }
         if (duration_guards.isEmpty() && resource_guards.isEmpty()) {
-            log.finest("Trying to advance the clock but no task is waiting for a duration or resource, exiting");
+            if (Logging.FINEST) log.finest("Trying to advance the clock but no task is waiting for a duration or resource, exiting");
             return;
         }
-        log.finest(() -> "Starting resource allocation and clock advance: clock = "
+        if (Logging.FINEST) log.finest(() -> "Starting resource allocation and clock advance: clock = "
                          + clock + ", clockLimit = " + (clockLimit == null ? "none" : clockLimit)
                          + ", durationGuards: " + duration_guards.size()
                          + ", resourceGuards: " + resource_guards.size());
         int guardsWoken = handResourcesToWaitingGuards();
-        while (guardsWoken == 0 && (clockLimit != null ? clock.compareTo(clockLimit) < 0 : true)) {
+        while (guardsWoken == 0 && (clockLimit != null ? RatOps.compare(clock, clockLimit) < 0 : true)) {
             int durationGuardsWoken = 0;
             int resourceGuardsWoken = 0;
             Aprational next_integer = clock.isInteger()
-                ? clock.add(Aprational.ONE)
+                ? RatOps.add(clock, Aprational.ONE)
                 : clock.ceil();
             if (duration_guards.isEmpty()) {
                 // If no duration guards are waiting, do not consider
                 // `wake_time_for_duration_guards`
                 clock = next_integer;
             } else {
-                clock = AprationalMath.min(wake_time_for_duration_guards, next_integer);
+                clock = RatOps.min(wake_time_for_duration_guards, next_integer);
             }
-            log.fine(() -> "Clock advanced to " + clock);
-            if (clock.compareTo(next_integer) == 0) {
+            if (Logging.FINE) Logging.event(log, Level.FINE, "clockAdvanced", "clock", clock);
+            if (RatOps.compare(clock, next_integer) == 0) {
                 deployment_components.forEach(ABSDCMirror::advanceTimeBy1Tick);
                 resourceGuardsWoken = resourceGuardsWoken + handResourcesToWaitingGuards();
             }
-            log.finest("Checking for threads to wake that are waiting on duration guards");
-            while (!duration_guards.isEmpty() && clock.compareTo(duration_guards.peek().getMinTime()) >= 0) {
+            if (Logging.FINEST) log.finest("Checking for threads to wake that are waiting on duration guards");
+            while (!duration_guards.isEmpty() && RatOps.compare(clock, duration_guards.peek().getMinTime()) >= 0) {
                 ABSDurationGuard guard = duration_guards.remove();
                 synchronized(guard) {
                     guard.notify();
@@ -809,7 +841,7 @@ public class ABSRuntime {
                 wake_time_for_duration_guards =
                     duration_guards.stream()
                     .map(ABSDurationGuard::getMaxTime)
-                    .reduce(duration_guards.peek().getMaxTime(), (t1, t2) -> t1.compareTo(t2) < 0 ? t1 : t2);
+                    .reduce(duration_guards.peek().getMaxTime(), RatOps::min);
             }
             guardsWoken = guardsWoken + resourceGuardsWoken + durationGuardsWoken;
         }
@@ -823,7 +855,7 @@ public class ABSRuntime {
      */
     public void addDurationGuard (ABSDurationGuard guard) {
         Aprational guard_max_time = guard.getMaxTime();
-        if (guard_max_time.compareTo(clock) <= 0) {
+        if (RatOps.compare(guard_max_time, clock) <= 0) {
             // Can't happen: this is called from DurationGuards after checking
             // for current time, and time is advanced only when all cogs are
             // idle.
@@ -833,7 +865,7 @@ public class ABSRuntime {
             if (duration_guards.isEmpty()) {
                 wake_time_for_duration_guards = guard_max_time;
             } else {
-                wake_time_for_duration_guards = guard_max_time.compareTo(wake_time_for_duration_guards) < 0 ? guard_max_time : wake_time_for_duration_guards;
+                wake_time_for_duration_guards = RatOps.min(guard_max_time, wake_time_for_duration_guards);
             }
             duration_guards.add(guard);
         }
@@ -859,7 +891,7 @@ public class ABSRuntime {
             // clock advance.
             nWakingCogs = Math.max(0, nWakingCogs - 1);
         }
-        log.finest(() -> "Cog became active, now " + nActiveCogs + " active cogs.");
+        if (Logging.FINEST) log.finest(() -> "Cog became active, now " + nActiveCogs + " active cogs.");
     }
 
     public void notifyCogInactive() {
@@ -867,14 +899,14 @@ public class ABSRuntime {
             nActiveCogs--;
         }
         if (nActiveCogs == 0) {
-            log.finest(() -> "Cog became inactive, no active cogs left.");
+            if (Logging.FINEST) log.finest(() -> "Cog became inactive, no active cogs left.");
             if (nWakingCogs > 0) {
-                log.finest(() -> "Waiting for " + nWakingCogs + " more cogs to wake before trying clock advance.");
+                if (Logging.FINEST) log.finest(() -> "Waiting for " + nWakingCogs + " more cogs to wake before trying clock advance.");
             } else {
                 maybeAdvanceClock();
             }
         } else if (nActiveCogs > 0) {
-            log.finest(() -> "Cog became inactive, now " + nActiveCogs + " active cogs.");
+            if (Logging.FINEST) log.finest(() -> "Cog became inactive, now " + nActiveCogs + " active cogs.");
         } else {
             log.severe(() -> "Count of active cogs became negative (" + nActiveCogs + "), this should never happen");
         }
@@ -40,13 +40,13 @@ public class ABSTaskFut<V> extends ABSFut<V> {
         }
 
         await(ABSThread.getCurrentCOG(), ABSThread.getCurrentTask());
-        log.finest(() -> "future " + this + " awaited");
+        if (Logging.FINEST) log.finest(() -> "future " + this + " awaited");
 
         if (t != null) {
             t.futureReady(this);
         }
 
-        log.finest(() -> this + " continue after get");
+        if (Logging.FINEST) log.finest(() -> this + " continue after get");
 
         if (exception != null)
             throw exception;
@@ -4,6 +4,7 @@
  */
 package org.abs_models.backend.java.lib.runtime;
 
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 public abstract class ABSThread implements Runnable {
@@ -48,6 +49,25 @@ public abstract class ABSThread implements Runnable {
         else return cog.getScheduler().getActiveTask();
     }
 
+    /**
+     * Runs {@code body} on the current Java thread as part of {@code
+     * thread}, so that it sees the cog and task of {@code thread}.
+     * Used to evaluate functions in worker threads.
+     */
+    static <T> T runAs(ABSThread thread, Supplier<T> body) {
+        ABSThread saved = currentThread.get();
+        currentThread.set(thread);
+        try {
+            return body.get();
+        } finally {
+            if (saved == null) {
+                currentThread.remove();
+            } else {
+                currentThread.set(saved);
+            }
+        }
+    }
+
     /**
      * This method must be called by subclasses, or subclasses must
      * set the thread-local value by themselves.
@@ -71,7 +91,7 @@ public abstract class ABSThread implements Runnable {
     }
 
     public synchronized void shutdown() {
-        logger.fine("Thread "+Thread.currentThread().threadId()+" received shutdown signal");
+        if (Logging.FINE) logger.fine("Thread "+Thread.currentThread().threadId()+" received shutdown signal");
         shutdown = true;
         Thread.currentThread().interrupt();
     }
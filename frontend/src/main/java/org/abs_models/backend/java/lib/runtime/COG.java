@@ -4,16 +4,17 @@
  */
 package org.abs_models.backend.java.lib.runtime;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.abs_models.backend.java.JavaBackendException;
 import org.abs_models.backend.java.lib.types.ABSInterface;
 import org.abs_models.backend.java.observing.COGView;
 import org.abs_models.backend.java.observing.ObjectCreationObserver;
+import org.abs_models.backend.java.observing.ObserverEvent;
+import org.abs_models.backend.java.observing.ObserverList;
 import org.abs_models.backend.java.observing.TaskSchedulerView;
 import org.abs_models.backend.java.scheduling.TaskScheduler;
 import org.abs_models.backend.java.scheduling.TaskSchedulingStrategy;
@@ -77,12 +78,12 @@ public class COG {
     public void addTask(Task<?> task) {
         synchronized(this) {
             if (activeThreads == 0) {
-                log.finest(() -> this + " notifying runtime that it became active");
+                if (Logging.FINEST) log.finest(() -> this + " notifying runtime that it became active");
                 ABSRuntime.getRuntime().notifyCogActive();
             }
             activeThreads++;
         }
-        log.finest(() -> this + " now has " + activeThreads + " active threads.");
+        if (Logging.FINEST) log.finest(() -> this + " now has " + activeThreads + " active threads.");
         scheduler.addTaskToScheduler(task);
     }
 
@@ -97,15 +98,15 @@ public class COG {
             log.severe(() -> this + " reached negative value for activeThreads (" + activeThreads + "), this should never happen");
             throw new IllegalStateException("activeThreads counter reached negative value; this should never happen");
         } else {
-            log.finest(() -> this + " now has " + activeThreads + " active threads.");
+            if (Logging.FINEST) log.finest(() -> this + " now has " + activeThreads + " active threads.");
         }
         if (activeThreads == 0) {
-            log.finest(() -> this + " notifying runtime that it became inactive -- all tasks suspended");
+            if (Logging.FINEST) log.finest(() -> this + " notifying runtime that it became inactive -- all tasks suspended");
             ABSRuntime.getRuntime().notifyCogInactive();
         } else if (scheduler.getActiveTask() == task) {
             // If we await, the active task is either null or another task; if
             // we block, the active task is the one calling `notifyAwait`.
-            log.finest(() -> this + " notifying runtime that it became inactive -- active task is blocked");
+            if (Logging.FINEST) log.finest(() -> this + " notifying runtime that it became inactive -- active task is blocked");
             ABSRuntime.getRuntime().notifyCogInactive();
         }
     }
@@ -121,11 +122,11 @@ public class COG {
         if (activeThreads == 0 || scheduler.getActiveTask() == task) {
             // If we just woke up but are already the active task, we were the
             // task that blocked.
-            log.finest(() -> this + " notifying runtime that it became active");
+            if (Logging.FINEST) log.finest(() -> this + " notifying runtime that it became active");
             ABSRuntime.getRuntime().notifyCogActive();
         }
         activeThreads++;
-        log.finest(() -> this + " now has " + activeThreads + " active threads.");
+        if (Logging.FINEST) log.finest(() -> this + " now has " + activeThreads + " active threads.");
     }
 
     public synchronized void notifyEnded() {
@@ -134,10 +135,10 @@ public class COG {
             log.severe(() -> this + " reached negative value for activeThreads (" + activeThreads + "), this should never happen");
             throw new IllegalStateException("activeThreads counter reached negative value; this should never happen");
         } else {
-            log.finest(() -> this + " now has " + activeThreads + " active threads.");
+            if (Logging.FINEST) log.finest(() -> this + " now has " + activeThreads + " active threads.");
         }
         if (activeThreads == 0) {
-            log.finest(() -> this + " notifying runtime that it became inactive -- last task finished");
+            if (Logging.FINEST) log.finest(() -> this + " notifying runtime that it became inactive -- last task finished");
             ABSRuntime.getRuntime().notifyCogInactive();
         }
     }
@@ -151,13 +152,13 @@ public class COG {
     }
 
     public void objectCreated(ABSObject absObject) {
-        log.fine(() -> "Object created: " + absObject);
+        if (Logging.FINE) Logging.event(log, Level.FINE, "objectCreated", "object", absObject, "cog", getID());
         if (view != null)
             view.objectCreated(absObject);
     }
 
     public void objectInitialized(ABSObject absObject) {
-        log.finer(() -> "Object initialized: " + absObject);
+        if (Logging.FINER) log.finer(() -> "Object initialized: " + absObject);
         if (view != null)
             view.objectInitialized(absObject);
     }
@@ -176,58 +177,39 @@ public class COG {
     }
 
     private class View implements COGView {
-        private List<ObjectCreationObserver> creationListeners;
-        private Map<String, List<ObjectCreationObserver>> creationClassListeners;
-
-        synchronized void notifyListeners(ABSObject absObject, boolean created) {
-            if (creationListeners != null) {
-                for (ObjectCreationObserver l : creationListeners) {
-                    if (created)
-                        l.objectCreated(absObject.getView());
-                    else
-                        l.objectInitialized(absObject.getView());
-                }
+        private final ObserverList<ObjectCreationObserver> creationListeners = new ObserverList<>();
+        private final Map<String, ObserverList<ObjectCreationObserver>> creationClassListeners = new ConcurrentHashMap<>();
+
+        void notifyListeners(ABSObject absObject, ObserverEvent event) {
+            if (creationListeners.isObserved(event)) {
+                creationListeners.notify(event, absObject.getView(), null, null, 0);
             }
 
-            if (creationClassListeners != null) {
-                List<ObjectCreationObserver> list = creationClassListeners.get(absObject.getClassName());
-                if (list != null) {
-                    for (ObjectCreationObserver l : list) {
-                        if (created)
-                            l.objectCreated(absObject.getView());
-                        else
-                            l.objectInitialized(absObject.getView());
-                    }
+            if (!creationClassListeners.isEmpty()) {
+                ObserverList<ObjectCreationObserver> list = creationClassListeners.get(absObject.getClassName());
+                if (list != null && list.isObserved(event)) {
+                    list.notify(event, absObject.getView(), null, null, 0);
                 }
             }
 
         }
 
-        synchronized void objectCreated(ABSObject absObject) {
-            notifyListeners(absObject, true);
+        void objectCreated(ABSObject absObject) {
+            notifyListeners(absObject, ObserverEvent.OBJECT_CREATED);
         }
 
-        synchronized void objectInitialized(ABSObject absObject) {
-            notifyListeners(absObject, false);
+        void objectInitialized(ABSObject absObject) {
+            notifyListeners(absObject, ObserverEvent.OBJECT_INITIALIZED);
         }
 
         @Override
-        public synchronized void registerObjectCreationListener(ObjectCreationObserver listener) {
-            if (creationListeners == null) {
-                creationListeners = new ArrayList<>(1);
-            }
+        public void registerObjectCreationListener(ObjectCreationObserver listener) {
             creationListeners.add(listener);
         }
 
         @Override
-        public synchronized void registerObjectCreationListener(String className, ObjectCreationObserver e) {
-            if (creationClassListeners == null) {
-                creationClassListeners = new HashMap<>();
-            }
-
-            List<ObjectCreationObserver> list
-                = creationClassListeners.computeIfAbsent(className, k -> new ArrayList<>(1));
-            list.add(e);
+        public void registerObjectCreationListener(String className, ObjectCreationObserver e) {
+            creationClassListeners.computeIfAbsent(className, k -> new ObserverList<>()).add(e);
         }
 
         @Override
@@ -249,7 +231,7 @@ public class COG {
 
     public void register(ABSObject absObject) {
         if (ABSDCMirror.CLASS_DC.isInstance(absObject)) {
-            log.finest(() -> "registering fresh DC " + absObject + " with runtime");
+            if (Logging.FINEST) log.finest(() -> "registering fresh DC " + absObject + " with runtime");
             ABSRuntime.getRuntime().registerDC((ABSInterface)absObject);
         }
     }
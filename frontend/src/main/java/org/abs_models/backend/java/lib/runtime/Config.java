@@ -4,11 +4,16 @@
  */
 package org.abs_models.backend.java.lib.runtime;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.logging.Logger;
 
 import org.abs_models.backend.java.debugging.GraphicalDebugger;
+import org.abs_models.backend.java.observing.DefaultSystemObserver;
 import org.abs_models.backend.java.observing.SystemObserver;
+import org.abs_models.backend.java.profiling.SamplingProfiler;
+import org.abs_models.backend.java.tracing.BinaryTraceWriter;
 import org.abs_models.backend.java.scheduling.DefaultTaskScheduler;
 import org.abs_models.backend.java.scheduling.GlobalSchedulingStrategy;
 import org.abs_models.backend.java.scheduling.InteractiveScheduler;
@@ -52,6 +57,10 @@ public class Config {
         setSimpleOptions();
         loadModelApi();
         loadSystemObserver();
+        loadObserverDispatch();
+        loadEventLog();
+        loadTraceWriter();
+        loadProfiler();
         loadTotalSchedulingStrategy();
         loadTaskSchedulingStrategy();
         loadGlobalSchedulingStrategy();
@@ -81,6 +90,53 @@ public class Config {
         }
     }
 
+    private void loadObserverDispatch() {
+        if (options.asyncObservers.isTrue()) {
+            if (options.debug.isTrue() || options.graphicalDebug.isTrue()) {
+                // the debugger relies on blocking the task it observes
+                logger.warning("Ignoring --async-observers since debugging is enabled");
+            } else {
+                runtime.enableAsyncObserverDispatch(options.observerBufferSize.longValue().intValue());
+            }
+        }
+    }
+
+    private void loadEventLog() {
+        if (options.loggedClasses.wasSet()) {
+            Logging.setLoggedClasses(options.loggedClasses.stringArrayValue());
+        }
+        if (options.eventLog.wasSet()) {
+            try {
+                Logging.enableEventLog(new File(options.eventLog.stringValue()));
+                runtime.addSystemObserver(new DefaultSystemObserver() {
+                    @Override
+                    public void systemFinished() {
+                        Logging.flush();
+                    }
+                });
+            } catch (IOException e) {
+                logger.warning("Could not open event log " + options.eventLog.stringValue() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void loadTraceWriter() {
+        if (options.trace.wasSet()) {
+            try {
+                runtime.addSystemObserver(new BinaryTraceWriter(new File(options.trace.stringValue())));
+            } catch (IOException e) {
+                logger.warning("Could not open trace file " + options.trace.stringValue() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void loadProfiler() {
+        if (options.profile.wasSet()) {
+            runtime.addSystemObserver(new SamplingProfiler(runtime, new File(options.profile.stringValue()),
+                                                           options.profileInterval.longValue()));
+        }
+    }
+
     private void setSimpleOptions() {
         runtime.enableDebugging(options.debug.isTrue());
         runtime.terminateOnException(options.terminateOnException.isTrue());
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.abs_models.backend.java.lib.expr.BinOp;
+
+/**
+ * A bounded cache of function results, used for functions annotated
+ * with {@code [Memoize]}.
+ *
+ * The generated {@code apply} method of such a function looks up its
+ * arguments via {@link #lookup} and stores computed results via
+ * {@link #store}.  Arguments are compared with ABS equality and hashed
+ * with {@link BinOp#hash}, so equal datatype values share an entry
+ * even if they are different Java objects.  When the cache is full, it
+ * evicts either the least recently used or the oldest entry.
+ *
+ * The cache is split into stripes, each with its own lock, so that
+ * cogs running in parallel rarely contend.  Results are computed
+ * outside of the locks; since functions are pure, two cogs computing
+ * the same result at the same time is harmless.  Eviction happens per
+ * stripe, so it is approximate for large caches.
+ *
+ * All caches register themselves for {@link #statistics}.
+ */
+public final class FunctionCache {
+
+    /** Returned by {@link #lookup} if there is no cached result. */
+    public static final Object MISSING = new Object();
+
+    private static final List<FunctionCache> caches = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final Stripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final class Stripe extends LinkedHashMap<Key, Object> {
+        private final int capacity;
+
+        Stripe(int capacity, boolean leastRecentlyUsed) {
+            super(16, 0.75f, leastRecentlyUsed);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The arguments of a call.  Datatype values have their hash code
+     * computed already, so the hash of a key takes time linear in the
+     * number of arguments.
+     */
+    private static final class Key {
+        private final Object[] args;
+        private final int hash;
+
+        Key(Object[] args) {
+            this.args = args;
+            int h = 0;
+            for (Object arg : args) {
+                h = BinOp.hash(h, arg);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other) || other.hash != hash) return false;
+            for (int i = 0; i < args.length; i++) {
+                if (!BinOp.eq(args[i], other.args[i])) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Creates a cache and registers it for {@link #statistics}.
+     *
+     * @param name the qualified name of the function
+     * @param maxSize the maximum number of cached results
+     * @param leastRecentlyUsed whether to evict the least recently used
+     *  result instead of the oldest one
+     */
+    public FunctionCache(String name, int maxSize, boolean leastRecentlyUsed) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size of " + name + " must be positive");
+        }
+        this.name = name;
+        // about 64 entries per stripe, at most 16 stripes
+        int nStripes = Integer.highestOneBit(Math.max(1, Math.min(16, maxSize / 64)));
+        stripes = new Stripe[nStripes];
+        for (int i = 0; i < nStripes; i++) {
+            stripes[i] = new Stripe((maxSize + nStripes - 1) / nStripes, leastRecentlyUsed);
+        }
+        caches.add(this);
+    }
+
+    private Stripe stripe(Key key) {
+        return stripes[BinOp.mix(key.hash) & (stripes.length - 1)];
+    }
+
+    /**
+     * Returns the cached result for the given arguments, or {@link
+     * #MISSING}.
+     */
+    public Object lookup(Object... args) {
+        Key key = new Key(args);
+        Stripe stripe = stripe(key);
+        Object result;
+        synchronized (stripe) {
+            result = stripe.getOrDefault(key, MISSING);
+        }
+        if (result == MISSING) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result for the given arguments and returns it.
+     */
+    public <R> R store(R result, Object... args) {
+        Key key = new Key(args);
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, result);
+        }
+        return result;
+    }
+
+    private int size() {
+        int result = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                result += stripe.size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the hits, misses, evictions and current size of all
+     * caches, keyed by function name.
+     */
+    public static Map<String, Map<String, Long>> statistics() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (FunctionCache cache : caches) {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("hits", cache.hits.sum());
+            counters.put("misses", cache.misses.sum());
+            counters.put("evictions", cache.evictions.sum());
+            counters.put("size", (long)cache.size());
+            result.put(cache.name, counters);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.abs_models.backend.java.JavaBackend;
+
+/**
+ * A log handler that writes one JSON object per log record to a file.
+ *
+ * Records are serialized on the logging thread, so that the argument
+ * objects need not be thread-safe, then handed to a background thread
+ * that writes them to disk.  If the writer falls behind by more than
+ * {@link #QUEUE_CAPACITY} records, logging threads block.
+ *
+ * Each line has the fields {@code time}, {@code level}, {@code logger},
+ * {@code thread} and either {@code message} or, for records created
+ * via {@link Logging#event}, {@code event} plus the event's fields.
+ */
+public class JsonLinesLogHandler extends Handler {
+
+    static final int QUEUE_CAPACITY = 16384;
+
+    /** Marks the end of the queue. */
+    private static final String EOF = new String("EOF");
+
+    private final JsonFactory factory = new JsonFactory();
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Writer out;
+    private final Thread writerThread;
+    /** Number of records put into the queue. */
+    private final AtomicLong published = new AtomicLong();
+    /** Number of records handed to {@link #out}; written by the writer thread only. */
+    private volatile long written = 0;
+    private volatile boolean closed = false;
+
+    public JsonLinesLogHandler(File file) throws IOException {
+        out = Files.newBufferedWriter(file.toPath(), JavaBackend.CHARSET);
+        writerThread = new Thread(this::writeLoop, "ABS Event Log Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        try {
+            queue.put(toJson(record));
+            published.incrementAndGet();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    String toJson(LogRecord record) throws IOException {
+        StringWriter result = new StringWriter(128);
+        try (JsonGenerator g = factory.createGenerator(result)) {
+            g.writeStartObject();
+            g.writeStringField("time", Instant.ofEpochMilli(record.getMillis()).toString());
+            g.writeStringField("level", record.getLevel().getName());
+            g.writeStringField("logger", record.getLoggerName());
+            g.writeNumberField("thread", record.getLongThreadID());
+            if (record instanceof Logging.EventRecord event) {
+                g.writeStringField("event", event.getEventName());
+                Object[] fields = event.fields;
+                for (int i = 0; i + 1 < fields.length; i += 2) {
+                    g.writeFieldName(String.valueOf(fields[i]));
+                    writeValue(g, fields[i + 1]);
+                }
+            } else {
+                g.writeStringField("message", record.getMessage());
+            }
+            if (record.getThrown() != null) {
+                g.writeStringField("thrown", record.getThrown().toString());
+            }
+            g.writeEndObject();
+        }
+        return result.toString();
+    }
+
+    private static void writeValue(JsonGenerator g, Object value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else if (value instanceof Integer i) {
+            g.writeNumber(i);
+        } else if (value instanceof Long l) {
+            g.writeNumber(l);
+        } else if (value instanceof Double d) {
+            g.writeNumber(d);
+        } else if (value instanceof Boolean b) {
+            g.writeBoolean(b);
+        } else {
+            g.writeString(value.toString());
+        }
+    }
+
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (String line : batch) {
+                    if (line == EOF) {
+                        out.flush();
+                        return;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                }
+                written += batch.size();
+                batch.clear();
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        } catch (InterruptedException e) {
+            // terminate
+        }
+    }
+
+    /**
+     * Waits until all records published so far are written.
+     */
+    @Override
+    public void flush() {
+        long target = published.get();
+        while (written < target && writerThread.isAlive()) {
+            LockSupport.parkNanos(100_000);
+        }
+        synchronized (this) {
+            if (!closed) {
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    reportError(null, e, ErrorManager.FLUSH_FAILURE);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(EOF);
+            writerThread.join();
+            out.close();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
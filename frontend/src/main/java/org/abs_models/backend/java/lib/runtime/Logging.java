@@ -4,33 +4,172 @@
  */
 package org.abs_models.backend.java.lib.runtime;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
 import java.util.logging.ConsoleHandler;
+import java.util.logging.Filter;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
+/**
+ * Logging for the Java runtime.
+ *
+ * All runtime loggers share one handler, installed on a common parent
+ * logger.  By default it prints text to the console; with {@link
+ * #enableEventLog} it writes JSON lines to a file instead.
+ *
+ * Log statements on hot paths should be guarded by the constants
+ * {@link #FINEST} etc., e.g., {@code if (Logging.FINEST)
+ * log.finest(...)}.  These are fixed when this class is initialized,
+ * from the system property {@value #LOGLEVEL_PROPERTY}, so the JIT
+ * removes disabled log statements entirely.
+ *
+ * With {@link #setLoggedClasses}, only the output of the loggers of
+ * the given classes is kept.
+ */
 public class Logging {
+
+    public static final String LOGLEVEL_PROPERTY = "abs.loglevel";
+
     // Default log level is WARNING
-    public static Level LOGLEVEL = Level.parse(System.getProperty("abs.loglevel", "warning").toUpperCase());
+    public static Level LOGLEVEL = Level.parse(System.getProperty(LOGLEVEL_PROPERTY, "warning").toUpperCase());
+
+    private static final int INITIAL_LEVEL = LOGLEVEL.intValue();
+    public static final boolean INFO = INITIAL_LEVEL <= Level.INFO.intValue();
+    public static final boolean CONFIG = INITIAL_LEVEL <= Level.CONFIG.intValue();
+    public static final boolean FINE = INITIAL_LEVEL <= Level.FINE.intValue();
+    public static final boolean FINER = INITIAL_LEVEL <= Level.FINER.intValue();
+    public static final boolean FINEST = INITIAL_LEVEL <= Level.FINEST.intValue();
+
+    private static final String PARENT_LOGGER_NAME = "org.abs_models.backend.java";
+    /** Common parent of the runtime loggers; we keep a reference so its configuration is not lost. */
+    private static final Logger PARENT = Logger.getLogger(PARENT_LOGGER_NAME);
+    private static Handler handler;
+    /** Filter of the loggers to print, or null for all. */
+    private static Filter filter = null;
+
+    static {
+        handler = new ConsoleHandler();
+        handler.setFormatter(new MyFormatter());
+        handler.setLevel(LOGLEVEL);
+        PARENT.setUseParentHandlers(false);
+        PARENT.addHandler(handler);
+        PARENT.setLevel(LOGLEVEL);
+    }
 
-    public static void setLogLevel(String levelName) {
+    /**
+     * Set the log level.  Note that this does not change the guard
+     * constants, i.e., it cannot enable levels finer than the one
+     * given at startup via {@value #LOGLEVEL_PROPERTY}.
+     */
+    public static synchronized void setLogLevel(String levelName) {
         LOGLEVEL = Level.parse(levelName.toUpperCase());
+        handler.setLevel(LOGLEVEL);
+        PARENT.setLevel(LOGLEVEL);
+    }
+
+    /**
+     * Restrict log output to the loggers of the given classes, given by
+     * their qualified or simple names; an empty array keeps all output.
+     */
+    public static synchronized void setLoggedClasses(String[] classNames) {
+        filter = classNames.length == 0 ? null : loggerFilter(classNames);
+        handler.setFilter(filter);
+    }
+
+    static Filter loggerFilter(String[] classNames) {
+        Set<String> names = Set.of(classNames);
+        return record -> {
+            String name = record.getLoggerName();
+            return name != null
+                && (names.contains(name) || names.contains(name.substring(name.lastIndexOf('.') + 1)));
+        };
     }
 
     public static Logger getLogger(String name) {
         Logger logger = Logger.getLogger(name);
-        Level level = LOGLEVEL;
-
-        Handler h = new ConsoleHandler();
-        h.setFormatter(new MyFormatter());
-        h.setLevel(level);
-        logger.addHandler(h);
-        logger.setLevel(level);
+        if (!name.startsWith(PARENT_LOGGER_NAME + ".")) {
+            // not below our parent logger: attach the handler directly
+            logger.setUseParentHandlers(false);
+            logger.addHandler(handler);
+            logger.setLevel(LOGLEVEL);
+        }
+        // otherwise, level and handler are inherited from PARENT
         return logger;
     }
 
+    /**
+     * Write all log output as JSON lines to {@code file}, instead of
+     * printing it to the console.  The file is written by a
+     * background thread.
+     */
+    public static synchronized void enableEventLog(File file) throws IOException {
+        Handler jsonHandler = new JsonLinesLogHandler(file);
+        jsonHandler.setLevel(LOGLEVEL);
+        jsonHandler.setFilter(filter);
+        PARENT.removeHandler(handler);
+        PARENT.addHandler(jsonHandler);
+        handler = jsonHandler;
+        Runtime.getRuntime().addShutdownHook(new Thread(jsonHandler::close, "ABS Event Log Closer"));
+    }
+
+    /**
+     * Flush pending log output, e.g., at the end of a simulation.
+     */
+    public static synchronized void flush() {
+        handler.flush();
+    }
+
+    /**
+     * Log a structured event: a name plus key-value pairs, given as
+     * alternating keys and values.  In the event log, each pair
+     * becomes a field of the JSON object.  Keys should not clash with
+     * the standard fields {@code time}, {@code level}, {@code logger}
+     * and {@code thread}.
+     */
+    public static void event(Logger logger, Level level, String name, Object... fields) {
+        if (logger.isLoggable(level)) {
+            EventRecord r = new EventRecord(level, name, fields);
+            r.setLoggerName(logger.getName());
+            StackWalker.getInstance().walk(frames -> frames.skip(1).findFirst()).ifPresent(caller -> {
+                r.setSourceClassName(caller.getClassName());
+                r.setSourceMethodName(caller.getMethodName());
+            });
+            logger.log(r);
+        }
+    }
+
+    /**
+     * A log record of a structured event.
+     */
+    static class EventRecord extends LogRecord {
+        private static final long serialVersionUID = 1L;
+
+        final Object[] fields;
+
+        EventRecord(Level level, String name, Object[] fields) {
+            super(level, name);
+            this.fields = fields;
+        }
+
+        @Override
+        public String getMessage() {
+            StringBuilder result = new StringBuilder(super.getMessage());
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                result.append(' ').append(fields[i]).append('=').append(fields[i + 1]);
+            }
+            return result.toString();
+        }
+
+        String getEventName() {
+            return super.getMessage();
+        }
+    }
+
     static class MyFormatter extends Formatter {
 
         @Override
@@ -9,6 +9,7 @@ import java.net.FileNameMap;
 import java.net.InetSocketAddress;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -23,8 +24,9 @@ import javax.annotation.Nonnull;
 
 import org.abs_models.backend.java.lib.expr.BinOp;
 import org.abs_models.backend.java.lib.types.ABSAlgebraicDataType;
+import org.abs_models.backend.java.lib.types.ABSList;
+import org.abs_models.backend.java.lib.types.ABSMap;
 import org.abs_models.backend.java.lib.types.ABSUnit;
-import org.abs_models.backend.java.lib.types.ABSValue;
 import org.apfloat.Apint;
 import org.apfloat.Aprational;
 
@@ -45,19 +47,11 @@ public class ModelApi {
     // Constructors for classes that are generated by compiling the
     // ABS standard library.  They will be available when starting a
     // model, but do not exist when we compile this file.
-    private static final Constructor<?> makeNil;
-    private static final Constructor<?> makeCons;
-    private static final Constructor<?> makeEmptyMap;
-    private static final Constructor<?> makeInsertAssoc;
     private static final Constructor<?> makePair;
     static {
         try {
-            makeCons = Class.forName("ABS.StdLib.List_Cons").getDeclaredConstructors()[0];
-            makeNil = Class.forName("ABS.StdLib.List_Nil").getDeclaredConstructors()[0];
-            makeInsertAssoc = Class.forName("ABS.StdLib.Map_InsertAssoc").getDeclaredConstructors()[0];
-            makeEmptyMap = Class.forName("ABS.StdLib.Map_EmptyMap").getDeclaredConstructors()[0];
-            makePair = Class.forName("ABS.StdLib.Pair_Pair").getDeclaredConstructors()[0];
-        } catch (ClassNotFoundException e) {
+            makePair = Class.forName("ABS.StdLib.Pair_Pair").getDeclaredConstructor(Object.class, Object.class);
+        } catch (ReflectiveOperationException e) {
             throw new RuntimeException("Failed to find a class from the ABS standard library: " + e.getMessage(), e);
         }
     }
@@ -105,6 +99,7 @@ public class ModelApi {
         server.createContext("/quit", new ModelApi.QuitHandler());
         server.createContext("/clock", new ModelApi.ClockHandler());
         server.createContext("/dcs", new ModelApi.DCHandler());
+        server.createContext("/metrics", new ModelApi.MetricsHandler());
         // this is a catch-all handler so should be last
         server.createContext("/", new ModelApi.RootHandler());
         server.setExecutor(Executors.newCachedThreadPool(r -> {
@@ -253,6 +248,21 @@ public class ModelApi {
         }
     }
 
+    private static class MetricsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            final List<String> paths = Arrays.stream(exchange.getRequestURI().getPath().split("/"))
+                .filter(p -> !p.isEmpty())
+                .collect(Collectors.toList());
+            if (paths.size() == 1 && "metrics".equals(paths.getFirst())) {
+                Map<String, Object> result = Map.of("functions", FunctionCache.statistics());
+                sendResponse(exchange, 200, "text/json", mapper.writeValueAsString(result));
+            } else {
+                send404(exchange);
+            }
+        }
+    }
+
     private static class ObjectHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
@@ -452,24 +462,22 @@ public class ModelApi {
         } else if (type.startsWith("ABS.StdLib.Map") && value instanceof Map<?, ?> m) {
             // always a Map<String,...> -- only extract the value type, key is always String
             String valueType = type.substring(type.indexOf(',') + 1, type.length() - 1);
-            ABSValue result = (ABSValue)makeEmptyMap.newInstance();
+            ABSMap<Object, Object> result = ABSMap.empty();
             if (!m.isEmpty()) {
                 for (Map.Entry<?,?> e : m.entrySet()) {
                     Object k = convertParameter(name, e.getKey(), "ABS.StdLib.String");
                     Object v = convertParameter(name, e.getValue(), valueType);
-                    result = (ABSValue)makeInsertAssoc.newInstance((ABSValue)makePair.newInstance(k, v), result);
+                    result = ABSMap.insertAssoc(makePair.newInstance(k, v), result);
                 }
             }
             return result;
         } else if (type.startsWith("ABS.StdLib.List") && value instanceof List<?> l) {
             String valueType = type.substring(type.indexOf('<') + 1, type.length() - 1);
-            ABSValue result = (ABSValue)makeNil.newInstance();
-            if (!l.isEmpty()) {
-                for (Object item : l.reversed()) {
-                    result = (ABSValue)makeCons.newInstance(convertParameter(name, item, valueType), result);
-                }
+            List<Object> result = new ArrayList<>(l.size());
+            for (Object item : l) {
+                result.add(convertParameter(name, item, valueType));
             }
-            return result;
+            return ABSList.fromIterable(result);
         } else {
             throw new ParameterConversionException(name, value, type);
         }
@@ -555,7 +563,34 @@ public class ModelApi {
         }
     }
 
+    /**
+     * Converts an ABS value into something that can be JSONified by the
+     * Jackson library.  Datatype values convert themselves one level
+     * at a time (see {@link ABSAlgebraicDataType#toJson}); the maps and
+     * lists they return are completed here via a work list instead of
+     * recursion, so that deeply nested values can be converted.
+     */
+    @SuppressWarnings("unchecked")
     public static Object absToJson(Object value) {
+        List<Object> work = new ArrayList<>();
+        Object result = absToJsonStep(value, work);
+        while (!work.isEmpty()) {
+            Object json = work.remove(work.size() - 1);
+            if (json instanceof Map<?, ?> map) {
+                for (Map.Entry<?, Object> entry : ((Map<?, Object>)map).entrySet()) {
+                    entry.setValue(absToJsonStep(entry.getValue(), work));
+                }
+            } else {
+                List<Object> list = (List<Object>)json;
+                for (int i = 0; i < list.size(); i++) {
+                    list.set(i, absToJsonStep(list.get(i), work));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Object absToJsonStep(Object value, List<Object> work) {
         switch (value) {
             case null: return null;
             case ABSObject o: return o.toString();
@@ -567,7 +602,11 @@ public class ModelApi {
             case Aprational r: return r.doubleValue();
             case Double f: return f;
             case ABSAlgebraicDataType d:
-                return d.toJson();
+                Object json = d.toJson();
+                if (json instanceof Map || json instanceof List) {
+                    work.add(json);
+                }
+                return json;
             default:
                 throw new RuntimeException("Trying to serialize a value of type " + value.getClass().getName() + "; this should never happen");
         }
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.runtime;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.abs_models.backend.java.lib.types.ABSList;
+
+/**
+ * The implementation of the standard library functions {@code parMap}
+ * and {@code parReduce}.
+ *
+ * Lists with at least {@link #MIN_PARALLEL_SIZE} elements are copied
+ * into an array that is split into chunks of {@link #CHUNK_SIZE}
+ * elements.  The chunks are processed by tasks of the common fork-join
+ * pool, which run as part of the calling cog so that builtins like
+ * {@code thisDC} work as usual.  {@code parReduce} combines the chunks
+ * along a fixed binary tree, so its result only depends on the length
+ * of the list, not on the number of cores or the scheduling of tasks.
+ *
+ * If the function throws an exception for some elements, the
+ * exception that sequential evaluation would throw is rethrown: for
+ * {@code parMap} the one for the first of these elements, for {@code
+ * parReduce}, which like {@code foldr} starts at the end of the list,
+ * the one for the last.  A failure while combining the results of two
+ * chunks counts as a failure for the elements of these chunks.
+ * Shorter lists, and all lists while the debugger is enabled, are
+ * processed sequentially.
+ */
+public final class ParallelLists {
+
+    /** Shorter lists are processed sequentially. */
+    static final int MIN_PARALLEL_SIZE = 10_000;
+    /** The number of elements processed by one task. */
+    private static final int CHUNK_SIZE = 2_048;
+
+    /** Returned by tasks whose chunks threw an exception. */
+    private static final Object FAILED = new Object();
+
+    private ParallelLists() { }
+
+    private interface Chunk {
+        Object apply(int from, int to);
+    }
+
+    private static final class Task extends RecursiveTask<Object> {
+        private final ABSThread thread;
+        private final Chunk chunk;
+        private final BinaryOperator<Object> combine;
+        /** The exception thrown for each chunk, by index of its first element / CHUNK_SIZE. */
+        private final Throwable[] failures;
+        /** Whether elements are processed from the end of the list. */
+        private final boolean fromEnd;
+        private final int from;
+        private final int to;
+
+        Task(ABSThread thread, Chunk chunk, BinaryOperator<Object> combine, Throwable[] failures,
+             boolean fromEnd, int from, int to) {
+            this.thread = thread;
+            this.chunk = chunk;
+            this.combine = combine;
+            this.failures = failures;
+            this.fromEnd = fromEnd;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Object compute() {
+            int nChunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if (nChunks > 1) {
+                int mid = from + nChunks / 2 * CHUNK_SIZE;
+                Task left = new Task(thread, chunk, combine, failures, fromEnd, from, mid);
+                Task right = new Task(thread, chunk, combine, failures, fromEnd, mid, to);
+                left.fork();
+                Object rightResult = right.compute();
+                Object leftResult = left.join();
+                if (leftResult == FAILED || rightResult == FAILED) return FAILED;
+                return run(() -> combine.apply(leftResult, rightResult));
+            } else {
+                return run(() -> chunk.apply(from, to));
+            }
+        }
+
+        private Object run(Supplier<Object> body) {
+            try {
+                return ABSThread.runAs(thread, body);
+            } catch (RuntimeException | Error e) {
+                // Record the failure for the chunk that sequential
+                // evaluation reaches first.  No other task writes this
+                // slot: tasks that contain a failed chunk return
+                // before combining.
+                failures[(fromEnd ? to - 1 : from) / CHUNK_SIZE] = e;
+                return FAILED;
+            }
+        }
+    }
+
+    private static boolean isParallel(ABSList<?> list) {
+        return list.size() >= MIN_PARALLEL_SIZE && !ABSRuntime.getRuntime().debuggingEnabled();
+    }
+
+    private static Object[] toArray(ABSList<?> list) {
+        Object[] result = new Object[list.size()];
+        int i = 0;
+        for (Object element : list) {
+            result[i++] = element;
+        }
+        return result;
+    }
+
+    private static Object invoke(int size, Chunk chunk, BinaryOperator<Object> combine, boolean fromEnd) {
+        Throwable[] failures = new Throwable[(size + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        Task task = new Task(ABSThread.getCurrentThread(), chunk, combine, failures, fromEnd, 0, size);
+        Object result = ForkJoinPool.commonPool().invoke(task);
+        if (result == FAILED) {
+            for (int i = 0; i < failures.length; i++) {
+                Throwable failure = failures[fromEnd ? failures.length - 1 - i : i];
+                if (failure instanceof RuntimeException e) throw e;
+                if (failure instanceof Error e) throw e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies {@code f} to each element of {@code list}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B> ABSList<B> map(ABSList<A> list, Function<? super A, ? extends B> f) {
+        if (!isParallel(list)) {
+            ABSList<B> result = ABSList.empty();
+            for (A element : list) {
+                result = result.append(f.apply(element));
+            }
+            return result;
+        }
+        Object[] elements = toArray(list);
+        Object[] results = new Object[elements.length];
+        invoke(elements.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                results[i] = f.apply((A)elements[i]);
+            }
+            return null;
+        }, (left, right) -> null, false);
+        return ABSList.of((B[])results);
+    }
+
+    /**
+     * Combines the elements of {@code list} with {@code f}, as {@code
+     * foldr} does.  {@code f} must be associative and have {@code
+     * neutral} as neutral element.
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> A reduce(ABSList<A> list, A neutral, BinaryOperator<A> f) {
+        if (!isParallel(list)) {
+            A result = neutral;
+            for (A element : list.reverse()) {
+                result = f.apply(element, result);
+            }
+            return result;
+        }
+        Object[] elements = toArray(list);
+        return (A)invoke(elements.length, (from, to) -> {
+            A result = neutral;
+            for (int i = to - 1; i >= from; i--) {
+                result = f.apply((A)elements[i], result);
+            }
+            return result;
+        }, (left, right) -> f.apply((A)left, (A)right), true);
+    }
+}
@@ -210,12 +210,24 @@ public class RuntimeOptions {
         addOption(BOOLEAN, "printrandomseed", "--printrandomseed", "prints that used random seed to stdout", false);
     public final Option logLevel =
         addOption(STRING, "loglevel", "--loglevel", "sets the logging level (severe, warning, info, config, fine, finer, finest)", "warning");
+    public final Option eventLog =
+        addOption(STRING, "eventlog", "--eventlog", "writes log output as JSON lines to the given file", null);
     public final Option loggedClasses =
-        addOption(CLASSLIST, "loggedClasses", "--loggedClasses", "comma-separated list of classes to be logged", new String[0]);
+        addOption(CLASSLIST, "loggedClasses", "--loggedClasses", "comma-separated list of classes whose log output is kept (console or event log)", new String[0]);
     public final Option schedulableTasksFilter =
         addOption(CLASS, "schedulableTasksFilter", "--schedulableTasksFilter", "sets a filter class for schedulable tasks", null);
     public final Option dynamicUpdates =
         addOption(BOOLEAN, "dynamic", "--dynamic", "enables dynamic program updates (not supported)", false);
+    public final Option asyncObservers =
+        addOption(BOOLEAN, "asyncobservers", "--async-observers", "delivers events to observers on a separate thread", false);
+    public final Option observerBufferSize =
+        addOption(LONG, "observerbuffer", "--observer-buffer", "sets the number of pending events for --async-observers", 8192L);
+    public final Option trace =
+        addOption(STRING, "trace", "--trace", "records a binary trace of the run to the given file", null);
+    public final Option profile =
+        addOption(STRING, "profile", "--profile", "samples running ABS tasks and writes a collapsed-stack profile to the given file", null);
+    public final Option profileInterval =
+        addOption(LONG, "profileinterval", "--profile-interval", "sets the sampling interval of --profile in milliseconds", 10L);
 
     public RuntimeOptions(String[] args) {
         evaluateSystemProperties();
@@ -16,6 +16,9 @@ public class StartUp {
     public static void startup(String[] args, Class<?> mainClass) throws InstantiationException, IllegalAccessException, IOException, InterruptedException {
         final CountDownLatch latch = new CountDownLatch(1);
         RuntimeOptions options = new RuntimeOptions(args);
+        // Set the property before Logging is initialized, so that its
+        // level guards honor --loglevel
+        System.setProperty(Logging.LOGLEVEL_PROPERTY, options.logLevel.stringValue());
         Logging.setLogLevel(options.logLevel.stringValue());
         final ABSRuntime runtime;
         if (options.useNet.isTrue()) {
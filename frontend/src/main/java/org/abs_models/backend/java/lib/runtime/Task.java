@@ -4,7 +4,6 @@
  */
 package org.abs_models.backend.java.lib.runtime;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.abs_models.backend.java.lib.runtime.TaskStack.Frame;
@@ -13,6 +12,8 @@ import org.abs_models.backend.java.observing.COGView;
 import org.abs_models.backend.java.observing.ClassView;
 import org.abs_models.backend.java.observing.FutView;
 import org.abs_models.backend.java.observing.ObjectView;
+import org.abs_models.backend.java.observing.ObserverEvent;
+import org.abs_models.backend.java.observing.ObserverList;
 import org.abs_models.backend.java.observing.TaskObserver;
 import org.abs_models.backend.java.observing.TaskStackView;
 import org.abs_models.backend.java.observing.TaskView;
@@ -253,7 +254,7 @@ public class Task<T extends ABSRef> implements Runnable {
     }
 
     private class View implements TaskView {
-        private List<TaskObserver> taskListener;
+        private final ObserverList<TaskObserver> taskListener = new ObserverList<>();
 
         @Override
         public TaskView getSenderView() {
@@ -263,39 +264,29 @@ public class Task<T extends ABSRef> implements Runnable {
         }
 
         public void stackFrameRemoved(Frame oldFrame) {
-            for (TaskObserver l : getObservers()) {
-                l.stackFrameRemoved(this, oldFrame);
-            }
+            taskListener.notify(ObserverEvent.STACK_FRAME_REMOVED, this, oldFrame, null, 0);
         }
 
-        public synchronized void localVariableChanged(Frame f,String name, Object v) {
-            for (TaskObserver l : getObservers()) {
-                l.localVariableChanged(f,name, v);
-            }
+        public void localVariableChanged(Frame f,String name, Object v) {
+            taskListener.notify(ObserverEvent.LOCAL_VARIABLE_CHANGED, f, name, v, 0);
         }
 
-        public synchronized void newStackFrameCreated(Frame f) {
-            for (TaskObserver l : getObservers()) {
-                l.stackFrameCreated(this,f);
-            }
+        public void newStackFrameCreated(Frame f) {
+            taskListener.notify(ObserverEvent.STACK_FRAME_CREATED, this, f, null, 0);
         }
 
-        public synchronized void nextStep(String fileName, int line) {
-            for (TaskObserver l : getObservers()) {
-                l.taskStep(this, fileName, line);
-            }
+        public void nextStep(String fileName, int line) {
+            taskListener.notify(ObserverEvent.TASK_STEP, this, fileName, null, line);
         }
 
-        public synchronized void futureReady(ABSFut<?> someFut) {
-            for (TaskObserver l : getObservers()) {
-                l.taskRunningAfterWaiting(this, someFut.getView());
-            }
+        public void futureReady(ABSFut<?> someFut) {
+            if (taskListener.isObserved(ObserverEvent.TASK_RUNNING_AFTER_WAITING))
+                taskListener.notify(ObserverEvent.TASK_RUNNING_AFTER_WAITING, this, someFut.getView(), null, 0);
         }
 
-        public synchronized void calledGetOnFut(ABSFut<?> someFut) {
-            for (TaskObserver l : getObservers()) {
-                l.taskBlockedOnFuture(this, someFut.getView());
-            }
+        public void calledGetOnFut(ABSFut<?> someFut) {
+            if (taskListener.isObserved(ObserverEvent.TASK_BLOCKED_ON_FUTURE))
+                taskListener.notify(ObserverEvent.TASK_BLOCKED_ON_FUTURE, this, someFut.getView(), null, 0);
         }
 
         @Override
@@ -310,22 +301,12 @@ public class Task<T extends ABSRef> implements Runnable {
             return ((ABSObject)call.getTarget()).getView();
         }
 
-        private synchronized List<TaskObserver> getObservers() {
-            if (taskListener == null)
-                taskListener = new ArrayList<>(1);
-            return taskListener;
+        public void taskStarted() {
+            taskListener.notify(ObserverEvent.TASK_STARTED, this, null, null, 0);
         }
 
-        public synchronized void taskStarted() {
-            for (TaskObserver l : getObservers()) {
-                l.taskStarted(this);
-            }
-        }
-
-        public synchronized void taskFinished() {
-            for (TaskObserver l : getObservers()) {
-                l.taskFinished(this);
-            }
+        public void taskFinished() {
+            taskListener.notify(ObserverEvent.TASK_FINISHED, this, null, null, 0);
         }
 
         @Override
@@ -359,8 +340,8 @@ public class Task<T extends ABSRef> implements Runnable {
         }
 
         @Override
-        public synchronized void registerTaskListener(TaskObserver listener) {
-            getObservers().add(listener);
+        public void registerTaskListener(TaskObserver listener) {
+            taskListener.add(listener);
         }
 
         @Override
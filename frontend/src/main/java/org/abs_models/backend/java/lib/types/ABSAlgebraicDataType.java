@@ -4,8 +4,29 @@
  */
 package org.abs_models.backend.java.lib.types;
 
+import java.io.IOException;
+import java.util.List;
+
 public interface ABSAlgebraicDataType extends ABSDataType {
 
+    /**
+     * Converts this value into something that can be JSONified by the
+     * Jackson library.  The result is either a string, or a map or list
+     * whose values can still be ABS values; use {@link
+     * org.abs_models.backend.java.lib.runtime.ModelApi#absToJson} to
+     * convert a value completely.
+     */
     public Object toJson();
 
+    /**
+     * Writes the string representation of this value to {@code out}.
+     * Instead of printing its constructor arguments directly, a value
+     * can push them onto {@code work}, together with the text between
+     * them and last part first; strings on the work stack are printed
+     * verbatim, other values are printed in turn.  This lets {@link
+     * org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions#toString(Appendable, Object)}
+     * print deeply nested values without recursion.
+     */
+    public void appendTo(Appendable out, List<Object> work) throws IOException;
+
 }
@@ -0,0 +1,517 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.abs_models.backend.java.lib.expr.BinOp;
+import org.abs_models.backend.java.lib.expr.IntOps;
+import org.abs_models.backend.java.lib.expr.UnmatchedCaseException;
+import org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions;
+import org.apfloat.Apint;
+
+/**
+ * The Java representation of the ABS standard library type {@code
+ * List<A>}.
+ *
+ * A list is a chain of segments of shared arrays ("chunks").  Each
+ * instance describes its first segment and points to the list of the
+ * remaining elements; the size of the whole list is stored in each
+ * instance.  Deconstructing a list into head and tail, as pattern
+ * matching on {@code Cons} does, takes O(1) time and allocates one
+ * object.
+ *
+ * Chunks are filled from the middle outwards: adding an element in
+ * front of a list ({@code Cons}) or at its end ({@code appendright})
+ * stores it in the free slot next to the segment if no other list has
+ * claimed that slot yet, and starts a new chunk otherwise.  New chunks
+ * grow with the size of the list, so that a list built by adding
+ * elements at one end consists of O(log n) segments.  Random access,
+ * appending and concatenation take time proportional to the number of
+ * segments instead of the number of elements; a chain that grows
+ * longer than {@link #MAX_SEGMENTS} is copied into a single chunk.
+ *
+ * The hash code of a list is the polynomial {@code sum(mix(hash(e_i))
+ * * P^i)} over its elements {@code e_i}; it is kept in each instance
+ * together with {@code P^size}, so that adding and removing elements
+ * at either end and concatenation update it in constant time.
+ *
+ * Generated code matches on lists via {@link #view}, which returns
+ * one of the records {@link Nil} and {@link Cons}.
+ */
+public final class ABSList<A> implements ABSAlgebraicDataType, Iterable<A> {
+
+    public sealed interface View<A> permits Nil, Cons {}
+    public record Nil<A>() implements View<A> {}
+    public record Cons<A>(A arg0, ABSList<A> arg1) implements View<A> {}
+
+    private static final int MIN_CHUNK = 8;
+    private static final int MAX_SEGMENTS = 64;
+    private static final int P = 0x9e3779b1;
+    private static final int P_INVERSE = inverse(P);
+
+    /**
+     * An array shared by several lists.  Slots {@code low} (inclusive)
+     * to {@code high} (exclusive) are in use; a list that ends right at
+     * one of these bounds can claim the adjacent slot by moving the
+     * bound.
+     */
+    private static final class Chunk {
+        final Object[] array;
+        final AtomicInteger low;
+        final AtomicInteger high;
+
+        Chunk(Object[] array, int low, int high) {
+            this.array = array;
+            this.low = new AtomicInteger(low);
+            this.high = new AtomicInteger(high);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final ABSList EMPTY = new ABSList<>(null, 0, 0, null, 0, 0, 0, 1);
+    @SuppressWarnings("rawtypes")
+    private static final Nil NIL_VIEW = new Nil<>();
+
+    private final Chunk chunk;
+    private final int from;
+    private final int to;
+    private final ABSList<A> next;
+    private final int size;
+    private final int segments;
+    private final int hash;
+    /** {@code P^size} */
+    private final int power;
+
+    private ABSList(Chunk chunk, int from, int to, ABSList<A> next, int size, int segments, int hash, int power) {
+        this.chunk = chunk;
+        this.from = from;
+        this.to = to;
+        this.next = next;
+        this.size = size;
+        this.segments = segments;
+        this.hash = hash;
+        this.power = power;
+    }
+
+    /**
+     * A list consisting of the segment of {@code old} followed by
+     * {@code next}.
+     */
+    private ABSList(ABSList<A> old, ABSList<A> next) {
+        this(old.chunk, old.from, old.to, next, old.to - old.from + next.size, 1 + next.segments,
+             old.hash + pow(old.to - old.from) * (next.hash - old.next.hash),
+             pow(old.to - old.from) * next.power);
+    }
+
+    private static int elementHash(Object element) {
+        return BinOp.mix(BinOp.hash(element));
+    }
+
+    /** {@code P^n} */
+    private static int pow(int n) {
+        int result = 1;
+        int base = P;
+        while (n > 0) {
+            if ((n & 1) != 0) result *= base;
+            base *= base;
+            n >>= 1;
+        }
+        return result;
+    }
+
+    /** The multiplicative inverse of the odd number {@code a} modulo 2^32. */
+    private static int inverse(int a) {
+        int x = a;
+        for (int i = 0; i < 4; i++) {
+            x *= 2 - a * x;
+        }
+        return x;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> ABSList<A> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * The list {@code Cons(head, tail)}.
+     */
+    public static <A> ABSList<A> cons(A head, ABSList<A> tail) {
+        if (tail.size > 0 && tail.from > 0 && tail.chunk.low.compareAndSet(tail.from, tail.from - 1)) {
+            tail.chunk.array[tail.from - 1] = head;
+            return new ABSList<>(tail.chunk, tail.from - 1, tail.to, tail.next, tail.size + 1, tail.segments,
+                                 elementHash(head) + P * tail.hash, P * tail.power);
+        }
+        // grow with the list if the chunk is full, but not if another
+        // list has claimed the slot
+        int capacity = tail.size == 0 || tail.from == 0 ? Math.max(MIN_CHUNK, tail.size) : MIN_CHUNK;
+        Object[] array = new Object[capacity];
+        array[capacity - 1] = head;
+        return compacted(new ABSList<>(new Chunk(array, capacity - 1, capacity), capacity - 1, capacity, tail,
+                                       tail.size + 1, tail.segments + 1,
+                                       elementHash(head) + P * tail.hash, P * tail.power));
+    }
+
+    /**
+     * The list of the given elements.
+     */
+    @SafeVarargs
+    public static <A> ABSList<A> of(A... elements) {
+        return fromArray(Arrays.copyOf(elements, elements.length, Object[].class));
+    }
+
+    /**
+     * The list of the elements of the given arrays, in order.
+     * Generated code builds large list literals from several arrays,
+     * each created by a method of its own, so that no method exceeds
+     * the size limits of the JVM.
+     */
+    public static <A> ABSList<A> fromChunks(Object[]... chunks) {
+        int size = 0;
+        for (Object[] chunk : chunks) {
+            size += chunk.length;
+        }
+        Object[] array = new Object[size];
+        int i = 0;
+        for (Object[] chunk : chunks) {
+            System.arraycopy(chunk, 0, array, i, chunk.length);
+            i += chunk.length;
+        }
+        return fromArray(array);
+    }
+
+    /**
+     * The list of the elements returned by {@code elements}, in order.
+     */
+    public static <A> ABSList<A> fromIterable(Iterable<? extends A> elements) {
+        ArrayList<Object> result = new ArrayList<>();
+        for (A element : elements) {
+            result.add(element);
+        }
+        return fromArray(result.toArray());
+    }
+
+    private static <A> ABSList<A> fromArray(Object[] array) {
+        if (array.length == 0) return empty();
+        int hash = 0;
+        int power = 1;
+        for (int i = array.length - 1; i >= 0; i--) {
+            hash = elementHash(array[i]) + P * hash;
+            power *= P;
+        }
+        return new ABSList<>(new Chunk(array, 0, array.length), 0, array.length, empty(), array.length, 1, hash, power);
+    }
+
+    /**
+     * A list with {@code n} copies of {@code element}.
+     */
+    public static <A> ABSList<A> copy(A element, Apint n) {
+        if (n.signum() < 0) throw new IllegalArgumentException("Cannot make a list of negative length " + n);
+        if (!IntOps.isSmall(n) || n.longValue() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot make a list of length " + n + ", the maximum is "
+                                               + Integer.MAX_VALUE);
+        }
+        Object[] array = new Object[n.intValue()];
+        Arrays.fill(array, element);
+        return fromArray(array);
+    }
+
+    private static <A> ABSList<A> compacted(ABSList<A> list) {
+        return list.segments > MAX_SEGMENTS ? fromArray(list.toArray()) : list;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The first element.
+     *
+     * @throws UnmatchedCaseException if the list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public A first() {
+        if (size == 0) throw new UnmatchedCaseException("Cannot take the head of an empty list");
+        return (A)chunk.array[from];
+    }
+
+    /**
+     * The list without its first element.
+     *
+     * @throws UnmatchedCaseException if the list is empty
+     */
+    public ABSList<A> rest() {
+        if (size == 0) throw new UnmatchedCaseException("Cannot take the tail of an empty list");
+        if (from + 1 == to) return next;
+        return new ABSList<>(chunk, from + 1, to, next, size - 1, segments,
+                             (hash - elementHash(chunk.array[from])) * P_INVERSE, power * P_INVERSE);
+    }
+
+    /**
+     * Element {@code n}, counting from 0.
+     *
+     * @throws UnmatchedCaseException if there is no such element
+     */
+    @SuppressWarnings("unchecked")
+    public A nth(Apint n) {
+        if (!IntOps.isSmall(n) || n.signum() < 0 || n.longValue() >= size) {
+            throw new UnmatchedCaseException("List index " + n + " out of range for list of length " + size);
+        }
+        int i = (int)n.longValue();
+        ABSList<A> l = this;
+        while (i >= l.to - l.from) {
+            i -= l.to - l.from;
+            l = l.next;
+        }
+        return (A)l.chunk.array[l.from + i];
+    }
+
+    /**
+     * Deconstructs the list as if it were built by the constructors
+     * {@code Nil} and {@code Cons}.
+     */
+    @SuppressWarnings("unchecked")
+    public View<A> view() {
+        if (size == 0) {
+            return NIL_VIEW;
+        }
+        return new Cons<>(first(), rest());
+    }
+
+    /**
+     * The list with {@code element} added at the end.
+     */
+    public ABSList<A> append(A element) {
+        if (size == 0) return cons(element, this);
+        ABSList<A>[] chain = segments();
+        ABSList<A> last = chain[chain.length - 1];
+        ABSList<A> result;
+        int length = last.chunk.array.length;
+        if (last.to < length && last.chunk.high.compareAndSet(last.to, last.to + 1)) {
+            last.chunk.array[last.to] = element;
+            result = new ABSList<>(last.chunk, last.from, last.to + 1, last.next, last.size + 1, 1,
+                                   last.hash + elementHash(element) * last.power, last.power * P);
+        } else {
+            int capacity = last.to == length ? Math.max(MIN_CHUNK, size) : MIN_CHUNK;
+            Object[] array = new Object[capacity];
+            array[0] = element;
+            result = new ABSList<>(last, new ABSList<>(new Chunk(array, 0, 1), 0, 1, empty(), 1, 1,
+                                                       elementHash(element), P));
+        }
+        for (int i = chain.length - 2; i >= 0; i--) {
+            result = new ABSList<>(chain[i], result);
+        }
+        return compacted(result);
+    }
+
+    /**
+     * The elements of this list followed by those of {@code other}.
+     */
+    public ABSList<A> concatenate(ABSList<A> other) {
+        if (size == 0) return other;
+        if (other.size == 0) return this;
+        if (size <= MIN_CHUNK) {
+            Object[] elements = toArray();
+            ABSList<A> result = other;
+            for (int i = elements.length - 1; i >= 0; i--) {
+                @SuppressWarnings("unchecked")
+                A element = (A)elements[i];
+                result = cons(element, result);
+            }
+            return result;
+        }
+        if (other.size <= MIN_CHUNK) {
+            ABSList<A> result = this;
+            for (A element : other) {
+                result = result.append(element);
+            }
+            return result;
+        }
+        ABSList<A>[] chain = segments();
+        ABSList<A> result = other;
+        for (int i = chain.length - 1; i >= 0; i--) {
+            result = new ABSList<>(chain[i], result);
+        }
+        return compacted(result);
+    }
+
+    public ABSList<A> reverse() {
+        Object[] array = toArray();
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            Object tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+        return fromArray(array);
+    }
+
+    /**
+     * The list without all elements equal to {@code element}.
+     */
+    public ABSList<A> without(A element) {
+        ArrayList<Object> result = new ArrayList<>(size);
+        for (A e : this) {
+            if (!BinOp.eq(e, element)) result.add(e);
+        }
+        return result.size() == size ? this : fromArray(result.toArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ABSList<A>[] segments() {
+        ABSList<A>[] result = new ABSList[segments];
+        ABSList<A> l = this;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = l;
+            l = l.next;
+        }
+        return result;
+    }
+
+    private Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (ABSList<A> l = this; l.size > 0; l = l.next) {
+            System.arraycopy(l.chunk.array, l.from, result, i, l.to - l.from);
+            i += l.to - l.from;
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<>() {
+            private ABSList<A> segment = ABSList.this;
+            private int i = from;
+
+            @Override
+            public boolean hasNext() {
+                return segment.size > 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public A next() {
+                if (segment.size == 0) throw new NoSuchElementException();
+                A result = (A)segment.chunk.array[i++];
+                if (i == segment.to) {
+                    segment = segment.next;
+                    i = segment.from;
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * ABS equality: same elements in the same order.
+     */
+    public boolean eq(ABSList<?> other) {
+        if (this == other) return true;
+        if (size != other.size || hash != other.hash) return false;
+        Iterator<?> i2 = other.iterator();
+        for (A element : this) {
+            if (!BinOp.eq(element, i2.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * ABS ordering, as for the constructor terms: compares the
+     * constructor names ({@code Cons} sorts before {@code Nil}), then
+     * the arguments.
+     */
+    public boolean gt(ABSList<?> other) {
+        Iterator<A> i1 = iterator();
+        Iterator<?> i2 = other.iterator();
+        while (i1.hasNext() && i2.hasNext()) {
+            if (BinOp.gt(i1.next(), i2.next())) return true;
+        }
+        return !i1.hasNext() && i2.hasNext();
+    }
+
+    /**
+     * The order of {@link BinOp#compare}: lexicographic by elements,
+     * where a list sorts before its prefixes since {@code Cons} sorts
+     * before {@code Nil}.
+     */
+    public int compareTo(ABSList<?> other) {
+        Iterator<A> i1 = iterator();
+        Iterator<?> i2 = other.iterator();
+        while (i1.hasNext() && i2.hasNext()) {
+            int comp = BinOp.compare(i1.next(), i2.next());
+            if (comp != 0) return comp;
+        }
+        return Integer.compare(other.size, size);
+    }
+
+    @Override
+    public String getConstructorName() {
+        return size == 0 ? "Nil" : "Cons";
+    }
+
+    @Override
+    public Object[] getArgs() {
+        return size == 0 ? NO_ARGS : new Object[] { first(), rest() };
+    }
+
+    @Override
+    public int getNumArgs() {
+        return size == 0 ? 0 : 2;
+    }
+
+    @Override
+    public Object getArg(int i) {
+        if (i < 0 || i >= getNumArgs()) throw new IllegalArgumentException(i + " is not a valid constructor argument index");
+        return i == 0 ? first() : rest();
+    }
+
+    @Override
+    public String toString() {
+        return ABSBuiltInFunctions.toString(this);
+    }
+
+    @Override
+    public void appendTo(Appendable out, List<Object> work) throws IOException {
+        for (A element : this) {
+            out.append("Cons(");
+            ABSBuiltInFunctions.toString(out, element);
+            out.append(',');
+        }
+        out.append("Nil");
+        for (int i = 0; i < size; i++) {
+            out.append(')');
+        }
+    }
+
+    @Override
+    public Object toJson() {
+        ArrayList<Object> result = new ArrayList<>(size);
+        for (A element : this) {
+            result.add(element);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ABSList<?> other && eq(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
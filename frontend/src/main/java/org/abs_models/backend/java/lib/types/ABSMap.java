@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.abs_models.backend.java.lib.expr.BinOp;
+import org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions;
+
+/**
+ * The Java representation of the ABS standard library type {@code
+ * Map<A, B>}.
+ *
+ * In ABS, a map is the list of its entries built by the constructors
+ * {@code EmptyMap} and {@code InsertAssoc(Pair<A, B>, Map<A, B>)}; a
+ * key can occur more than once, in which case the first entry shadows
+ * the others.  This class keeps exactly that sequence of entries, so
+ * that equality, ordering, {@code toString} and iteration order are
+ * those of the constructor terms, but indexes it twice: a {@link
+ * HashTrie} maps each key to its occurrences, and a {@link
+ * PositionTree} keeps the entries in order.  Lookup, update and
+ * removal of a key as well as deconstructing the map into its first
+ * entry and the rest take O(log n) time.
+ *
+ * Entries are the ABS {@code Pair} values passed in by generated code;
+ * this class does not depend on the generated class for {@code Pair}
+ * and only accesses its arguments via {@link ABSDataType#getArg}.
+ *
+ * Generated code matches on maps via {@link #view}, which returns one
+ * of the records {@link EmptyMap} and {@link InsertAssoc}.
+ */
+public final class ABSMap<K, V> implements ABSAlgebraicDataType {
+
+    /**
+     * The occurrences of one key, in ascending order of position.
+     * Only the first one is visible to {@code lookup}.
+     */
+    private record Occurrence(long position, Object value, Occurrence next) {
+        Occurrence append(long position, Object value) {
+            List<Occurrence> occurrences = new ArrayList<>();
+            for (Occurrence o = this; o != null; o = o.next) {
+                occurrences.add(o);
+            }
+            Occurrence result = new Occurrence(position, value, null);
+            for (int i = occurrences.size() - 1; i >= 0; i--) {
+                Occurrence o = occurrences.get(i);
+                result = new Occurrence(o.position, o.value, result);
+            }
+            return result;
+        }
+    }
+
+    public sealed interface View<E, K, V> permits EmptyMap, InsertAssoc {}
+    public record EmptyMap<E, K, V>() implements View<E, K, V> {}
+    public record InsertAssoc<E, K, V>(E arg0, ABSMap<K, V> arg1) implements View<E, K, V> {}
+
+    @SuppressWarnings("rawtypes")
+    private static final ABSMap EMPTY = new ABSMap<>(HashTrie.empty(), null, 0, 0, -1, 0);
+    @SuppressWarnings("rawtypes")
+    private static final EmptyMap EMPTY_VIEW = new EmptyMap<>();
+    private static final Object MISSING = new Object();
+
+    private final HashTrie<K, Occurrence> index;
+    private final PositionTree entries;
+    private final int size;
+    private final long first;
+    private final long last;
+    /** The sum of the scrambled hash codes of the entries. */
+    private final int hash;
+
+    private ABSMap(HashTrie<K, Occurrence> index, PositionTree entries, int size, long first, long last, int hash) {
+        this.index = index;
+        this.entries = entries;
+        this.size = size;
+        this.first = first;
+        this.last = last;
+        this.hash = hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> ABSMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * The map {@code InsertAssoc(entry, map)}.
+     */
+    public static <K, V> ABSMap<K, V> insertAssoc(Object entry, ABSMap<K, V> map) {
+        return map.prepend(entry);
+    }
+
+    /**
+     * A value that is never stored in a map; see {@link #getOrDefault}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T missing() {
+        return (T)MISSING;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K keyOf(Object entry) {
+        return (K)((ABSDataType)entry).getArg(0);
+    }
+
+    private static Object valueOf(Object entry) {
+        return ((ABSDataType)entry).getArg(1);
+    }
+
+    private static int entryHash(Object entry) {
+        return BinOp.mix(BinOp.hash(entry));
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private ABSMap<K, V> prepend(Object entry) {
+        K key = keyOf(entry);
+        long position = size == 0 ? 0 : first - 1;
+        Occurrence occurrence = new Occurrence(position, valueOf(entry), index.get(key, null));
+        return new ABSMap<>(index.put(key, occurrence), PositionTree.put(entries, position, entry),
+                            size + 1, position, size == 0 ? position : last, hash + entryHash(entry));
+    }
+
+    /**
+     * Returns a map with {@code entry} added after all existing entries.
+     */
+    public ABSMap<K, V> append(Object entry) {
+        K key = keyOf(entry);
+        long position = size == 0 ? 0 : last + 1;
+        Occurrence existing = index.get(key, null);
+        Occurrence occurrence = existing == null
+            ? new Occurrence(position, valueOf(entry), null)
+            : existing.append(position, valueOf(entry));
+        return new ABSMap<>(index.put(key, occurrence), PositionTree.put(entries, position, entry),
+                            size + 1, size == 0 ? position : first, position, hash + entryHash(entry));
+    }
+
+    public boolean containsKey(K key) {
+        return index.get(key, null) != null;
+    }
+
+    /**
+     * Returns the value of the first entry for {@code key}, or {@code
+     * dflt} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V dflt) {
+        Occurrence occurrence = index.get(key, null);
+        return occurrence == null ? dflt : (V)occurrence.value;
+    }
+
+    /**
+     * Returns a map where the first entry for {@code key} is replaced by
+     * {@code entry}, or {@code entry} is added at the end if there is
+     * no entry for {@code key}, as the ABS function {@code put} does.
+     * {@code entry} must be the pair {@code (key, value)}.
+     */
+    public ABSMap<K, V> put(K key, V value, Object entry) {
+        Occurrence occurrence = index.get(key, null);
+        if (occurrence == null) {
+            return append(entry);
+        }
+        return new ABSMap<>(index.put(key, new Occurrence(occurrence.position, value, occurrence.next)),
+                            PositionTree.put(entries, occurrence.position, entry),
+                            size, first, last,
+                            hash - entryHash(PositionTree.get(entries, occurrence.position)) + entryHash(entry));
+    }
+
+    /**
+     * Returns a map without the first entry for {@code key}.
+     */
+    public ABSMap<K, V> removeKey(K key) {
+        Occurrence occurrence = index.get(key, null);
+        return occurrence == null ? this : remove(key, occurrence);
+    }
+
+    private ABSMap<K, V> remove(K key, Occurrence occurrence) {
+        if (size == 1) {
+            return empty();
+        }
+        HashTrie<K, Occurrence> newIndex = occurrence.next == null
+            ? index.remove(key)
+            : index.put(key, occurrence.next);
+        PositionTree newEntries = PositionTree.remove(entries, occurrence.position);
+        long newFirst = occurrence.position == first ? PositionTree.first(newEntries).key : first;
+        long newLast = occurrence.position == last ? PositionTree.last(newEntries).key : last;
+        return new ABSMap<>(newIndex, newEntries, size - 1, newFirst, newLast,
+                            hash - entryHash(PositionTree.get(entries, occurrence.position)));
+    }
+
+    /**
+     * The first entry; the map must not be empty.
+     */
+    public Object firstEntry() {
+        return PositionTree.first(entries).value;
+    }
+
+    /**
+     * The map without its first entry; the map must not be empty.
+     */
+    public ABSMap<K, V> rest() {
+        K key = keyOf(firstEntry());
+        // the first entry is the first occurrence of its key
+        return remove(key, index.get(key, null));
+    }
+
+    /**
+     * Deconstructs the map as if it were built by the constructors
+     * {@code EmptyMap} and {@code InsertAssoc}.  {@code E} is the Java
+     * type of the entries, i.e., of {@code Pair<A, B>}.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> View<E, K, V> view() {
+        if (size == 0) {
+            return EMPTY_VIEW;
+        }
+        return new InsertAssoc<>((E)firstEntry(), rest());
+    }
+
+    /**
+     * The entries, first to last.  {@code E} is the Java type of the
+     * entries, as for {@link #view}.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Iterable<E> entries() {
+        return () -> (Iterator<E>)PositionTree.values(entries, true);
+    }
+
+    /** The values of all entries, first to last. */
+    public Iterable<V> values() {
+        return () -> new Iterator<V>() {
+            private final Iterator<Object> it = PositionTree.values(entries, true);
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                return (V)valueOf(it.next());
+            }
+        };
+    }
+
+    /**
+     * ABS equality: same entries in the same order.
+     */
+    public boolean eq(ABSMap<?, ?> other) {
+        if (this == other) return true;
+        if (size != other.size || hashCode() != other.hashCode()) return false;
+        Iterator<Object> i1 = PositionTree.values(entries, true);
+        Iterator<Object> i2 = PositionTree.values(other.entries, true);
+        while (i1.hasNext()) {
+            if (!BinOp.eq(i1.next(), i2.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * ABS ordering, as for the constructor terms: compares the
+     * constructor names ({@code EmptyMap} sorts before {@code
+     * InsertAssoc}), then the arguments.
+     */
+    public boolean gt(ABSMap<?, ?> other) {
+        Iterator<Object> i1 = PositionTree.values(entries, true);
+        Iterator<Object> i2 = PositionTree.values(other.entries, true);
+        while (i1.hasNext() && i2.hasNext()) {
+            if (BinOp.gt(i1.next(), i2.next())) return true;
+        }
+        return i1.hasNext();
+    }
+
+    /**
+     * The order of {@link BinOp#compare}: lexicographic by entries.
+     */
+    public int compareTo(ABSMap<?, ?> other) {
+        Iterator<Object> i1 = PositionTree.values(entries, true);
+        Iterator<Object> i2 = PositionTree.values(other.entries, true);
+        while (i1.hasNext() && i2.hasNext()) {
+            int comp = BinOp.compare(i1.next(), i2.next());
+            if (comp != 0) return comp;
+        }
+        return Integer.compare(size, other.size);
+    }
+
+    @Override
+    public String getConstructorName() {
+        return size == 0 ? "EmptyMap" : "InsertAssoc";
+    }
+
+    @Override
+    public Object[] getArgs() {
+        return size == 0 ? NO_ARGS : new Object[] { firstEntry(), rest() };
+    }
+
+    @Override
+    public int getNumArgs() {
+        return size == 0 ? 0 : 2;
+    }
+
+    @Override
+    public Object getArg(int i) {
+        if (i < 0 || i >= getNumArgs()) throw new IllegalArgumentException(i + " is not a valid constructor argument index");
+        return i == 0 ? firstEntry() : rest();
+    }
+
+    @Override
+    public String toString() {
+        return ABSBuiltInFunctions.toString(this);
+    }
+
+    @Override
+    public void appendTo(Appendable out, List<Object> work) throws IOException {
+        for (Object entry : entries()) {
+            out.append("InsertAssoc(");
+            ABSBuiltInFunctions.toString(out, entry);
+            out.append(',');
+        }
+        out.append("EmptyMap");
+        for (int i = 0; i < size; i++) {
+            out.append(')');
+        }
+    }
+
+    @Override
+    public Object toJson() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Object entry : entries()) {
+            result.putIfAbsent(ABSBuiltInFunctions.toString(keyOf(entry)), valueOf(entry));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ABSMap<?, ?> other && eq(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
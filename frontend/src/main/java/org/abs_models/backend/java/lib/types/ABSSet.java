@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.abs_models.backend.java.lib.expr.BinOp;
+import org.abs_models.backend.java.lib.expr.UnmatchedCaseException;
+import org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions;
+
+/**
+ * The Java representation of the ABS standard library type {@code
+ * Set<A>}.
+ *
+ * In ABS, a set is the sorted list of its elements built by the
+ * constructors {@code EmptySet} and {@code Insert(A, Set<A>)}.  This
+ * class keeps the elements in a balanced tree sorted by {@link
+ * BinOp#compare}, so that membership tests, insertion and removal take
+ * O(log n) time while equality, {@code toString}, iteration order and
+ * deconstruction via {@code Insert(e, rest)} are those of the sorted
+ * list.  Applying the constructor {@code Insert} to an element and a
+ * set inserts the element at its place.
+ *
+ * Generated code matches on sets via {@link #view}, which returns one
+ * of the records {@link EmptySet} and {@link Insert}.
+ */
+public final class ABSSet<A> implements ABSAlgebraicDataType {
+
+    public sealed interface View<A> permits EmptySet, Insert {}
+    public record EmptySet<A>() implements View<A> {}
+    public record Insert<A>(A arg0, ABSSet<A> arg1) implements View<A> {}
+
+    @SuppressWarnings("rawtypes")
+    private static final ABSSet EMPTY = new ABSSet<>(null, 0, 0);
+    @SuppressWarnings("rawtypes")
+    private static final EmptySet EMPTY_VIEW = new EmptySet<>();
+
+    private final OrderedTree elements;
+    private final int size;
+    /** The sum of the scrambled hash codes of the elements. */
+    private final int hash;
+
+    private ABSSet(OrderedTree elements, int size, int hash) {
+        this.elements = elements;
+        this.size = size;
+        this.hash = hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> ABSSet<A> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * The set {@code Insert(element, set)}.
+     */
+    public static <A> ABSSet<A> insert(A element, ABSSet<A> set) {
+        return set.insert(element);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(A element) {
+        return OrderedTree.contains(elements, element);
+    }
+
+    public ABSSet<A> insert(A element) {
+        OrderedTree result = OrderedTree.insert(elements, element);
+        return result == elements ? this : new ABSSet<>(result, size + 1, hash + BinOp.mix(BinOp.hash(element)));
+    }
+
+    public ABSSet<A> remove(A element) {
+        OrderedTree result = OrderedTree.remove(elements, element);
+        if (result == elements) return this;
+        return result == null ? empty() : new ABSSet<>(result, size - 1, hash - BinOp.mix(BinOp.hash(element)));
+    }
+
+    /**
+     * The smallest element, as returned by {@code take}.
+     *
+     * @throws UnmatchedCaseException if the set is empty
+     */
+    @SuppressWarnings("unchecked")
+    public A first() {
+        if (size == 0) throw new UnmatchedCaseException("Cannot take an element from an empty set");
+        return (A)OrderedTree.first(elements);
+    }
+
+    /**
+     * The set without its smallest element.
+     *
+     * @throws UnmatchedCaseException if the set is empty
+     */
+    public ABSSet<A> rest() {
+        if (size == 0) throw new UnmatchedCaseException("Cannot take an element from an empty set");
+        return size == 1 ? empty()
+            : new ABSSet<>(OrderedTree.removeFirst(elements), size - 1, hash - BinOp.mix(BinOp.hash(first())));
+    }
+
+    /**
+     * Deconstructs the set as if it were built by the constructors
+     * {@code EmptySet} and {@code Insert}.
+     */
+    @SuppressWarnings("unchecked")
+    public View<A> view() {
+        if (size == 0) {
+            return EMPTY_VIEW;
+        }
+        return new Insert<>(first(), rest());
+    }
+
+    public ABSSet<A> union(ABSSet<A> other) {
+        ABSSet<A> large = size >= other.size ? this : other;
+        ABSSet<A> small = large == this ? other : this;
+        for (A element : small.elements(true)) {
+            large = large.insert(element);
+        }
+        return large;
+    }
+
+    public ABSSet<A> intersection(ABSSet<A> other) {
+        ABSSet<A> large = size >= other.size ? this : other;
+        ABSSet<A> small = large == this ? other : this;
+        ABSSet<A> result = empty();
+        for (A element : small.elements(true)) {
+            if (large.contains(element)) result = result.insert(element);
+        }
+        return result;
+    }
+
+    public ABSSet<A> difference(ABSSet<A> other) {
+        if (other.size < size) {
+            ABSSet<A> result = this;
+            for (A element : other.elements(true)) {
+                result = result.remove(element);
+            }
+            return result;
+        }
+        ABSSet<A> result = empty();
+        for (A element : elements(true)) {
+            if (!other.contains(element)) result = result.insert(element);
+        }
+        return result;
+    }
+
+    /**
+     * Whether all elements of this set are contained in {@code other}.
+     */
+    public boolean isSubset(ABSSet<A> other) {
+        if (size > other.size) return false;
+        for (A element : elements(true)) {
+            if (!other.contains(element)) return false;
+        }
+        return true;
+    }
+
+    /** The elements in ascending or descending order. */
+    @SuppressWarnings("unchecked")
+    public Iterable<A> elements(boolean ascending) {
+        return () -> (Iterator<A>)OrderedTree.values(elements, ascending);
+    }
+
+    /**
+     * ABS equality: same elements.
+     */
+    public boolean eq(ABSSet<?> other) {
+        if (this == other) return true;
+        if (size != other.size || hashCode() != other.hashCode()) return false;
+        Iterator<Object> i1 = OrderedTree.values(elements, true);
+        Iterator<Object> i2 = OrderedTree.values(other.elements, true);
+        while (i1.hasNext()) {
+            if (!BinOp.eq(i1.next(), i2.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * ABS ordering, as for the constructor terms: compares the
+     * constructor names ({@code EmptySet} sorts before {@code Insert}),
+     * then the arguments.
+     */
+    public boolean gt(ABSSet<?> other) {
+        Iterator<Object> i1 = OrderedTree.values(elements, true);
+        Iterator<Object> i2 = OrderedTree.values(other.elements, true);
+        while (i1.hasNext() && i2.hasNext()) {
+            if (BinOp.gt(i1.next(), i2.next())) return true;
+        }
+        return i1.hasNext();
+    }
+
+    /**
+     * The order of {@link BinOp#compare}: lexicographic by elements.
+     */
+    public int compareTo(ABSSet<?> other) {
+        Iterator<Object> i1 = OrderedTree.values(elements, true);
+        Iterator<Object> i2 = OrderedTree.values(other.elements, true);
+        while (i1.hasNext() && i2.hasNext()) {
+            int comp = BinOp.compare(i1.next(), i2.next());
+            if (comp != 0) return comp;
+        }
+        return Integer.compare(size, other.size);
+    }
+
+    @Override
+    public String getConstructorName() {
+        return size == 0 ? "EmptySet" : "Insert";
+    }
+
+    @Override
+    public Object[] getArgs() {
+        return size == 0 ? NO_ARGS : new Object[] { first(), rest() };
+    }
+
+    @Override
+    public int getNumArgs() {
+        return size == 0 ? 0 : 2;
+    }
+
+    @Override
+    public Object getArg(int i) {
+        if (i < 0 || i >= getNumArgs()) throw new IllegalArgumentException(i + " is not a valid constructor argument index");
+        return i == 0 ? first() : rest();
+    }
+
+    @Override
+    public String toString() {
+        return ABSBuiltInFunctions.toString(this);
+    }
+
+    @Override
+    public void appendTo(Appendable out, List<Object> work) throws IOException {
+        for (A element : elements(true)) {
+            out.append("Insert(");
+            ABSBuiltInFunctions.toString(out, element);
+            out.append(',');
+        }
+        out.append("EmptySet");
+        for (int i = 0; i < size; i++) {
+            out.append(')');
+        }
+    }
+
+    @Override
+    public Object toJson() {
+        List<Object> result = new ArrayList<>(size);
+        for (A element : elements(true)) {
+            result.add(element);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ABSSet<?> other && eq(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+import org.abs_models.backend.java.lib.expr.BinOp;
+
+/**
+ * A persistent hash array mapped trie with ABS values as keys.
+ *
+ * Keys are hashed with {@link BinOp#hash} and compared with {@link
+ * BinOp#eq}, so that keys that are equal in ABS find the same entry.
+ * All operations return a new trie and leave the receiver unchanged;
+ * unchanged subtries are shared.  Lookup and update take O(log32 n)
+ * steps.
+ */
+final class HashTrie<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final HashTrie EMPTY = new HashTrie<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private HashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> HashTrie<K, V> empty() {
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@code notFound} if there is
+     * no entry for it.
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key, V notFound) {
+        return (V)root.find(0, BinOp.hash(key), key, notFound);
+    }
+
+    HashTrie<K, V> put(K key, V value) {
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(0, BinOp.hash(key), key, value, added);
+        if (newRoot == root) return this;
+        return new HashTrie<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    HashTrie<K, V> remove(Object key) {
+        Node newRoot = root.remove(0, BinOp.hash(key), key);
+        if (newRoot == root) return this;
+        return new HashTrie<>(newRoot == null ? BitmapNode.EMPTY : newRoot, size - 1);
+    }
+
+    /**
+     * Calls {@code action} for all entries, in unspecified order.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach((BiConsumer<Object, Object>)action);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key, Object notFound);
+        abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+        /** Returns null if the node became empty. */
+        abstract Node remove(int shift, int hash, Object key);
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * A node with up to 32 slots, one per 5-bit hash fragment.  Each
+     * slot takes two array elements: key and value, or {@link #SUBNODE}
+     * and a child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final Object SUBNODE = new Object();
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key, Object notFound) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return notFound;
+            int i = index(bit);
+            Object k = array[i];
+            if (k == SUBNODE) return ((Node)array[i + 1]).find(shift + BITS, hash, key, notFound);
+            return BinOp.eq(key, k) ? array[i + 1] : notFound;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == SUBNODE) {
+                Node child = ((Node)v).put(shift + BITS, hash, key, value, added);
+                return child == v ? this : with(i, SUBNODE, child);
+            }
+            if (BinOp.eq(key, k)) {
+                return v == value ? this : with(i, k, value);
+            }
+            added[0] = true;
+            return with(i, SUBNODE, pair(shift + BITS, BinOp.hash(k), k, v, hash, key, value));
+        }
+
+        private BitmapNode with(int i, Object key, Object value) {
+            Object[] newArray = array.clone();
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static Node pair(int shift, int hash1, Object key1, Object value1,
+                                 int hash2, Object key2, Object value2) {
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+            }
+            boolean[] added = new boolean[1];
+            return EMPTY.put(shift, hash1, key1, value1, added)
+                .put(shift, hash2, key2, value2, added);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int i = index(bit);
+            Object k = array[i];
+            if (k == SUBNODE) {
+                Node child = ((Node)array[i + 1]).remove(shift + BITS, hash, key);
+                if (child == array[i + 1]) return this;
+                if (child != null) return with(i, SUBNODE, child);
+            } else if (!BinOp.eq(key, k)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == SUBNODE) {
+                    ((Node)array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entries whose keys have the same full 32-bit hash.
+     */
+    private static final class CollisionNode extends Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (BinOp.eq(key, array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key, Object notFound) {
+            int i = indexOf(key);
+            return i < 0 ? notFound : array[i + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // push this node one level down
+                return new BitmapNode(bit(this.hash, shift), new Object[] { BitmapNode.SUBNODE, this })
+                    .put(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) return this;
+                Object[] newArray = array.clone();
+                newArray[i + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
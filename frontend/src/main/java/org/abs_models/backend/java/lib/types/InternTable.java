@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Shares equal values of datatypes annotated with {@code [Intern]}.
+ *
+ * Generated code passes each newly built value of such a datatype to
+ * {@link #intern}, which returns a previously interned equal value if
+ * there is one.  Values are compared with ABS equality via their
+ * {@code equals} and {@code hashCode} methods and are only weakly
+ * referenced, so that interned values that are no longer used can be
+ * garbage collected.  The table is split into stripes to reduce
+ * contention between cogs.
+ */
+public final class InternTable {
+
+    private static final int STRIPES = 16;
+
+    @SuppressWarnings("unchecked")
+    private static final WeakHashMap<ABSValue, WeakReference<ABSValue>>[] tables = new WeakHashMap[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            tables[i] = new WeakHashMap<>();
+        }
+    }
+
+    private InternTable() {}
+
+    /**
+     * Returns an interned value equal to {@code value}, which becomes
+     * the interned value if there is none yet.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ABSValue> T intern(T value) {
+        WeakHashMap<ABSValue, WeakReference<ABSValue>> table = tables[value.hashCode() & (STRIPES - 1)];
+        synchronized (table) {
+            WeakReference<ABSValue> ref = table.get(value);
+            ABSValue existing = ref == null ? null : ref.get();
+            if (existing != null) {
+                return (T)existing;
+            }
+            table.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+}
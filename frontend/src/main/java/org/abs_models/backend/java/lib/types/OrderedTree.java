@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.abs_models.backend.java.lib.expr.BinOp;
+
+/**
+ * A persistent AVL tree of ABS values, sorted by {@link BinOp#compare}
+ * and without duplicates, used to implement native sets.
+ *
+ * As in {@link PositionTree}, the empty tree is {@code null}, all
+ * operations are static and return a new tree that shares unchanged
+ * subtrees, and iteration uses an explicit stack.  Operations that do
+ * not change the tree return it unchanged.
+ */
+final class OrderedTree {
+
+    final Object value;
+    final OrderedTree left;
+    final OrderedTree right;
+    final int height;
+
+    private OrderedTree(Object value, OrderedTree left, OrderedTree right) {
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(height(left), height(right)) + 1;
+    }
+
+    private static int height(OrderedTree t) {
+        return t == null ? 0 : t.height;
+    }
+
+    static boolean contains(OrderedTree t, Object value) {
+        while (t != null) {
+            int comp = BinOp.compare(value, t.value);
+            if (comp < 0) t = t.left;
+            else if (comp > 0) t = t.right;
+            else return true;
+        }
+        return false;
+    }
+
+    static Object first(OrderedTree t) {
+        if (t == null) throw new NoSuchElementException();
+        while (t.left != null) t = t.left;
+        return t.value;
+    }
+
+    static OrderedTree insert(OrderedTree t, Object value) {
+        if (t == null) return new OrderedTree(value, null, null);
+        int comp = BinOp.compare(value, t.value);
+        if (comp < 0) {
+            OrderedTree left = insert(t.left, value);
+            return left == t.left ? t : balance(t.value, left, t.right);
+        } else if (comp > 0) {
+            OrderedTree right = insert(t.right, value);
+            return right == t.right ? t : balance(t.value, t.left, right);
+        }
+        return t;
+    }
+
+    static OrderedTree remove(OrderedTree t, Object value) {
+        if (t == null) return null;
+        int comp = BinOp.compare(value, t.value);
+        if (comp < 0) {
+            OrderedTree left = remove(t.left, value);
+            return left == t.left ? t : balance(t.value, left, t.right);
+        } else if (comp > 0) {
+            OrderedTree right = remove(t.right, value);
+            return right == t.right ? t : balance(t.value, t.left, right);
+        }
+        if (t.left == null) return t.right;
+        if (t.right == null) return t.left;
+        return balance(first(t.right), t.left, removeFirst(t.right));
+    }
+
+    /** The tree without its smallest element; {@code t} must not be empty. */
+    static OrderedTree removeFirst(OrderedTree t) {
+        if (t.left == null) return t.right;
+        return balance(t.value, removeFirst(t.left), t.right);
+    }
+
+    private static OrderedTree balance(Object value, OrderedTree left, OrderedTree right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.value, left.left, left.right);
+            }
+            return rotateRight(value, left, right);
+        } else if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.value, right.left, right.right);
+            }
+            return rotateLeft(value, left, right);
+        }
+        return new OrderedTree(value, left, right);
+    }
+
+    private static OrderedTree rotateRight(Object value, OrderedTree left, OrderedTree right) {
+        return new OrderedTree(left.value, left.left, new OrderedTree(value, left.right, right));
+    }
+
+    private static OrderedTree rotateLeft(Object value, OrderedTree left, OrderedTree right) {
+        return new OrderedTree(right.value, new OrderedTree(value, left, right.left), right.right);
+    }
+
+    /** The values of {@code t} in ascending or descending order. */
+    static Iterator<Object> values(OrderedTree t, boolean ascending) {
+        return new Iterator<>() {
+            private final ArrayDeque<OrderedTree> stack = new ArrayDeque<>();
+            {
+                push(t);
+            }
+
+            private void push(OrderedTree n) {
+                while (n != null) {
+                    stack.push(n);
+                    n = ascending ? n.left : n.right;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                if (stack.isEmpty()) throw new NoSuchElementException();
+                OrderedTree n = stack.pop();
+                push(ascending ? n.right : n.left);
+                return n.value;
+            }
+        };
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent AVL tree from {@code long} positions to values, used to
+ * keep the entries of native collections in order.
+ *
+ * The empty tree is {@code null}; all operations are static and
+ * return a new tree, sharing unchanged subtrees.  Iteration uses an
+ * explicit stack, so arbitrarily large trees can be traversed.
+ */
+final class PositionTree {
+
+    final long key;
+    final Object value;
+    final PositionTree left;
+    final PositionTree right;
+    final int height;
+
+    private PositionTree(long key, Object value, PositionTree left, PositionTree right) {
+        this.key = key;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(height(left), height(right)) + 1;
+    }
+
+    private static int height(PositionTree t) {
+        return t == null ? 0 : t.height;
+    }
+
+    static Object get(PositionTree t, long key) {
+        while (t != null) {
+            if (key < t.key) t = t.left;
+            else if (key > t.key) t = t.right;
+            else return t.value;
+        }
+        throw new NoSuchElementException("No entry at position " + key);
+    }
+
+    static PositionTree first(PositionTree t) {
+        if (t == null) return null;
+        while (t.left != null) t = t.left;
+        return t;
+    }
+
+    static PositionTree last(PositionTree t) {
+        if (t == null) return null;
+        while (t.right != null) t = t.right;
+        return t;
+    }
+
+    /** Adds or replaces the value at {@code key}. */
+    static PositionTree put(PositionTree t, long key, Object value) {
+        if (t == null) return new PositionTree(key, value, null, null);
+        if (key < t.key) return balance(t.key, t.value, put(t.left, key, value), t.right);
+        if (key > t.key) return balance(t.key, t.value, t.left, put(t.right, key, value));
+        return new PositionTree(key, value, t.left, t.right);
+    }
+
+    static PositionTree remove(PositionTree t, long key) {
+        if (t == null) return null;
+        if (key < t.key) return balance(t.key, t.value, remove(t.left, key), t.right);
+        if (key > t.key) return balance(t.key, t.value, t.left, remove(t.right, key));
+        if (t.left == null) return t.right;
+        if (t.right == null) return t.left;
+        PositionTree successor = first(t.right);
+        return balance(successor.key, successor.value, t.left, remove(t.right, successor.key));
+    }
+
+    private static PositionTree balance(long key, Object value, PositionTree left, PositionTree right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.key, left.value, left.left, left.right);
+            }
+            return rotateRight(key, value, left, right);
+        } else if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.key, right.value, right.left, right.right);
+            }
+            return rotateLeft(key, value, left, right);
+        }
+        return new PositionTree(key, value, left, right);
+    }
+
+    private static PositionTree rotateRight(long key, Object value, PositionTree left, PositionTree right) {
+        return new PositionTree(left.key, left.value, left.left,
+                                new PositionTree(key, value, left.right, right));
+    }
+
+    private static PositionTree rotateLeft(long key, Object value, PositionTree left, PositionTree right) {
+        return new PositionTree(right.key, right.value,
+                                new PositionTree(key, value, left, right.left), right.right);
+    }
+
+    /** The values of {@code t} by ascending or descending position. */
+    static Iterator<Object> values(PositionTree t, boolean ascending) {
+        return new Iterator<>() {
+            private final ArrayDeque<PositionTree> stack = new ArrayDeque<>();
+            {
+                push(t);
+            }
+
+            private void push(PositionTree n) {
+                while (n != null) {
+                    stack.push(n);
+                    n = ascending ? n.left : n.right;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                if (stack.isEmpty()) throw new NoSuchElementException();
+                PositionTree n = stack.pop();
+                push(ascending ? n.right : n.left);
+                return n.value;
+            }
+        };
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.observing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.abs_models.backend.java.lib.runtime.Logging;
+
+/**
+ * Delivers observer events on a separate thread, so that slow
+ * observers do not slow down the simulation.
+ *
+ * Reporting threads write events into a preallocated ring buffer; a
+ * single consumer thread delivers them in batches, in the order they
+ * were published.  Events reported by one thread are therefore
+ * delivered in the order they happened.  When the buffer is full,
+ * reporting threads wait for the consumer, i.e., no events are
+ * dropped.
+ *
+ * If the consumer thread dies (e.g., an observer throws an {@link
+ * Error}), the failure is logged and reporting threads deliver the
+ * buffered and all later events themselves.  Events reported after
+ * {@link #shutdown} are delivered directly as well.
+ *
+ * Note that observers see the state of views at delivery time, which
+ * can be later than the time of the event.  Observers that need to
+ * block the reporting task (e.g., the debugger) must not be used
+ * with asynchronous dispatch.
+ */
+public final class AsyncObserverDispatcher implements Runnable {
+
+    private static final Logger log = Logging.getLogger(AsyncObserverDispatcher.class.getName());
+
+    /** Maximum number of events delivered before freeing their slots. */
+    private static final int MAX_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final class Slot {
+        /** Sequence number of the stored event; written last, on publication. */
+        volatile long sequence = -1;
+        ObserverEvent event;
+        Object observer;
+        Object source;
+        Object arg1;
+        Object arg2;
+        int number;
+    }
+
+    /**
+     * Set in {@link #claimed} by {@link #shutdown}; sequence numbers
+     * claimed afterwards carry this bit and are not buffered.
+     */
+    private static final long CLOSED = 1L << 62;
+
+    private final Slot[] slots;
+    private final int indexMask;
+    /** Number of sequence numbers handed out to publishers. */
+    private final AtomicLong claimed = new AtomicLong(0);
+    /** Last sequence number delivered; slots up to here can be reused. */
+    private volatile long delivered = -1;
+    private volatile boolean consumerIdle = false;
+    private volatile boolean running = true;
+    /** Set when the consumer thread died; publishers deliver instead. */
+    private volatile boolean failed = false;
+    private final Thread consumer;
+
+    /**
+     * @param capacity the number of events that can be buffered;
+     *        rounded up to a power of two
+     */
+    public AsyncObserverDispatcher(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        indexMask = size - 1;
+        consumer = new Thread(this, "ABS Observer Dispatcher");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Enqueue an event for delivery to {@code observer}.
+     */
+    public void publish(ObserverEvent event, Object observer, Object source, Object arg1, Object arg2, int number) {
+        if (Thread.currentThread() == consumer) {
+            // An observer reported an event itself; waiting for a free
+            // slot could deadlock.
+            event.deliver(observer, source, arg1, arg2, number);
+            return;
+        }
+        long seq = claimed.getAndIncrement();
+        if ((seq & CLOSED) != 0) {
+            // shut down
+            event.deliver(observer, source, arg1, arg2, number);
+            return;
+        }
+        while (seq - slots.length > delivered) {
+            // buffer full
+            if (failed) {
+                drain();
+            } else {
+                LockSupport.unpark(consumer);
+            }
+            LockSupport.parkNanos(this, 1000);
+        }
+        Slot s = slots[(int)(seq & indexMask)];
+        s.event = event;
+        s.observer = observer;
+        s.source = source;
+        s.arg1 = arg1;
+        s.arg2 = arg2;
+        s.number = number;
+        s.sequence = seq;
+        if (failed) {
+            drain();
+        } else if (consumerIdle) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public void run() {
+        long next = 0;
+        try {
+            while (true) {
+                long last = next - 1;
+                while (last - next + 1 < MAX_BATCH && slots[(int)((last + 1) & indexMask)].sequence == last + 1) {
+                    last++;
+                }
+                if (last >= next) {
+                    for (; next <= last; next++) {
+                        deliver(slots[(int)(next & indexMask)]);
+                    }
+                    delivered = last;
+                } else if (!running) {
+                    return;
+                } else {
+                    consumerIdle = true;
+                    if (slots[(int)(next & indexMask)].sequence != next) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    consumerIdle = false;
+                }
+            }
+        } catch (Throwable e) {
+            // The event at `next` is skipped; the remaining ones are
+            // delivered by the publishing threads.
+            log.log(Level.SEVERE, "Observer dispatcher failed, delivering events synchronously from now on", e);
+            delivered = next;
+            failed = true;
+            drain();
+        }
+    }
+
+    /**
+     * Deliver the published events that follow the delivered ones, on
+     * the calling thread; used after the consumer thread died.  Stops
+     * at the first claimed slot that has not been written yet, whose
+     * publisher will call this method again.
+     */
+    private synchronized void drain() {
+        long next = delivered + 1;
+        while (slots[(int)(next & indexMask)].sequence == next) {
+            deliver(slots[(int)(next & indexMask)]);
+            delivered = next;
+            next++;
+        }
+    }
+
+    private void deliver(Slot s) {
+        try {
+            s.event.deliver(s.observer, s.source, s.arg1, s.arg2, s.number);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Observer " + s.observer + " failed on " + s.event, e);
+        }
+        s.observer = null;
+        s.source = null;
+        s.arg1 = null;
+        s.arg2 = null;
+    }
+
+    /**
+     * Wait until all events published so far have been delivered.
+     */
+    public void flush() {
+        awaitDelivered((claimed.get() & ~CLOSED) - 1);
+    }
+
+    private void awaitDelivered(long target) {
+        if (Thread.currentThread() == consumer) return;
+        while (delivered < target) {
+            if (failed) {
+                drain();
+            } else {
+                LockSupport.unpark(consumer);
+            }
+            LockSupport.parkNanos(this, 10_000);
+        }
+    }
+
+    /**
+     * Deliver all pending events, then stop the consumer thread.
+     * Events whose sequence number was claimed before are still
+     * delivered in order; later ones are delivered directly.
+     */
+    public void shutdown() {
+        long count;
+        do {
+            count = claimed.get();
+            if ((count & CLOSED) != 0) return;
+        } while (!claimed.compareAndSet(count, count | CLOSED));
+        awaitDelivered(count - 1);
+        running = false;
+        LockSupport.unpark(consumer);
+    }
+}
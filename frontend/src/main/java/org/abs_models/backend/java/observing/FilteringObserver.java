@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.observing;
+
+import java.util.Set;
+
+/**
+ * An observer that only wants to receive some kinds of events.
+ *
+ * The set of observed events is queried once, when the observer is
+ * registered; events not contained in it are not reported to this
+ * observer.  When no registered observer of a view is interested in
+ * an event, the runtime skips reporting it altogether.
+ */
+public interface FilteringObserver {
+
+    /**
+     * @return the events this observer wants to receive
+     */
+    Set<ObserverEvent> getObservedEvents();
+}
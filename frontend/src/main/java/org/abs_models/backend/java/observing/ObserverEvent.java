@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.observing;
+
+import java.util.Set;
+
+/**
+ * The kinds of events that the runtime reports to observers.  Each
+ * constant corresponds to one observer callback and knows how to
+ * deliver itself, so that events can be recorded and delivered later
+ * (see {@link AsyncObserverDispatcher}).
+ *
+ * For each event, {@code source} is the view that reported it; the
+ * meaning of the remaining arguments depends on the event kind.
+ */
+public enum ObserverEvent {
+    TASK_STARTED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).taskStarted((TaskView)source);
+        }
+    },
+    TASK_FINISHED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).taskFinished((TaskView)source);
+        }
+    },
+    TASK_BLOCKED_ON_FUTURE {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).taskBlockedOnFuture((TaskView)source, (FutView)arg1);
+        }
+    },
+    TASK_RUNNING_AFTER_WAITING {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).taskRunningAfterWaiting((TaskView)source, (FutView)arg1);
+        }
+    },
+    TASK_STEP {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).taskStep((TaskView)source, (String)arg1, number);
+        }
+    },
+    STACK_FRAME_CREATED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).stackFrameCreated((TaskView)source, (TaskStackFrameView)arg1);
+        }
+    },
+    STACK_FRAME_REMOVED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).stackFrameRemoved((TaskView)source, (TaskStackFrameView)arg1);
+        }
+    },
+    LOCAL_VARIABLE_CHANGED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskObserver)observer).localVariableChanged((TaskStackFrameView)source, (String)arg1, arg2);
+        }
+    },
+    FUTURE_RESOLVED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((FutObserver)observer).onResolved((FutView)source, arg1);
+        }
+    },
+    OBJECT_CREATED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((ObjectCreationObserver)observer).objectCreated((ObjectView)source);
+        }
+    },
+    OBJECT_INITIALIZED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((ObjectCreationObserver)observer).objectInitialized((ObjectView)source);
+        }
+    },
+    TASK_CREATED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskSchedulerObserver)observer).taskCreated((TaskView)source);
+        }
+    },
+    TASK_READY {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskSchedulerObserver)observer).taskReady((TaskView)source);
+        }
+    },
+    TASK_SUSPENDED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskSchedulerObserver)observer).taskSuspended((TaskView)source, (GuardView)arg1);
+        }
+    },
+    TASK_RESUMED {
+        @Override
+        void deliver(Object observer, Object source, Object arg1, Object arg2, int number) {
+            ((TaskSchedulerObserver)observer).taskResumed((TaskView)source, (GuardView)arg1);
+        }
+    };
+
+    /** Bit mask of all event kinds. */
+    static final long ALL = (1L << values().length) - 1;
+
+    final long bit = 1L << ordinal();
+
+    /**
+     * Call the observer method corresponding to this event.
+     */
+    abstract void deliver(Object observer, Object source, Object arg1, Object arg2, int number);
+
+    /**
+     * Return the bit mask of events that {@code observer} wants to
+     * receive: the events declared by a {@link FilteringObserver},
+     * all events otherwise.
+     */
+    static long maskOf(Object observer) {
+        if (observer instanceof FilteringObserver f) {
+            Set<ObserverEvent> events = f.getObservedEvents();
+            long result = 0;
+            for (ObserverEvent e : events) {
+                result |= e.bit;
+            }
+            return result;
+        }
+        return ALL;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.observing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.abs_models.backend.java.lib.runtime.ABSRuntime;
+
+/**
+ * The observers registered with a view, together with the events
+ * each of them is interested in.
+ *
+ * Registration is copy-on-write, so events can be reported without
+ * locking.  Depending on the runtime configuration, events are
+ * delivered directly on the reporting thread or handed to the
+ * runtime's {@link AsyncObserverDispatcher}.
+ *
+ * @param <T> the observer interface
+ */
+public final class ObserverList<T> {
+
+    private record Registration(Object observer, long events) { }
+
+    private static final Registration[] NONE = new Registration[0];
+
+    private volatile Registration[] registrations = NONE;
+    /** Union of the events of all registered observers. */
+    private volatile long observedEvents = 0;
+
+    public synchronized void add(T observer) {
+        Registration[] old = registrations;
+        Registration[] updated = Arrays.copyOf(old, old.length + 1);
+        Registration r = new Registration(observer, ObserverEvent.maskOf(observer));
+        updated[old.length] = r;
+        registrations = updated;
+        observedEvents |= r.events();
+    }
+
+    /**
+     * Check whether any observer wants to receive {@code event}.  Use
+     * this to avoid computing the arguments of events nobody
+     * observes.
+     */
+    public boolean isObserved(ObserverEvent event) {
+        return (observedEvents & event.bit) != 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        List<T> result = new ArrayList<>();
+        for (Registration r : registrations) {
+            result.add((T)r.observer());
+        }
+        return result;
+    }
+
+    /**
+     * Report an event to all observers interested in it.
+     */
+    public void notify(ObserverEvent event, Object source, Object arg1, Object arg2, int number) {
+        if (!isObserved(event)) return;
+        AsyncObserverDispatcher dispatcher = ABSRuntime.getRuntime().getObserverDispatcher();
+        for (Registration r : registrations) {
+            if ((r.events() & event.bit) == 0) continue;
+            if (dispatcher != null) {
+                dispatcher.publish(event, r.observer(), source, arg1, arg2, number);
+            } else {
+                event.deliver(r.observer(), source, arg1, arg2, number);
+            }
+        }
+    }
+}
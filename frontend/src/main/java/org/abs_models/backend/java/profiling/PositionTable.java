@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.profiling;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps line numbers of a generated Java class to positions in the ABS
+ * source code.
+ *
+ * The code generator writes one table per generated Java file, as a
+ * resource named like the class with suffix {@link #RESOURCE_SUFFIX}.
+ * Each line of the table has the tab-separated fields {@code
+ * javaLine absLine context absFile}, sorted by {@code javaLine}; an
+ * entry is valid for all Java lines up to the next entry.
+ */
+public final class PositionTable {
+
+    public static final String RESOURCE_SUFFIX = ".abspos";
+
+    /** Table for classes that have no position information. */
+    public static final PositionTable EMPTY = new PositionTable(new int[0], new Entry[0]);
+
+    public record Entry(String context, String file, int line) { }
+
+    private final int[] javaLines;
+    private final Entry[] entries;
+
+    private PositionTable(int[] javaLines, Entry[] entries) {
+        this.javaLines = javaLines;
+        this.entries = entries;
+    }
+
+    /**
+     * Load the position table of the given (top-level) class.
+     *
+     * @return the table, or {@link #EMPTY} if there is none
+     */
+    public static PositionTable load(ClassLoader loader, String className) {
+        String resource = className.replace('.', '/') + RESOURCE_SUFFIX;
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) return EMPTY;
+            return read(in);
+        } catch (IOException | RuntimeException e) {
+            return EMPTY;
+        }
+    }
+
+    static PositionTable read(InputStream in) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        int[] javaLines = new int[16];
+        BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = r.readLine()) != null) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 4) continue;
+            int javaLine = Integer.parseInt(fields[0]);
+            Entry entry = new Entry(fields[2], fields[3].isEmpty() ? null : fields[3], Integer.parseInt(fields[1]));
+            int n = entries.size();
+            if (n > 0 && javaLines[n - 1] == javaLine) {
+                // nested statements starting on the same line: keep the innermost
+                entries.set(n - 1, entry);
+                continue;
+            }
+            if (n == javaLines.length) {
+                javaLines = Arrays.copyOf(javaLines, n * 2);
+            }
+            javaLines[n] = javaLine;
+            entries.add(entry);
+        }
+        return new PositionTable(Arrays.copyOf(javaLines, entries.size()), entries.toArray(new Entry[0]));
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    /**
+     * Return the ABS position of the given Java line, or null if the
+     * line precedes all known positions.
+     */
+    public Entry lookup(int javaLine) {
+        int i = Arrays.binarySearch(javaLines, javaLine);
+        if (i < 0) i = -i - 2;   // last entry before javaLine
+        return i < 0 ? null : entries[i];
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.abs_models.backend.java.lib.runtime.ABSRuntime;
+import org.abs_models.backend.java.lib.runtime.Logging;
+import org.abs_models.backend.java.lib.runtime.Task;
+import org.abs_models.backend.java.observing.DefaultSystemObserver;
+
+/**
+ * A sampling profiler that attributes running time to ABS methods,
+ * functions and source lines.
+ *
+ * At a fixed interval, the stacks of all threads currently executing
+ * an ABS task are sampled.  Java frames of generated code are mapped
+ * back to ABS positions via the {@link PositionTable}s written by the
+ * code generator; frames of the runtime and of libraries are
+ * attributed to the nearest enclosing ABS frame.  When the model
+ * terminates, the samples are written in the "collapsed stack" format
+ * ({@code frame;frame;frame count}) understood by flame graph tools
+ * such as flamegraph.pl and speedscope.
+ */
+public class SamplingProfiler extends DefaultSystemObserver implements Runnable {
+
+    private static final Logger log = Logging.getLogger(SamplingProfiler.class.getName());
+
+    private static final String TASK_CLASS = Task.class.getName();
+    private static final String RUNTIME_FRAME = "[runtime]";
+
+    private final ABSRuntime runtime;
+    private final File outputFile;
+    private final long interval;
+
+    /** Collapsed stack -> number of samples; guarded by itself. */
+    private final Map<String, Long> samples = new HashMap<>();
+    /** Position tables by top-level class name; only used by the sampler thread. */
+    private final Map<String, PositionTable> tables = new HashMap<>();
+
+    private volatile boolean running = false;
+    private final AtomicBoolean written = new AtomicBoolean(false);
+    private long sampleCount = 0;
+
+    public SamplingProfiler(ABSRuntime runtime, File outputFile, long interval) {
+        this.runtime = runtime;
+        this.outputFile = outputFile;
+        this.interval = Math.max(1, interval);
+    }
+
+    @Override
+    public void systemStarted() {
+        running = true;
+        Thread sampler = new Thread(this, "ABS Sampling Profiler");
+        sampler.setDaemon(true);
+        sampler.start();
+        // The model may be terminated via System.exit (e.g., by the
+        // clock limit), in which case systemFinished is not called.
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writeProfile, "ABS Profile Writer"));
+    }
+
+    @Override
+    public void systemFinished() {
+        writeProfile();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            sample();
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void sample() {
+        for (Map.Entry<Thread, StackTraceElement[]> e : Thread.getAllStackTraces().entrySet()) {
+            if (e.getKey().getState() != Thread.State.RUNNABLE) continue;
+            String stack = collapse(e.getValue(), this::lookup);
+            if (stack != null) {
+                synchronized (samples) {
+                    samples.merge(stack, 1L, Long::sum);
+                    sampleCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert a Java stack trace into a collapsed ABS stack, outermost
+     * frame first.  Returns null if the thread does not execute an
+     * ABS task.  {@code lookup} maps a frame to its ABS position, or
+     * to null for frames of the runtime and of libraries.
+     */
+    static String collapse(StackTraceElement[] trace, Function<StackTraceElement, PositionTable.Entry> lookup) {
+        int taskFrame = -1;
+        for (int i = 0; i < trace.length; i++) {
+            if (trace[i].getClassName().equals(TASK_CLASS) && trace[i].getMethodName().equals("run")) {
+                taskFrame = i;
+                break;
+            }
+        }
+        if (taskFrame < 0) return null;
+
+        List<String> contexts = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+        for (int i = taskFrame - 1; i >= 0; i--) {
+            StackTraceElement frame = trace[i];
+            if (frame.getLineNumber() <= 0 || isAsyncCallWrapper(frame)) continue;
+            PositionTable.Entry pos = lookup.apply(frame);
+            if (pos == null) continue;
+            int last = contexts.size() - 1;
+            if (last >= 0 && contexts.get(last).equals(pos.context())) {
+                // several Java frames (e.g., let expressions) within one ABS definition
+                lines.set(last, pos.line());
+            } else {
+                contexts.add(pos.context());
+                lines.add(pos.line());
+            }
+        }
+
+        if (contexts.isEmpty()) return RUNTIME_FRAME;
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < contexts.size(); i++) {
+            if (i > 0) result.append(';');
+            result.append(contexts.get(i)).append(':').append(lines.get(i));
+        }
+        return result.toString();
+    }
+
+    /**
+     * The anonymous classes that start asynchronous method calls are
+     * generated at the call site, but run as the first frame of the
+     * called task; we skip them to not attribute the callee to the
+     * caller.
+     */
+    private static boolean isAsyncCallWrapper(StackTraceElement frame) {
+        return frame.getMethodName().equals("call") && frame.getClassName().indexOf('$') >= 0;
+    }
+
+    private PositionTable.Entry lookup(StackTraceElement frame) {
+        String className = frame.getClassName();
+        if (className.startsWith("java.") || className.startsWith("jdk.")
+            || className.startsWith("org.abs_models.") || className.startsWith("org.apfloat.")) {
+            return null;
+        }
+        int inner = className.indexOf('$');
+        if (inner >= 0) className = className.substring(0, inner);
+        PositionTable table = tables.computeIfAbsent(className,
+            name -> PositionTable.load(runtime.getClassLoader(), name));
+        return table.lookup(frame.getLineNumber());
+    }
+
+    private void writeProfile() {
+        running = false;
+        if (!written.compareAndSet(false, true)) return;
+        Map<String, Long> sorted;
+        long count;
+        synchronized (samples) {
+            sorted = new TreeMap<>(samples);
+            count = sampleCount;
+        }
+        try (PrintWriter out = new PrintWriter(outputFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> e : sorted.entrySet()) {
+                out.println(e.getKey() + " " + e.getValue());
+            }
+            log.info(() -> "Wrote " + count + " samples to " + outputFile);
+        } catch (IOException e) {
+            System.err.println("Could not write profile to " + outputFile + ": " + e.getMessage());
+        }
+    }
+}
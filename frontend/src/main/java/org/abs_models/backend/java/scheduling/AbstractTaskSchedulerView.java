@@ -4,56 +4,52 @@
  */
 package org.abs_models.backend.java.scheduling;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.abs_models.backend.java.lib.runtime.ABSGuard;
+import org.abs_models.backend.java.observing.ObserverEvent;
+import org.abs_models.backend.java.observing.ObserverList;
 import org.abs_models.backend.java.observing.TaskSchedulerObserver;
 import org.abs_models.backend.java.observing.TaskSchedulerView;
 import org.abs_models.backend.java.observing.TaskView;
 
 public abstract class AbstractTaskSchedulerView implements TaskSchedulerView {
 
-    private List<TaskSchedulerObserver> observers;
+    private final ObserverList<TaskSchedulerObserver> observers = new ObserverList<>();
 
     @Override
-    public synchronized void registerTaskSchedulerObserver(TaskSchedulerObserver listener) {
-        getObservers().add(listener);
+    public void registerTaskSchedulerObserver(TaskSchedulerObserver listener) {
+        observers.add(listener);
     }
 
-    private synchronized List<TaskSchedulerObserver> getObservers() {
-        if (observers == null) {
-            observers = new ArrayList<>(1);
-        }
-        return observers;
+    /**
+     * Check whether some observer wants to receive {@code event};
+     * schedulers use this to avoid creating task views nobody sees.
+     */
+    public boolean isObserved(ObserverEvent event) {
+        return observers.isObserved(event);
     }
 
     public void taskResumed(TaskView runningTask, ABSGuard g) {
-        for (TaskSchedulerObserver l : getObserverCopy()) {
-            l.taskResumed(runningTask, g.getView());
-        }
+        if (observers.isObserved(ObserverEvent.TASK_RESUMED))
+            observers.notify(ObserverEvent.TASK_RESUMED, runningTask, g.getView(), null, 0);
     }
 
     public void taskSuspended(TaskView runningTask, ABSGuard g) {
-        for (TaskSchedulerObserver l : getObserverCopy()) {
-            l.taskSuspended(runningTask, g.getView());
-        }
+        if (observers.isObserved(ObserverEvent.TASK_SUSPENDED))
+            observers.notify(ObserverEvent.TASK_SUSPENDED, runningTask, g.getView(), null, 0);
     }
 
     public void taskAdded(TaskView view) {
-        for (TaskSchedulerObserver l : getObserverCopy()) {
-            l.taskCreated(view);
-        }
+        observers.notify(ObserverEvent.TASK_CREATED, view, null, null, 0);
     }
 
     public void taskReady(TaskView view) {
-        for (TaskSchedulerObserver l : getObserverCopy()) {
-            l.taskReady(view);
-        }
+        observers.notify(ObserverEvent.TASK_READY, view, null, null, 0);
     }
 
-    public synchronized List<TaskSchedulerObserver> getObserverCopy() {
-        return new ArrayList<>(observers);
+    public List<TaskSchedulerObserver> getObserverCopy() {
+        return observers.toList();
     }
 
 }
@@ -15,6 +15,7 @@ import org.abs_models.backend.java.lib.runtime.ABSThreadManager;
 import org.abs_models.backend.java.lib.runtime.COG;
 import org.abs_models.backend.java.lib.runtime.Logging;
 import org.abs_models.backend.java.lib.runtime.Task;
+import org.abs_models.backend.java.observing.ObserverEvent;
 import org.abs_models.backend.java.observing.TaskSchedulerView;
 import org.abs_models.backend.java.observing.TaskView;
 
@@ -63,9 +64,9 @@ public class DefaultTaskScheduler implements TaskScheduler {
     @Override
     public synchronized void addTaskToScheduler(Task<?> task) {
         newTasks.add(task);
-        if (view != null)
+        if (view != null && view.isObserved(ObserverEvent.TASK_CREATED))
             view.taskAdded(task.getView());
-        log.finest(() -> task + " ADDED TO QUEUE");
+        if (Logging.FINEST) log.finest(() -> task + " ADDED TO QUEUE");
 
         if (runningThread == null) {
             // We're idle and/or all threads are suspended waiting:
@@ -128,14 +129,14 @@ public class DefaultTaskScheduler implements TaskScheduler {
                         Thread.currentThread().setName("ABS Scheduler Thread executing " + activeTask.toString());
                     }
 
-                    log.finest(() -> "Executing " + runningTask);
+                    if (Logging.FINEST) log.finest(() -> "Executing " + runningTask);
                     try {
                         runningTask.run();
                         cog.notifyEnded();
-                        log.finest(() -> "Task " + runningTask + " FINISHED");
+                        if (Logging.FINEST) log.finest(() -> "Task " + runningTask + " FINISHED");
 
                     } catch (Exception e) {
-                        log.finest(() -> "EXCEPTION in Task " + runningTask);
+                        if (Logging.FINEST) log.finest(() -> "EXCEPTION in Task " + runningTask);
                         e.printStackTrace();
                     }
                 }
@@ -152,7 +153,7 @@ public class DefaultTaskScheduler implements TaskScheduler {
                 if (!newTasks.isEmpty()) {
                     // A new method call came in while we were running: create
                     // its thread
-                    log.finest(() -> runningTask + " on " + g + " Starting new Scheduler Thread");
+                    if (Logging.FINEST) log.finest(() -> runningTask + " on " + g + " Starting new Scheduler Thread");
                     runningThread = new SchedulerThread();
                     new Thread(runningThread).start();
                 } else {
@@ -160,7 +161,7 @@ public class DefaultTaskScheduler implements TaskScheduler {
                     // `runningThread` to null, so someone else can grab it
                     DefaultTaskScheduler.this.notifyAll();
                 }
-                log.finest(() -> runningTask + " on " + g + " SUSPENDING");
+                if (Logging.FINEST) log.finest(() -> runningTask + " on " + g + " SUSPENDING");
             }
 
             View v = view;
@@ -168,14 +169,14 @@ public class DefaultTaskScheduler implements TaskScheduler {
                 v.taskSuspended(runningTask.getView(), g);
             }
 
-            log.finest(() -> runningTask + " AWAITING " + g);
+            if (Logging.FINEST) log.finest(() -> runningTask + " AWAITING " + g);
             boolean taskReady = g.await(cog, runningTask); // Note that this might suspend the thread
             if (Thread.interrupted()) {
                 return;
             }
             if (taskReady && g.staysTrue()) {
-                log.finest(() -> runningTask + " " + g + " READY");
-                if (v != null)
+                if (Logging.FINEST) log.finest(() -> runningTask + " " + g + " READY");
+                if (v != null && v.isObserved(ObserverEvent.TASK_READY))
                     v.taskReady(runningTask.getView());
             }
 
@@ -184,9 +185,9 @@ public class DefaultTaskScheduler implements TaskScheduler {
                     // Sleep when someone else is running, or our guard
                     // evalutes to false
                     try {
-                        log.finest(() -> runningTask + " " + g + " WAITING FOR WAKE UP");
+                        if (Logging.FINEST) log.finest(() -> runningTask + " " + g + " WAITING FOR WAKE UP");
                         DefaultTaskScheduler.this.wait();
-                        log.finest(() -> runningTask + " WOKE UP...");
+                        if (Logging.FINEST) log.finest(() -> runningTask + " WOKE UP...");
                     } catch (InterruptedException e) {
                         e.printStackTrace();
                         break;
@@ -199,7 +200,7 @@ public class DefaultTaskScheduler implements TaskScheduler {
             if (v != null)
                 v.taskResumed(runningTask.getView(), g);
 
-            log.finest(() -> runningTask + " " + g + " ACTIVE");
+            if (Logging.FINEST) log.finest(() -> runningTask + " " + g + " ACTIVE");
         }
 
 	@Override
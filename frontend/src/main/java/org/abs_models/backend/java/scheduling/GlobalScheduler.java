@@ -9,7 +9,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.abs_models.backend.java.lib.runtime.ABSDeadlockException;
@@ -45,12 +44,12 @@ public class GlobalScheduler {
     public void doNextScheduleStep() {
         if (isShutdown) return;
         int i = counter.incrementAndGet();
-        logger.finest(() -> "===" + i + ": Do next step...");
+        if (Logging.FINEST) logger.finest(() -> "===" + i + ": Do next step...");
         ScheduleAction next = null;
         synchronized (this) {
             if (nextStepWaitStack.size() > 0) {
                 SimpleLock l = nextStepWaitStack.remove(nextStepWaitStack.size()-1);
-                logger.finest(() -> "===" + i + ": Ignored step, awaking thread ");
+                if (Logging.FINEST) logger.finest(() -> "===" + i + ": Ignored step, awaking thread ");
                 l.unlock();
                 return;
             }
@@ -82,28 +81,28 @@ public class GlobalScheduler {
                     }
                 }
 
-                logger.info("No steps left. Program finished");
-                logger.info("Total number of global choices: " + totalNumChoices);
+                if (Logging.INFO) logger.info("No steps left. Program finished");
+                if (Logging.INFO) logger.info("Total number of global choices: " + totalNumChoices);
                 if (totalNumChoices == 0) {
-                    logger.info("Program is deterministic!");
+                    if (Logging.INFO) logger.info("Program is deterministic!");
                 }
                 return;
             }
 
             totalNumChoices += options.numOptions() - 1;
 
-            logger.finest(() -> "===" + i + " Choose next action...");
+            if (Logging.FINEST) logger.finest(() -> "===" + i + " Choose next action...");
             next = strategy.choose(options);
-            if (logger.isLoggable(Level.FINEST)) logger.finest("===" + i + " Action " + next + " chosen");
+            if (Logging.FINEST) logger.finest("===" + i + " Action " + next + " chosen");
             options.removeOption(next);
-            if (logger.isLoggable(Level.FINEST)) logger.finest("===" + i + " Executing Action " + next);
+            if (Logging.FINEST) logger.finest("===" + i + " Executing Action " + next);
         }
         if (isShutdown) return;
         int j = counter.intValue();
         if (i != j)
             logger.warning(() -> "#### Interleaving detected " + i + " != " + j);
         next.execute();
-        if (logger.isLoggable(Level.FINEST)) logger.finest("===" + i + " Action " + next + " was executed.");
+        if (Logging.FINEST) logger.finest("===" + i + " Action " + next + " was executed.");
     }
 
     public void stepTask(Task<?> task) throws InterruptedException {
@@ -137,10 +136,10 @@ public class GlobalScheduler {
         synchronized void awaitUnlocked() {
             while (locked) {
                 try {
-                    logger.finest("Awaiting next step...");
+                    if (Logging.FINEST) logger.finest("Awaiting next step...");
                     wait();
                 } catch (InterruptedException e) {
-                    logger.fine("was interrupted");
+                    if (Logging.FINE) logger.fine("was interrupted");
                     Thread.currentThread().interrupt();
                     break;
                 }
@@ -190,7 +189,7 @@ public class GlobalScheduler {
         Waker w = new Waker(this);
         fut.addWaitingThread(w);
         runtime.doNextStep();
-        logger.finest("future waiting");
+        if (Logging.FINEST) logger.finest("future waiting");
         w.await();
 
     }
@@ -213,25 +212,25 @@ public class GlobalScheduler {
                 try {
                     wait();
                 } catch (InterruptedException e) {
-                    logger.fine("received interrupt exception");
+                    if (Logging.FINE) logger.fine("received interrupt exception");
                     Thread.currentThread().interrupt();
                     break;
                 }
 
             }
-            logger.finest("task awaked");
+            if (Logging.FINEST) logger.finest("task awaked");
         }
 
         @Override
         public void checkGuard() {
-            logger.finest("checking guard...");
+            if (Logging.FINEST) logger.finest("checking guard...");
 
             SimpleLock l = new SimpleLock();
             globalScheduler.ignoreNextStep(l);
 
             awake();
 
-            logger.finest("await next step");
+            if (Logging.FINEST) logger.finest("await next step");
 
             // we are now waiting for the awaked thread to do the
             // call to doNextScheduleStep, so that there are no
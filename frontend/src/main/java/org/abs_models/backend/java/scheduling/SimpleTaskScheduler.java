@@ -23,6 +23,7 @@ import org.abs_models.backend.java.lib.runtime.COG;
 import org.abs_models.backend.java.lib.runtime.Logging;
 import org.abs_models.backend.java.lib.runtime.SystemTerminatedException;
 import org.abs_models.backend.java.lib.runtime.Task;
+import org.abs_models.backend.java.observing.ObserverEvent;
 import org.abs_models.backend.java.observing.TaskSchedulerView;
 import org.abs_models.backend.java.observing.TaskView;
 
@@ -140,25 +141,25 @@ public class SimpleTaskScheduler implements TaskScheduler {
     }
 
     protected void taskFinished() {
-        logger.finest("Task finished getting monitor...");
+        if (Logging.FINEST) logger.finest("Task finished getting monitor...");
         TaskInfo finishedTask = null;
         synchronized (this) {
-            logger.finest("got monitor");
+            if (Logging.FINEST) logger.finest("got monitor");
             finishedTask = activeTask;
             finishedTask.task.setFinished(true);
             activeTask = null;
             if (suspendedTasks.size() + readyTasks.size() > 0) {
-                logger.finest("calling schedule...");
+                if (Logging.FINEST) logger.finest("calling schedule...");
                 schedule();
-                logger.finest("schedule called");
+                if (Logging.FINEST) logger.finest("schedule called");
             }
         }
-        logger.finest("do next step");
+        if (Logging.FINEST) logger.finest("do next step");
         // we now have to wait for all tasks that waited for the future
         // of this task to give them the opportunity to add a schedule action
         // to the global scheduler, before we do this step
         runtime.doNextStep();
-        logger.finest("next step done");
+        if (Logging.FINEST) logger.finest("next step done");
     }
 
 
@@ -166,7 +167,7 @@ public class SimpleTaskScheduler implements TaskScheduler {
     public synchronized void addTaskToScheduler(final Task<?> task) {
 
         readyTasks.add(new TaskInfo(task));
-        if (view != null)
+        if (view != null && view.isObserved(ObserverEvent.TASK_CREATED))
             view.taskAdded(task.getView());
 
         if (activeTask == null) {
@@ -236,16 +237,16 @@ public class SimpleTaskScheduler implements TaskScheduler {
             // because schedule might get called
             synchronized (SimpleTaskScheduler.this) {
                 synchronized (this) {
-                    logger.finest(executingTask + " checking guard");
+                    if (Logging.FINEST) logger.finest(executingTask + " checking guard");
                     if (guard.isTrue() && guard.staysTrue()) {
-                        logger.finest(executingTask + " got monitor");
+                        if (Logging.FINEST) logger.finest(executingTask + " got monitor");
                         suspendedTasks.remove(executingTask);
                         readyTasks.add(executingTask);
                         executingTask.makeReady();
-                        if (view != null)
+                        if (view != null && view.isObserved(ObserverEvent.TASK_READY))
                             view.taskReady(executingTask.task.getView());
                         if (activeTask == null) {
-                            logger.finest(executingTask + " scheduling myself");
+                            if (Logging.FINEST) logger.finest(executingTask + " scheduling myself");
                             schedule();
                         }
                     }
@@ -254,31 +255,31 @@ public class SimpleTaskScheduler implements TaskScheduler {
         }
 
         synchronized void setGuard(ABSGuard g) {
-            logger.finest(executingTask + " awaiting " + g);
+            if (Logging.FINEST) logger.finest(executingTask + " awaiting " + g);
             active = false;
             this.guard = g;
 
-            logger.finest(executingTask + " registering at threads...");
+            if (Logging.FINEST) logger.finest(executingTask + " registering at threads...");
             boolean wasAdded = registerAtThreads(g);
 
             if (!wasAdded) {
-                logger.fine(this+" was not added to guard "+g);
+                if (Logging.FINE) logger.fine(this+" was not added to guard "+g);
             }
         }
 
         void await(ABSGuard g) {
 
-            logger.finest(executingTask + " next step done going into monitor");
+            if (Logging.FINEST) logger.finest(executingTask + " next step done going into monitor");
             synchronized (this) {
                 try {
-                    logger.finest(executingTask + " waiting to be resumed");
+                    if (Logging.FINEST) logger.finest(executingTask + " waiting to be resumed");
                     while (!active) {
                         wait();
                     }
                 } catch (InterruptedException e) {
                     wasInterrupted(e);
                 }
-                logger.finest(executingTask + " resumed");
+                if (Logging.FINEST) logger.finest(executingTask + " resumed");
                 active = true;
             }
         }
@@ -288,7 +289,7 @@ public class SimpleTaskScheduler implements TaskScheduler {
             if (g instanceof ABSFutureGuard) {
                 ABSFutureGuard fg = (ABSFutureGuard) g;
                 wasAdded = fg.fut.addWaitingThread(this);
-                logger.finest(executingTask + " was "+(wasAdded ? "" :"NOT ")+"added to " + fg.fut);
+                if (Logging.FINEST) logger.finest(executingTask + " was "+(wasAdded ? "" :"NOT ")+"added to " + fg.fut);
             } else if (g instanceof ABSDurationGuard) {
                 // XXX register in Runtime?  Have runtime have priority queue?
             } else if (g instanceof ABSAndGuard) {
@@ -302,7 +303,7 @@ public class SimpleTaskScheduler implements TaskScheduler {
         public synchronized void awake() {
             active = true;
             notify();
-            logger.fine(executingTask.toString() + " awaked");
+            if (Logging.FINE) logger.fine(executingTask.toString() + " awaked");
         }
 
     }
@@ -311,31 +312,30 @@ public class SimpleTaskScheduler implements TaskScheduler {
         if (runtime.hasGlobalScheduler()) {
             if (suspendedTasks.isEmpty() && readyTasks.isEmpty())
                 return;
-            logger.finest("Adding scheduling action...");
+            if (Logging.FINEST) logger.finest("Adding scheduling action...");
             runtime.addScheduleAction(new ScheduleTask(cog) {
                 @Override
                 public void execute() {
-                    logger.finest("Calling do schedule");
+                    if (Logging.FINEST) logger.finest("Calling do schedule");
                     doSchedule();
                 }
 
             });
-            logger.finest("Done");
+            if (Logging.FINEST) logger.finest("Done");
         } else {
             doSchedule();
         }
     }
 
     private void doSchedule() {
-        logger.finest("Executing doSchedule...");
+        if (Logging.FINEST) logger.finest("Executing doSchedule...");
 
         List<TaskInfo> choices = getSchedulableTasks();
 
-        if (logger.isLoggable(Level.INFO))
-            logger.info("COG " + cog.getID() + " scheduling choices: " + choices);
+        if (Logging.INFO) Logging.event(logger, Level.INFO, "schedule", "cog", cog.getID(), "choices", choices);
 
         if (choices.isEmpty()) {
-            logger.info("Choices are empty!");
+            if (Logging.INFO) logger.info("Choices are empty!");
             runtime.doNextStep();
             return;
         }
@@ -367,10 +367,10 @@ public class SimpleTaskScheduler implements TaskScheduler {
     private synchronized void activateTask(TaskInfo nextTask) {
         activeTask = nextTask;
         if (activeTask.thread != null) {
-            logger.info("COG " + cog.getID() + " awaking " + activeTask);
+            if (Logging.INFO) Logging.event(logger, Level.INFO, "awake", "cog", cog.getID(), "task", activeTask);
             activeTask.thread.awake();
         } else {
-            logger.info("COG " + cog.getID() + " creating " + activeTask);
+            if (Logging.INFO) Logging.event(logger, Level.INFO, "create", "cog", cog.getID(), "task", activeTask);
             activeTask.thread = new SimpleSchedulerThread(activeTask);
             new Thread(activeTask.thread).start();
             activeTask.task.setStart(System.currentTimeMillis());
@@ -436,13 +436,13 @@ public class SimpleTaskScheduler implements TaskScheduler {
             currentTask.suspend(g);
             suspendedTasks.add(currentTask);
             activeTask = null;
-            if (view != null)
+            if (view != null && view.isObserved(ObserverEvent.TASK_SUSPENDED))
                 view.taskSuspended(currentTask.task.getView(), g);
 
             thread.setGuard(g);
 
             if (g.isTrue() || (suspendedTasks.size() + readyTasks.size()) > 1) {
-                logger.fine("issuing a schedule");
+                if (Logging.FINE) logger.fine("issuing a schedule");
                 schedule();
             }
 
@@ -459,7 +459,7 @@ public class SimpleTaskScheduler implements TaskScheduler {
             thread.await(g);
         }
 
-        if (view != null)
+        if (view != null && view.isObserved(ObserverEvent.TASK_RESUMED))
             view.taskResumed(currentTask.task.getView(), g);
 
     }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a trace file written by {@link BinaryTraceWriter}.
+ */
+public class BinaryTraceReader implements Closeable {
+
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private final long startTimeMillis;
+    private boolean atEnd = false;
+
+    public BinaryTraceReader(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    public BinaryTraceReader(InputStream stream) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        byte[] magic = new byte[TraceFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, TraceFormat.MAGIC)) {
+            throw new IOException("Not an ABS trace file");
+        }
+        int version = in.readInt();
+        if (version != TraceFormat.VERSION) {
+            throw new IOException("Unsupported trace version " + version);
+        }
+        startTimeMillis = in.readLong();
+    }
+
+    /**
+     * @return the wall-clock time the trace was started, in
+     *         milliseconds since the epoch
+     */
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+
+    /**
+     * @return the next event, or null at the end of the trace
+     */
+    public TraceEvent next() throws IOException {
+        try {
+            while (!atEnd) {
+                byte type = in.readByte();
+                switch (type) {
+                case TraceFormat.STRING -> {
+                    int id = in.readInt();
+                    byte[] bytes = new byte[in.readUnsignedShort()];
+                    in.readFully(bytes);
+                    while (strings.size() <= id) strings.add(null);
+                    strings.set(id, new String(bytes, StandardCharsets.UTF_8));
+                }
+                case TraceFormat.COG_CREATED -> {
+                    return new TraceEvent.CogCreated(in.readLong(), in.readInt(), in.readLong(), string(in.readInt()));
+                }
+                case TraceFormat.OBJECT_CREATED -> {
+                    return new TraceEvent.ObjectCreated(in.readLong(), in.readInt(), in.readLong(), string(in.readInt()));
+                }
+                case TraceFormat.MESSAGE -> {
+                    return new TraceEvent.MessageSent(in.readLong(), in.readInt(), in.readInt(),
+                                                      in.readLong(), string(in.readInt()),
+                                                      in.readLong(), string(in.readInt()), in.readInt(),
+                                                      string(in.readInt()), in.readInt());
+                }
+                case TraceFormat.TASK_STARTED -> {
+                    return new TraceEvent.TaskStarted(in.readLong(), in.readInt());
+                }
+                case TraceFormat.TASK_FINISHED -> {
+                    return new TraceEvent.TaskFinished(in.readLong(), in.readInt());
+                }
+                case TraceFormat.FUTURE_RESOLVED -> {
+                    return new TraceEvent.FutureResolved(in.readLong(), in.readInt());
+                }
+                case TraceFormat.END -> atEnd = true;
+                default -> throw new IOException("Corrupt trace file: unknown record type " + type);
+                }
+            }
+        } catch (EOFException e) {
+            // trace of a model that did not shut down cleanly
+            atEnd = true;
+        }
+        return null;
+    }
+
+    /**
+     * Read all remaining events.
+     */
+    public List<TraceEvent> readAll() throws IOException {
+        List<TraceEvent> result = new ArrayList<>();
+        TraceEvent e;
+        while ((e = next()) != null) {
+            result.add(e);
+        }
+        return result;
+    }
+
+    private String string(int id) {
+        return id >= 0 && id < strings.size() ? strings.get(id) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.abs_models.backend.java.lib.runtime.ABSException;
+import org.abs_models.backend.java.lib.runtime.Logging;
+import org.abs_models.backend.java.observing.COGView;
+import org.abs_models.backend.java.observing.DefaultTaskObserver;
+import org.abs_models.backend.java.observing.FilteringObserver;
+import org.abs_models.backend.java.observing.FutObserver;
+import org.abs_models.backend.java.observing.FutView;
+import org.abs_models.backend.java.observing.GuardView;
+import org.abs_models.backend.java.observing.ObjectCreationObserver;
+import org.abs_models.backend.java.observing.ObjectView;
+import org.abs_models.backend.java.observing.ObserverEvent;
+import org.abs_models.backend.java.observing.SystemObserver;
+import org.abs_models.backend.java.observing.TaskSchedulerObserver;
+import org.abs_models.backend.java.observing.TaskView;
+
+/**
+ * Records message sends, task starts and finishes, future resolutions
+ * and object creations into a binary trace file (see {@link
+ * TraceFormat}).
+ *
+ * The file is written through memory-mapped regions, so recording an
+ * event amounts to a few stores into memory; the operating system
+ * writes the data to disk.  Use {@link TraceTool} to convert traces
+ * into other formats.
+ */
+public class BinaryTraceWriter implements SystemObserver, ObjectCreationObserver, TaskSchedulerObserver,
+                                          FutObserver, FilteringObserver {
+
+    private static final Logger log = Logging.getLogger(BinaryTraceWriter.class.getName());
+
+    private static final int REGION_SIZE = 16 << 20;
+
+    private final File file;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final TaskListener taskListener = new TaskListener();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    /** File offset of {@link #buffer}. */
+    private long regionStart = 0;
+    private boolean closed = false;
+
+    public BinaryTraceWriter(File file) throws IOException {
+        this.file = file;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+        buffer.put(TraceFormat.MAGIC);
+        buffer.putInt(TraceFormat.VERSION);
+        buffer.putLong(System.currentTimeMillis());
+    }
+
+    @Override
+    public Set<ObserverEvent> getObservedEvents() {
+        return EnumSet.of(ObserverEvent.OBJECT_CREATED, ObserverEvent.TASK_CREATED,
+                          ObserverEvent.TASK_STARTED, ObserverEvent.TASK_FINISHED,
+                          ObserverEvent.FUTURE_RESOLVED);
+    }
+
+    private long now() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Make room for a record of {@code size} bytes, mapping the next
+     * region of the file if necessary.  Returns false if the trace is
+     * closed.
+     */
+    private boolean ensure(int size) {
+        if (closed) return false;
+        if (buffer.remaining() < size) {
+            long position = regionStart + buffer.position();
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(REGION_SIZE, size));
+                regionStart = position;
+            } catch (IOException e) {
+                log.log(Level.SEVERE, "Could not extend trace file " + file + ", stopping trace", e);
+                close();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int string(String s) {
+        if (s == null) return -1;
+        Integer id = strings.get(s);
+        if (id == null) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, 0xFFFF);
+            if (!ensure(1 + 4 + 2 + length)) return -1;
+            id = strings.size();
+            strings.put(s, id);
+            buffer.put(TraceFormat.STRING);
+            buffer.putInt(id);
+            buffer.putShort((short)length);
+            buffer.put(bytes, 0, length);
+        }
+        return id;
+    }
+
+    private void recordObject(byte type, COGView cog, ObjectView o) {
+        recordObject(type, cog.getID(), o.getID(), o.getClassName());
+    }
+
+    synchronized void recordObject(byte type, int cog, long object, String className) {
+        int classId = string(className);
+        if (!ensure(TraceFormat.MAX_RECORD_SIZE)) return;
+        buffer.put(type);
+        buffer.putLong(now());
+        buffer.putInt(cog);
+        buffer.putLong(object);
+        buffer.putInt(classId);
+    }
+
+    private void recordMessage(TaskView task) {
+        ObjectView source = task.getSourceObjectView();
+        ObjectView target = task.getTargetObjectView();
+        TaskView sender = task.getSenderView();
+        recordMessage(task.getID(), sender == null ? -1 : sender.getID(),
+                      source == null ? -1 : source.getID(), source == null ? null : source.getClassName(),
+                      target.getID(), target.getClassName(), task.getCOGView().getID(),
+                      task.getMethodName(), task.getFutView().getID());
+    }
+
+    synchronized void recordMessage(int task, int senderTask, long sourceObject, String sourceClass,
+                                    long targetObject, String targetClass, int targetCog,
+                                    String method, int future) {
+        int sourceClassId = string(sourceClass);
+        int targetClassId = string(targetClass);
+        int methodId = string(method);
+        if (!ensure(TraceFormat.MAX_RECORD_SIZE)) return;
+        buffer.put(TraceFormat.MESSAGE);
+        buffer.putLong(now());
+        buffer.putInt(task);
+        buffer.putInt(senderTask);
+        buffer.putLong(sourceObject);
+        buffer.putInt(sourceClassId);
+        buffer.putLong(targetObject);
+        buffer.putInt(targetClassId);
+        buffer.putInt(targetCog);
+        buffer.putInt(methodId);
+        buffer.putInt(future);
+    }
+
+    synchronized void record(byte type, int id) {
+        if (!ensure(TraceFormat.MAX_RECORD_SIZE)) return;
+        buffer.put(type);
+        buffer.putLong(now());
+        buffer.putInt(id);
+    }
+
+    @Override
+    public void systemStarted() {
+    }
+
+    @Override
+    public void newCOGCreated(COGView cog, ObjectView initialObject) {
+        recordObject(TraceFormat.COG_CREATED, cog, initialObject);
+        cog.registerObjectCreationListener(this);
+        cog.getSchedulerView().registerTaskSchedulerObserver(this);
+    }
+
+    @Override
+    public void objectCreated(ObjectView o) {
+        recordObject(TraceFormat.OBJECT_CREATED, o.getCOGView(), o);
+    }
+
+    @Override
+    public void objectInitialized(ObjectView o) {
+    }
+
+    @Override
+    public void taskCreated(TaskView task) {
+        recordMessage(task);
+        task.registerTaskListener(taskListener);
+        task.getFutView().registerFutObserver(this);
+    }
+
+    @Override
+    public void taskReady(TaskView view) {
+    }
+
+    @Override
+    public void taskResumed(TaskView runningTask, GuardView view) {
+    }
+
+    @Override
+    public void taskSuspended(TaskView task, GuardView guard) {
+    }
+
+    @Override
+    public void onResolved(FutView fut, Object value) {
+        record(TraceFormat.FUTURE_RESOLVED, fut.getID());
+    }
+
+    @Override
+    public void systemError(ABSException e) {
+    }
+
+    @Override
+    public void systemFinished() {
+        close();
+    }
+
+    /**
+     * Finish the trace and truncate the file to its actual size.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        long size = regionStart + buffer.position();
+        if (buffer.hasRemaining()) buffer.put(TraceFormat.END);
+        buffer.force();
+        buffer = null;
+        try {
+            channel.truncate(size);
+        } catch (IOException e) {
+            // Some platforms cannot truncate mapped files; the END
+            // marker terminates the trace in this case.
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Could not close trace file " + file, e);
+        }
+    }
+
+    private class TaskListener extends DefaultTaskObserver implements FilteringObserver {
+        @Override
+        public Set<ObserverEvent> getObservedEvents() {
+            return EnumSet.of(ObserverEvent.TASK_STARTED, ObserverEvent.TASK_FINISHED);
+        }
+
+        @Override
+        public void taskStarted(TaskView task) {
+            record(TraceFormat.TASK_STARTED, task.getID());
+        }
+
+        @Override
+        public void taskFinished(TaskView task) {
+            record(TraceFormat.TASK_FINISHED, task.getID());
+        }
+    }
+}
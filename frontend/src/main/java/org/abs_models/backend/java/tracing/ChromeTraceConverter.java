@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Converts a trace into the JSON trace event format understood by
+ * Chrome's trace viewer ({@code about:tracing}) and Perfetto
+ * (https://ui.perfetto.dev).
+ *
+ * Each COG is shown as a process and each task as a thread of its
+ * COG, spanning from the start to the end of the task.  Method calls
+ * are shown as flow arrows from the sending task to the started task,
+ * object creations as instant events.
+ */
+public class ChromeTraceConverter {
+
+    public void write(List<TraceEvent> events, OutputStream out) throws IOException {
+        TraceIndex index = new TraceIndex(events);
+        JsonGenerator g = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        g.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        g.writeStartObject();
+        g.writeStringField("displayTimeUnit", "ms");
+        g.writeArrayFieldStart("traceEvents");
+
+        for (Map.Entry<Integer, String> cog : index.cogClasses.entrySet()) {
+            g.writeStartObject();
+            g.writeStringField("name", "process_name");
+            g.writeStringField("ph", "M");
+            g.writeNumberField("pid", cog.getKey());
+            g.writeObjectFieldStart("args");
+            g.writeStringField("name", "COG " + cog.getKey() + " (" + cog.getValue() + ")");
+            g.writeEndObject();
+            g.writeEndObject();
+        }
+
+        for (TraceIndex.Task t : index.tasks.values()) {
+            TraceEvent.MessageSent m = t.message;
+            if (t.started < 0) continue;
+            int cog = m.targetCog();
+            g.writeStartObject();
+            g.writeStringField("name", "thread_name");
+            g.writeStringField("ph", "M");
+            g.writeNumberField("pid", cog);
+            g.writeNumberField("tid", m.task());
+            g.writeObjectFieldStart("args");
+            g.writeStringField("name", "Task " + m.task() + ": " + t.getName());
+            g.writeEndObject();
+            g.writeEndObject();
+
+            long end = t.finished >= 0 ? t.finished : index.endTime;
+            g.writeStartObject();
+            g.writeStringField("name", t.getName());
+            g.writeStringField("cat", "task");
+            g.writeStringField("ph", "X");
+            g.writeNumberField("ts", micros(t.started));
+            g.writeNumberField("dur", micros(end - t.started));
+            g.writeNumberField("pid", cog);
+            g.writeNumberField("tid", m.task());
+            g.writeObjectFieldStart("args");
+            g.writeNumberField("object", m.targetObject());
+            g.writeNumberField("future", m.future());
+            g.writeBooleanField("finished", t.finished >= 0);
+            g.writeEndObject();
+            g.writeEndObject();
+
+            int senderCog = index.getCog(m.senderTask());
+            if (senderCog >= 0) {
+                writeFlow(g, "s", m.task(), m.time(), senderCog, m.senderTask());
+                writeFlow(g, "f", m.task(), t.started, cog, m.task());
+            }
+        }
+
+        for (TraceEvent.ObjectCreated o : index.objectCreations) {
+            g.writeStartObject();
+            g.writeStringField("name", "new " + o.className());
+            g.writeStringField("cat", "object");
+            g.writeStringField("ph", "i");
+            g.writeStringField("s", "p");
+            g.writeNumberField("ts", micros(o.time()));
+            g.writeNumberField("pid", o.cog());
+            g.writeObjectFieldStart("args");
+            g.writeNumberField("object", o.object());
+            g.writeEndObject();
+            g.writeEndObject();
+        }
+
+        g.writeEndArray();
+        g.writeEndObject();
+        g.close();
+    }
+
+    private static void writeFlow(JsonGenerator g, String phase, int id, long time, int pid, int tid) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("name", "call");
+        g.writeStringField("cat", "message");
+        g.writeStringField("ph", phase);
+        if (phase.equals("f")) {
+            // bind to the enclosing slice, i.e., the started task
+            g.writeStringField("bp", "e");
+        }
+        g.writeNumberField("id", id);
+        g.writeNumberField("ts", micros(time));
+        g.writeNumberField("pid", pid);
+        g.writeNumberField("tid", tid);
+        g.writeEndObject();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
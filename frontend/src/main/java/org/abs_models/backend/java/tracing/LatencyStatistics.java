@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes per-method latency statistics from a trace.  For each
+ * method, we report the time tasks wait before starting (from the
+ * message send to the task start), the time they take to finish once
+ * started (including suspensions), and the total time from send to
+ * finish.  Times are given in milliseconds, independent of the
+ * default locale.
+ */
+public class LatencyStatistics {
+
+    private static final class Samples {
+        final List<Long> wait = new ArrayList<>();
+        final List<Long> run = new ArrayList<>();
+        final List<Long> total = new ArrayList<>();
+    }
+
+    public void write(List<TraceEvent> events, PrintStream out) {
+        TraceIndex index = new TraceIndex(events);
+        Map<String, Samples> byMethod = new TreeMap<>();
+        for (TraceIndex.Task t : index.tasks.values()) {
+            if (t.started < 0) continue;
+            Samples s = byMethod.computeIfAbsent(t.getName(), k -> new Samples());
+            s.wait.add(t.started - t.message.time());
+            if (t.finished >= 0) {
+                s.run.add(t.finished - t.started);
+                s.total.add(t.finished - t.message.time());
+            }
+        }
+
+        out.printf(Locale.ROOT, "%-40s %8s %10s %10s %10s %10s %10s %10s %10s %10s%n",
+                   "method", "count", "wait-mean", "wait-p95",
+                   "run-mean", "run-p50", "run-p95", "run-p99", "run-max", "total-p95");
+        for (Map.Entry<String, Samples> e : byMethod.entrySet()) {
+            Samples s = e.getValue();
+            long[] wait = sorted(s.wait);
+            long[] run = sorted(s.run);
+            long[] total = sorted(s.total);
+            out.printf(Locale.ROOT, "%-40s %8d %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                       e.getKey(), wait.length,
+                       mean(wait), percentile(wait, 95),
+                       mean(run), percentile(run, 50), percentile(run, 95), percentile(run, 99),
+                       percentile(run, 100), percentile(total, 95));
+        }
+    }
+
+    private static long[] sorted(List<Long> values) {
+        long[] result = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double mean(long[] values) {
+        return values.length == 0 ? 0 : millis(Arrays.stream(values).average().getAsDouble());
+    }
+
+    /** Nearest-rank percentile of sorted values. */
+    private static double percentile(long[] values, int p) {
+        if (values.length == 0) return 0;
+        int rank = (int)Math.ceil(p / 100.0 * values.length);
+        return millis(values[Math.max(0, rank - 1)]);
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts a trace into a sequence diagram in the text format of
+ * sdedit (https://sdedit.sourceforge.net), with one lifeline per
+ * object and one asynchronous message per method call.
+ *
+ * @see org.abs_models.backend.java.visualization.SequenceDiagramVisualization
+ */
+public class SdeditConverter {
+
+    private static final String ENVIRONMENT = "HiddenEnv";
+
+    public void write(List<TraceEvent> events, PrintStream out) {
+        TraceIndex index = new TraceIndex(events);
+
+        out.println(ENVIRONMENT + ":" + ENVIRONMENT + "[pe]");
+        for (Map.Entry<Long, String> o : index.objectClasses.entrySet()) {
+            String className = escapeLabel(o.getValue());
+            Integer cog = index.objectCogs.get(o.getKey());
+            // the "a" flag hides the actor name, we show a label with class and COG instead
+            out.println(getActorName(o.getKey(), o.getValue()) + ":" + className + "[a]"
+                        + "\"" + className + (cog == null ? "" : " [COG " + cog + "]") + "\"");
+        }
+        out.println();
+
+        for (TraceIndex.Task t : index.tasks.values()) {
+            TraceEvent.MessageSent m = t.message;
+            String source = m.sourceObject() < 0
+                ? ENVIRONMENT
+                : getActorName(m.sourceObject(), index.objectClasses.get(m.sourceObject()));
+            out.println(source + ":>" + getActorName(m.targetObject(), m.targetClass())
+                        + "." + escapeName(m.method()) + "()");
+        }
+    }
+
+    private static String getActorName(long object, String className) {
+        return escapeName(className) + "_" + object;
+    }
+
+    /** Names must not contain the separators of sdedit's message syntax. */
+    private static String escapeName(String s) {
+        return escapeLabel(s).replace(".", "_");
+    }
+
+    private static String escapeLabel(String s) {
+        return String.valueOf(s).replace(":", "\\:");
+    }
+}
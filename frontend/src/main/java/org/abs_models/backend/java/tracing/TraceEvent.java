@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+/**
+ * An event read from a binary trace file.  Times are in nanoseconds
+ * since the start of the trace; missing ids are -1 and missing names
+ * are null.
+ */
+public sealed interface TraceEvent {
+
+    long time();
+
+    record CogCreated(long time, int cog, long object, String className) implements TraceEvent { }
+
+    record ObjectCreated(long time, int cog, long object, String className) implements TraceEvent { }
+
+    record MessageSent(long time, int task, int senderTask,
+                       long sourceObject, String sourceClass,
+                       long targetObject, String targetClass, int targetCog,
+                       String method, int future) implements TraceEvent { }
+
+    record TaskStarted(long time, int task) implements TraceEvent { }
+
+    record TaskFinished(long time, int task) implements TraceEvent { }
+
+    record FutureResolved(long time, int future) implements TraceEvent { }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+/**
+ * Constants of the binary trace format.
+ *
+ * A trace file starts with a header ({@link #MAGIC}, an {@code int}
+ * version and the {@code long} wall-clock start time in milliseconds
+ * since the epoch), followed by records.  Each record starts with a
+ * one-byte record type; all numbers are big-endian.  Times are
+ * nanoseconds since the start of the trace.  Strings (class and
+ * method names) are written once as a {@link #STRING} record and
+ * referred to by their {@code int} id afterwards.  A record type of
+ * {@link #END} (or the end of the file) terminates the trace.
+ *
+ * <pre>
+ * STRING          int id, short length, length bytes of UTF-8
+ * COG_CREATED     long time, int cog, long object, int class
+ * OBJECT_CREATED  long time, int cog, long object, int class
+ * MESSAGE         long time, int task, int senderTask, long sourceObject, int sourceClass,
+ *                 long targetObject, int targetClass, int targetCog, int method, int future
+ * TASK_STARTED    long time, int task
+ * TASK_FINISHED   long time, int task
+ * FUTURE_RESOLVED long time, int future
+ * </pre>
+ *
+ * Missing ids (e.g., the sender of the main task) are written as -1.
+ */
+final class TraceFormat {
+
+    private TraceFormat() { }
+
+    static final byte[] MAGIC = { 'A', 'B', 'S', 'T', 'R', 'A', 'C', 'E' };
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = MAGIC.length + 4 + 8;
+
+    static final byte END = 0;
+    static final byte STRING = 1;
+    static final byte COG_CREATED = 2;
+    static final byte OBJECT_CREATED = 3;
+    static final byte MESSAGE = 4;
+    static final byte TASK_STARTED = 5;
+    static final byte TASK_FINISHED = 6;
+    static final byte FUTURE_RESOLVED = 7;
+
+    /** Upper bound of the size of all records except {@link #STRING}. */
+    static final int MAX_RECORD_SIZE = 64;
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-object and per-task information collected from a list of
+ * trace events, for use by the trace converters.
+ */
+final class TraceIndex {
+
+    static final class Task {
+        final TraceEvent.MessageSent message;
+        long started = -1;
+        long finished = -1;
+
+        Task(TraceEvent.MessageSent message) {
+            this.message = message;
+        }
+
+        String getName() {
+            return message.targetClass() + "." + message.method();
+        }
+    }
+
+    /** Objects in order of creation, with their class names. */
+    final Map<Long, String> objectClasses = new LinkedHashMap<>();
+    final Map<Long, Integer> objectCogs = new HashMap<>();
+    final Map<Integer, String> cogClasses = new LinkedHashMap<>();
+    /** Tasks in order of creation. */
+    final Map<Integer, Task> tasks = new LinkedHashMap<>();
+    final List<TraceEvent.ObjectCreated> objectCreations = new ArrayList<>();
+    long endTime = 0;
+
+    TraceIndex(List<TraceEvent> events) {
+        for (TraceEvent event : events) {
+            endTime = Math.max(endTime, event.time());
+            switch (event) {
+            case TraceEvent.CogCreated e -> {
+                cogClasses.put(e.cog(), e.className());
+                addObject(e.object(), e.className(), e.cog());
+            }
+            case TraceEvent.ObjectCreated e -> {
+                objectCreations.add(e);
+                addObject(e.object(), e.className(), e.cog());
+            }
+            case TraceEvent.MessageSent e -> {
+                tasks.put(e.task(), new Task(e));
+                if (e.sourceObject() >= 0) {
+                    objectClasses.putIfAbsent(e.sourceObject(), e.sourceClass());
+                }
+                addObject(e.targetObject(), e.targetClass(), e.targetCog());
+            }
+            case TraceEvent.TaskStarted e -> {
+                Task t = tasks.get(e.task());
+                if (t != null) t.started = e.time();
+            }
+            case TraceEvent.TaskFinished e -> {
+                Task t = tasks.get(e.task());
+                if (t != null) t.finished = e.time();
+            }
+            case TraceEvent.FutureResolved e -> { }
+            }
+        }
+    }
+
+    private void addObject(long object, String className, int cog) {
+        objectClasses.putIfAbsent(object, className);
+        objectCogs.putIfAbsent(object, cog);
+    }
+
+    /**
+     * Return the COG that executes the given task, or -1.
+     */
+    int getCog(int task) {
+        Task t = tasks.get(task);
+        return t == null ? -1 : t.message.targetCog();
+    }
+}
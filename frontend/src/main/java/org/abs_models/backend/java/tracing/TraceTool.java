@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Command-line tool to convert binary traces recorded with the
+ * {@code --trace} runtime option.  Usage:
+ *
+ * <pre>
+ * java -cp absfrontend.jar org.abs_models.backend.java.tracing.TraceTool &lt;command&gt; &lt;trace&gt; [&lt;output&gt;]
+ * </pre>
+ *
+ * where {@code command} is one of {@code sdedit}, {@code chrome} or
+ * {@code stats}.  Output goes to standard output if no output file
+ * is given.
+ */
+public class TraceTool {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3
+            || !List.of("sdedit", "chrome", "stats").contains(args[0])) {
+            System.err.println("Usage: TraceTool <command> <trace file> [<output file>]");
+            System.err.println("Commands:");
+            System.err.println("  sdedit  convert to an sdedit sequence diagram");
+            System.err.println("  chrome  convert to Chrome / Perfetto trace event JSON");
+            System.err.println("  stats   print per-method latency statistics");
+            System.exit(1);
+        }
+        List<TraceEvent> events;
+        try (BinaryTraceReader reader = new BinaryTraceReader(new File(args[1]))) {
+            events = reader.readAll();
+        }
+        OutputStream out = args.length == 3 ? new FileOutputStream(args[2]) : System.out;
+        try (PrintStream ps = new PrintStream(out, false, StandardCharsets.UTF_8)) {
+            switch (args[0]) {
+            case "sdedit" -> new SdeditConverter().write(events, ps);
+            case "chrome" -> new ChromeTraceConverter().write(events, ps);
+            case "stats" -> new LatencyStatistics().write(events, ps);
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ package org.abs_models.backend.java.utils;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.logging.Logger;
 
 import org.abs_models.backend.java.lib.runtime.ABSException;
@@ -26,16 +28,43 @@ public class DynamicClassUtils {
         return cls;
     }
     
+    /**
+     * Creates a value of the class {@code cls} from the given arguments.
+     * For generated data constructors without arguments, returns the
+     * shared value of {@code instance()}; otherwise calls the
+     * constructor taking as many parameters as there are arguments.
+     * (Generated data constructors also have a canonical constructor
+     * that additionally takes the hash code.)
+     */
     @SuppressWarnings("unchecked")
     public static <T> T instance(Class<?> cls, Object... args) {
         String name = cls.getName();
-        if (cls.getDeclaredConstructors().length != 1)
-            logger.warning("Class " + name + " has either more than one, or zero constructors.");
-        Constructor<?> ctor = cls.getDeclaredConstructors()[0];
-
-        T result;
         try {
-            result = (T) ctor.newInstance(args);
+            if (args.length == 0) {
+                try {
+                    Method instance = cls.getMethod("instance");
+                    if (Modifier.isStatic(instance.getModifiers())) {
+                        return (T) instance.invoke(null);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // not a nullary data constructor, use the constructor
+                }
+            }
+            Constructor<?> ctor = null;
+            for (Constructor<?> c : cls.getDeclaredConstructors()) {
+                if (c.getParameterCount() == args.length) {
+                    if (ctor != null) {
+                        logger.warning("Class " + name + " has more than one constructor with "
+                                       + args.length + " parameters.");
+                    }
+                    ctor = c;
+                }
+            }
+            if (ctor == null) {
+                throw new GeneratedClassLoadingException("Failed to instantiate class " + name
+                                                         + "\nNo constructor with " + args.length + " parameters");
+            }
+            return (T) ctor.newInstance(args);
         } catch (IllegalArgumentException e) {
             throw new GeneratedClassLoadingException("Failed to instantiate class " + name + "\n" + e.toString());
         } catch (InstantiationException e) {
@@ -45,9 +74,6 @@ public class DynamicClassUtils {
         } catch (InvocationTargetException e) {
             throw new GeneratedClassLoadingException("Failed to instantiate class " + name + "\n" + e.toString());
         }
-        
-        return result;
-        
     }
     
     public static <T> T instance(String name, Object... args) {
@@ -4,8 +4,9 @@
  */
 package org.abs_models.common;
 
+import org.abs_models.backend.java.lib.types.ABSList;
+import org.abs_models.backend.java.lib.types.ABSSet;
 import org.abs_models.backend.java.lib.types.ABSValue;
-import org.abs_models.backend.java.utils.DynamicClassUtils;
 import org.abs_models.frontend.ast.ASTNode;
 import org.abs_models.frontend.ast.List;
 
@@ -46,26 +47,18 @@ public class ListUtils {
      * Transform a java.util.List into an ABS.StdLib.List
      */
     public static ABSValue toABSList(java.util.List<?> l) {
-        if (l.isEmpty()) {
-            return DynamicClassUtils.instance("ABS.StdLib.List_Nil");
-        } else {
-            ArrayList<Object> ml = new ArrayList<>(l); // make sure we can use remove()
-            Object head = ml.remove(0);
-            return DynamicClassUtils.instance("ABS.StdLib.List_Cons", head, toABSList(ml));
-        }
+        return ABSList.fromIterable(l);
     }
 
     /*
      * Transform a java.util.Set into an ABS.StdLib.Set
      */
     public static ABSValue toABSSet(java.util.Set<?> set) {
-        if (set.isEmpty()) {
-            return DynamicClassUtils.instance("ABS.StdLib.Set_EmptySet");
-        } else {
-            Object value = set.iterator().next();
-            set.remove(value);
-            return DynamicClassUtils.instance("ABS.StdLib.Set_Insert", value, toABSSet(set));
+        ABSSet<Object> result = ABSSet.empty();
+        for (Object value : set) {
+            result = result.insert(value);
         }
+        return result;
     }
 
     /*
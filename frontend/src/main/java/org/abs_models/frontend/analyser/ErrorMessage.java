@@ -134,6 +134,9 @@ public enum ErrorMessage {
     WRONG_DEADLINE_TYPE("Wrong type %s in deadline annotation, should be ABS.StdLib.Duration."),
     WRONG_SIZE_ANNOTATION_TYPE("Wrong type %s in size annotation, should be a number."),
     WRONG_COST_ANNOTATION_TYPE("Wrong type %s in cost annotation, should be a number."),
+    WRONG_MEMOIZE_TARGET("Memoize annotation can only be used on function definitions."),
+    WRONG_MEMOIZE_SIZE("Cache size in MemoizeWith annotation must be a positive integer literal."),
+    IMPURE_MEMOIZE_FUNCTION("Memoized function cannot call the impure function %s."),
     AMBIGIOUS_USE("The use of %s is ambigious. It can refer to the following definitions: %s."),
     WRONG_SCHEDULER_ANNOTATION_TYPE("Invalid scheduler expression, should be function invocation of type ABS.Scheduler.Process and first argument of type List<ABS.Scheduler.Process>."),
     WRONG_SCHEDULER_FUN_TYPE("Function %s invalid as scheduler function, first argument must be of type List<ABS.Scheduler.Process>, return type must be ABS.Scheduler.Process."),
@@ -0,0 +1,470 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.frontend.analyser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.abs_models.frontend.ast.AddAddExp;
+import org.abs_models.frontend.ast.AndBoolExp;
+import org.abs_models.frontend.ast.Binary;
+import org.abs_models.frontend.ast.BuiltinFunctionDef;
+import org.abs_models.frontend.ast.CaseBranch;
+import org.abs_models.frontend.ast.CaseExp;
+import org.abs_models.frontend.ast.ConstructorPattern;
+import org.abs_models.frontend.ast.DataConstructor;
+import org.abs_models.frontend.ast.DataConstructorExp;
+import org.abs_models.frontend.ast.DataTypeDecl;
+import org.abs_models.frontend.ast.DivMultExp;
+import org.abs_models.frontend.ast.EqExp;
+import org.abs_models.frontend.ast.ExceptionConstructorExp;
+import org.abs_models.frontend.ast.ExpFunctionDef;
+import org.abs_models.frontend.ast.FnApp;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.GTEQExp;
+import org.abs_models.frontend.ast.GTExp;
+import org.abs_models.frontend.ast.IfExp;
+import org.abs_models.frontend.ast.IntLiteral;
+import org.abs_models.frontend.ast.LTEQExp;
+import org.abs_models.frontend.ast.LTExp;
+import org.abs_models.frontend.ast.LetExp;
+import org.abs_models.frontend.ast.ListLiteral;
+import org.abs_models.frontend.ast.LiteralPattern;
+import org.abs_models.frontend.ast.MinusExp;
+import org.abs_models.frontend.ast.ModMultExp;
+import org.abs_models.frontend.ast.MultMultExp;
+import org.abs_models.frontend.ast.NegExp;
+import org.abs_models.frontend.ast.NotEqExp;
+import org.abs_models.frontend.ast.OrBoolExp;
+import org.abs_models.frontend.ast.Pattern;
+import org.abs_models.frontend.ast.PatternVar;
+import org.abs_models.frontend.ast.PatternVarUse;
+import org.abs_models.frontend.ast.PureExp;
+import org.abs_models.frontend.ast.StringLiteral;
+import org.abs_models.frontend.ast.SubAddExp;
+import org.abs_models.frontend.ast.UnderscorePattern;
+import org.abs_models.frontend.ast.VarUse;
+import org.abs_models.frontend.typechecker.DataTypeType;
+import org.apfloat.Apint;
+import org.apfloat.Aprational;
+
+/**
+ * Evaluates closed pure expressions at compile time.
+ *
+ * The evaluator runs the ABS definitions of user-defined and standard
+ * library functions, and mirrors the Java backend's runtime semantics:
+ * {@code Int} values are {@link Apint}s, {@code Rat} values are {@link
+ * Aprational}s, {@code String} values are strings, {@code Bool} values
+ * are {@link Boolean}s, and all other datatype values (including
+ * lists, maps and {@code Unit}) are {@link DataValue}s.
+ *
+ * Evaluation gives up, and {@link #evaluate} returns null, whenever the
+ * result could differ from evaluating the expression at runtime, or
+ * evaluation takes too long: for free variables, {@code Float} values,
+ * objects, exceptions, builtin functions other than a few string and
+ * number functions, failing pattern matches, division by zero, or when
+ * running out of fuel.  Each evaluation step consumes one unit of fuel.
+ *
+ * The outcomes of the closed subexpressions of an evaluated expression
+ * are kept in the subexpressions (see {@code
+ * PureExp.compileTimeOutcome}).  When the enclosing expression gave up,
+ * for instance after running out of fuel, its subexpressions that were
+ * evaluated are therefore not evaluated again with fresh fuel.
+ */
+public final class PartialEvaluator {
+
+    /** The number of evaluation steps allowed for one expression. */
+    public static final int DEFAULT_FUEL = 100_000;
+    /** The maximal nesting of function calls. */
+    private static final int MAX_CALL_DEPTH = 500;
+    /** The maximal nesting of datatype values. */
+    private static final int MAX_VALUE_DEPTH = 2_000;
+
+    /**
+     * A value built by a data constructor.
+     */
+    public static final class DataValue {
+        private final DataConstructor constructor;
+        private final List<Object> args;
+        private final int depth;
+
+        DataValue(DataConstructor constructor, List<Object> args) {
+            int depth = 0;
+            for (Object arg : args) {
+                if (arg instanceof DataValue v) depth = Math.max(depth, v.depth);
+            }
+            if (depth >= MAX_VALUE_DEPTH) throw new GiveUp();
+            this.constructor = constructor;
+            this.args = args;
+            this.depth = depth + 1;
+        }
+
+        public DataConstructor getConstructor() {
+            return constructor;
+        }
+
+        public List<Object> getArgs() {
+            return args;
+        }
+
+        boolean hasConstructor(DataConstructor c) {
+            return constructor.getQualifiedName().equals(c.getQualifiedName());
+        }
+
+        @Override
+        public String toString() {
+            if (args.isEmpty()) return constructor.getName();
+            StringBuilder sb = new StringBuilder(constructor.getName()).append('(');
+            for (int i = 0; i < args.size(); i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(args.get(i));
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    /** The outcome of an expression whose evaluation gave up. */
+    public static final Object FAILED = new Object();
+
+    /** Thrown to abandon evaluation. */
+    private static final class GiveUp extends RuntimeException {
+        GiveUp() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** A variable binding; environments are linked lists of bindings. */
+    private record Env(String name, Object value, Env next) {
+        static Object lookup(Env env, String name) {
+            for (Env e = env; e != null; e = e.next) {
+                if (e.name.equals(name)) return e.value;
+            }
+            throw new GiveUp();
+        }
+    }
+
+    private int fuel;
+    private int callDepth = 0;
+
+    private PartialEvaluator(int fuel) {
+        this.fuel = fuel;
+    }
+
+    /**
+     * Evaluates the closed expression {@code e} with {@link
+     * #DEFAULT_FUEL} steps, returning its value or null if evaluation
+     * gave up.
+     */
+    public static Object evaluate(PureExp e) {
+        return evaluate(e, DEFAULT_FUEL);
+    }
+
+    /**
+     * Evaluates the closed expression {@code e} with at most {@code
+     * fuel} steps, returning its value or null if evaluation gave up.
+     */
+    public static Object evaluate(PureExp e, int fuel) {
+        try {
+            return new PartialEvaluator(fuel).eval(e, null);
+        } catch (GiveUp | ArithmeticException | StackOverflowError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of values that {@code value} is built from.
+     */
+    public static int size(Object value) {
+        int result = 1;
+        if (value instanceof DataValue v) {
+            for (Object arg : v.args) {
+                result += size(arg);
+            }
+        }
+        return result;
+    }
+
+    private Object eval(PureExp e, Env env) {
+        if (env != null || callDepth > 0) {
+            return evalUncached(e, env);
+        }
+        // e is the evaluated expression or one of its closed
+        // subexpressions, whose value does not depend on the context
+        Object result = e.compileTimeOutcome;
+        if (result == FAILED) throw new GiveUp();
+        if (result != null) return result;
+        try {
+            result = evalUncached(e, env);
+        } catch (GiveUp | ArithmeticException | StackOverflowError ex) {
+            e.compileTimeOutcome = FAILED;
+            throw ex;
+        }
+        e.compileTimeOutcome = result;
+        return result;
+    }
+
+    private Object evalUncached(PureExp e, Env env) {
+        if (--fuel < 0) throw new GiveUp();
+        if (e instanceof IntLiteral lit) {
+            return new Apint(lit.getContent());
+        } else if (e instanceof StringLiteral lit) {
+            return lit.getContent();
+        } else if (e instanceof VarUse v) {
+            return Env.lookup(env, v.getName());
+        } else if (e instanceof ExceptionConstructorExp) {
+            throw new GiveUp();
+        } else if (e instanceof DataConstructorExp d) {
+            DataConstructor c = d.getDataConstructor();
+            if (c == null) throw new GiveUp();
+            List<Object> args = new ArrayList<>(d.getNumParam());
+            for (PureExp p : d.getParams()) {
+                args.add(eval(p, env));
+            }
+            return construct(c, args);
+        } else if (e instanceof ListLiteral l) {
+            return evalList(l, env);
+        } else if (e instanceof LetExp let) {
+            Object value = eval(let.getVal(), env);
+            return eval(let.getExp(), new Env(let.getVar().getName(), value, env));
+        } else if (e instanceof IfExp i) {
+            return asBool(eval(i.getCondExp(), env))
+                ? eval(i.getThenExp(), env)
+                : eval(i.getElseExp(), env);
+        } else if (e instanceof CaseExp c) {
+            Object value = eval(c.getExpr(), env);
+            for (CaseBranch b : c.getBranchs()) {
+                Env bound = match(b.getLeft(), value, env);
+                if (bound != null) return eval(b.getRight(), bound);
+            }
+            // the pattern match fails at runtime
+            throw new GiveUp();
+        } else if (e instanceof FnApp app) {
+            return apply(app, env);
+        } else if (e instanceof NegExp n) {
+            return !asBool(eval(n.getOperand(), env));
+        } else if (e instanceof MinusExp m) {
+            Object value = eval(m.getOperand(), env);
+            if (value instanceof Apint i) return i.negate();
+            return asRat(value).negate();
+        } else if (e instanceof AndBoolExp b) {
+            return asBool(eval(b.getLeft(), env)) && asBool(eval(b.getRight(), env));
+        } else if (e instanceof OrBoolExp b) {
+            return asBool(eval(b.getLeft(), env)) || asBool(eval(b.getRight(), env));
+        } else if (e instanceof Binary b) {
+            return evalBinary(b, eval(b.getLeft(), env), eval(b.getRight(), env));
+        }
+        throw new GiveUp();
+    }
+
+    private Object evalBinary(Binary b, Object left, Object right) {
+        if (b instanceof EqExp) {
+            return valueEquals(left, right);
+        } else if (b instanceof NotEqExp) {
+            return !valueEquals(left, right);
+        } else if (b instanceof LTExp) {
+            return compare(left, right) < 0;
+        } else if (b instanceof GTExp) {
+            return compare(left, right) > 0;
+        } else if (b instanceof LTEQExp) {
+            return compare(left, right) <= 0;
+        } else if (b instanceof GTEQExp) {
+            return compare(left, right) >= 0;
+        } else if (b instanceof AddAddExp) {
+            if (left instanceof String l && right instanceof String r) return l + r;
+            if (hasIntOperands(b)) return asInt(left).add(asInt(right));
+            return asRat(left).add(asRat(right));
+        } else if (b instanceof SubAddExp) {
+            if (hasIntOperands(b)) return asInt(left).subtract(asInt(right));
+            return asRat(left).subtract(asRat(right));
+        } else if (b instanceof MultMultExp) {
+            if (hasIntOperands(b)) return asInt(left).multiply(asInt(right));
+            return asRat(left).multiply(asRat(right));
+        } else if (b instanceof DivMultExp) {
+            Aprational l = asRat(left);
+            Aprational r = asRat(right);
+            if (r.signum() == 0) throw new GiveUp();
+            if (l instanceof Apint li && r instanceof Apint ri) {
+                // Int division in ABS yields a Rat
+                return new Aprational(li, ri);
+            }
+            return l.divide(r);
+        } else if (b instanceof ModMultExp) {
+            if (!hasIntOperands(b)) throw new GiveUp();
+            Apint r = asInt(right);
+            if (r.signum() == 0) throw new GiveUp();
+            return asInt(left).mod(r);
+        }
+        throw new GiveUp();
+    }
+
+    private static boolean hasIntOperands(Binary b) {
+        return b.getLeft().getType().isIntType() && b.getRight().getType().isIntType();
+    }
+
+    private Object evalList(ListLiteral l, Env env) {
+        if (!l.getType().isDataType()) throw new GiveUp();
+        DataTypeDecl decl = ((DataTypeType)l.getType()).getDecl();
+        DataConstructor nil = null;
+        DataConstructor cons = null;
+        for (DataConstructor c : decl.getDataConstructors()) {
+            if (c.getName().equals("Nil")) nil = c;
+            else if (c.getName().equals("Cons")) cons = c;
+        }
+        if (nil == null || cons == null) throw new GiveUp();
+        List<Object> elements = new ArrayList<>(l.getNumPureExp());
+        for (PureExp p : l.getPureExps()) {
+            elements.add(eval(p, env));
+        }
+        Object result = construct(nil, List.of());
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            result = construct(cons, List.of(elements.get(i), result));
+        }
+        return result;
+    }
+
+    private Object apply(FnApp app, Env env) {
+        if (!(app.getDecl() instanceof FunctionDecl)) throw new GiveUp();
+        FunctionDecl decl = (FunctionDecl)app.getDecl();
+        List<Object> args = new ArrayList<>(app.getNumParam());
+        for (PureExp p : app.getParams()) {
+            args.add(eval(p, env));
+        }
+        if (decl.getFunctionDef() instanceof BuiltinFunctionDef) {
+            return applyBuiltin(decl, args);
+        }
+        if (!(decl.getFunctionDef() instanceof ExpFunctionDef)) throw new GiveUp();
+        if (decl.getNumParam() != args.size()) throw new GiveUp();
+        if (++callDepth > MAX_CALL_DEPTH) throw new GiveUp();
+        Env callEnv = null;
+        for (int i = 0; i < args.size(); i++) {
+            callEnv = new Env(decl.getParam(i).getName(), args.get(i), callEnv);
+        }
+        Object result = eval(((ExpFunctionDef)decl.getFunctionDef()).getRhs(), callEnv);
+        callDepth--;
+        return result;
+    }
+
+    /**
+     * The builtin functions of the standard library that are pure and
+     * do not depend on Float values; see {@code ABSBuiltInFunctions}.
+     */
+    private static Object applyBuiltin(FunctionDecl decl, List<Object> args) {
+        switch (decl.getQualifiedName()) {
+        case "ABS.StdLib.strlen":
+            return new Apint(asString(args.get(0)).length());
+        case "ABS.StdLib.substr": {
+            String s = asString(args.get(0));
+            Apint from = asInt(args.get(1));
+            Apint length = asInt(args.get(2));
+            if (from.signum() < 0 || length.signum() < 0
+                || from.add(length).compareTo(new Apint(s.length())) > 0) {
+                throw new GiveUp();
+            }
+            return s.substring(from.intValue(), from.intValue() + length.intValue());
+        }
+        case "ABS.StdLib.toString":
+            if (args.get(0) instanceof String s) return s;
+            return asRat(args.get(0)).toString();
+        case "ABS.StdLib.min":
+            return asRat(args.get(0)).compareTo(asRat(args.get(1))) < 0 ? args.get(0) : args.get(1);
+        case "ABS.StdLib.max":
+            return asRat(args.get(0)).compareTo(asRat(args.get(1))) > 0 ? args.get(0) : args.get(1);
+        case "ABS.StdLib.abs":
+            if (args.get(0) instanceof Apint i) return i.signum() < 0 ? i.negate() : i;
+            return asRat(args.get(0)).signum() < 0 ? asRat(args.get(0)).negate() : args.get(0);
+        case "ABS.StdLib.numerator":
+            return asRat(args.get(0)).numerator();
+        case "ABS.StdLib.denominator":
+            return asRat(args.get(0)).denominator();
+        default:
+            throw new GiveUp();
+        }
+    }
+
+    /**
+     * Matches {@code value} against pattern {@code p}, returning the
+     * extended environment or null if the match fails.
+     */
+    private Env match(Pattern p, Object value, Env env) {
+        if (p instanceof UnderscorePattern) {
+            return env;
+        } else if (p instanceof PatternVar v) {
+            return new Env(v.getVar().getName(), value, env);
+        } else if (p instanceof PatternVarUse v) {
+            return valueEquals(Env.lookup(env, v.getName()), value) ? env : null;
+        } else if (p instanceof LiteralPattern l) {
+            if (!(l.getLiteral() instanceof IntLiteral || l.getLiteral() instanceof StringLiteral)) {
+                throw new GiveUp();
+            }
+            return valueEquals(eval(l.getLiteral(), env), value) ? env : null;
+        } else if (p instanceof ConstructorPattern c) {
+            DataConstructor constructor = c.getDataConstructor();
+            if (constructor == null) throw new GiveUp();
+            if (value instanceof Boolean b) {
+                return b == "True".equals(constructor.getName()) ? env : null;
+            }
+            if (!(value instanceof DataValue v)) throw new GiveUp();
+            if (!v.hasConstructor(constructor)) return null;
+            for (int i = 0; i < c.getNumParam(); i++) {
+                env = match(c.getParam(i), v.args.get(i), env);
+                if (env == null) return null;
+            }
+            return env;
+        }
+        throw new GiveUp();
+    }
+
+    private static Object construct(DataConstructor c, List<Object> args) {
+        if (c.getDataTypeDecl() != null && c.getDataTypeDecl().getType().isBoolType()) {
+            return "True".equals(c.getName());
+        }
+        return new DataValue(c, args);
+    }
+
+    private static boolean valueEquals(Object left, Object right) {
+        if (left instanceof Aprational l && right instanceof Aprational r) {
+            return l.compareTo(r) == 0;
+        } else if (left instanceof DataValue l && right instanceof DataValue r) {
+            if (!l.hasConstructor(r.constructor) || l.args.size() != r.args.size()) return false;
+            for (int i = 0; i < l.args.size(); i++) {
+                if (!valueEquals(l.args.get(i), r.args.get(i))) return false;
+            }
+            return true;
+        } else if (left instanceof String || left instanceof Boolean) {
+            return left.equals(right);
+        }
+        throw new GiveUp();
+    }
+
+    /** Compares numbers and strings; other values are compared by the runtime. */
+    private static int compare(Object left, Object right) {
+        if (left instanceof Aprational l && right instanceof Aprational r) {
+            return l.compareTo(r);
+        } else if (left instanceof String l && right instanceof String r) {
+            return l.compareTo(r);
+        }
+        throw new GiveUp();
+    }
+
+    private static boolean asBool(Object value) {
+        if (value instanceof Boolean b) return b;
+        throw new GiveUp();
+    }
+
+    private static Apint asInt(Object value) {
+        if (value instanceof Apint i) return i;
+        throw new GiveUp();
+    }
+
+    private static Aprational asRat(Object value) {
+        if (value instanceof Aprational r) return r;
+        throw new GiveUp();
+    }
+
+    private static String asString(Object value) {
+        if (value instanceof String s) return s;
+        throw new GiveUp();
+    }
+}
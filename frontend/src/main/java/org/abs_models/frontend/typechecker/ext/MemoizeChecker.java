@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.frontend.typechecker.ext;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.abs_models.frontend.analyser.ErrorMessage;
+import org.abs_models.frontend.analyser.TypeError;
+import org.abs_models.frontend.ast.ASTNode;
+import org.abs_models.frontend.ast.Annotation;
+import org.abs_models.frontend.ast.DataConstructorExp;
+import org.abs_models.frontend.ast.Decl;
+import org.abs_models.frontend.ast.FnApp;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.IntLiteral;
+import org.abs_models.frontend.ast.Model;
+import org.abs_models.frontend.ast.NamedParFnAppParam;
+import org.abs_models.frontend.ast.ParFnApp;
+import org.abs_models.frontend.ast.PartialFunctionDecl;
+import org.abs_models.frontend.ast.PureExp;
+import org.abs_models.frontend.typechecker.KindedName;
+import org.abs_models.frontend.typechecker.KindedName.Kind;
+
+/**
+ * Checks `Memoize' annotations.
+ *
+ * - `Memoize' and `MemoizeWith' can only annotate function definitions
+ *
+ * - The cache size of `MemoizeWith' must be a positive integer literal
+ *   that fits into a Java int
+ *
+ * - A memoized function must not call, directly or via other functions,
+ *   one of the builtin functions with side effects or results that
+ *   depend on the state of the model (e.g., `random', `println',
+ *   `thisDC')
+ */
+public class MemoizeChecker extends DefaultTypeSystemExtension {
+
+    private static final BigInteger MAX_SIZE = BigInteger.valueOf(Integer.MAX_VALUE);
+
+    private static final Set<String> IMPURE_FUNCTIONS = Set.of(
+        "ABS.StdLib.random",
+        "ABS.StdLib.println",
+        "ABS.StdLib.print",
+        "ABS.StdLib.readln",
+        "ABS.StdLib.currentms",
+        "ABS.StdLib.ms_since_model_start",
+        "ABS.StdLib.lowlevelDeadline",
+        "ABS.DC.thisDC",
+        "ABS.Meta.reflect",
+        "ABS.Meta.getProductLine");
+
+    protected MemoizeChecker(Model m) {
+        super(m);
+    }
+
+    @Override
+    public void checkModel(Model model) {
+        for (Annotation a : model.findChildren(Annotation.class)) {
+            if (!a.getType().getQualifiedName().equals("ABS.StdLib.MemoizeAnnotation")) continue;
+            // The parent of an annotation is the list of annotations of
+            // the annotated node
+            ASTNode<?> target = a.getParent().getParent();
+            if (!(target instanceof FunctionDecl || target instanceof PartialFunctionDecl)) {
+                errors.add(new TypeError(a, ErrorMessage.WRONG_MEMOIZE_TARGET, ""));
+            } else {
+                String impure = findImpureCall((Decl) target);
+                if (impure != null) {
+                    errors.add(new TypeError(a, ErrorMessage.IMPURE_MEMOIZE_FUNCTION, impure));
+                }
+            }
+            if (a.getValue() instanceof DataConstructorExp e && e.getNumParam() == 2) {
+                PureExp size = e.getParam(0);
+                if (!(size instanceof IntLiteral l)
+                    || new BigInteger(l.getContent()).signum() <= 0
+                    || new BigInteger(l.getContent()).compareTo(MAX_SIZE) > 0) {
+                    errors.add(new TypeError(size, ErrorMessage.WRONG_MEMOIZE_SIZE, ""));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the name of an impure builtin function called by the
+     * given function, or null if there is none.  Follows calls of
+     * other functions, including the function arguments of partially
+     * defined functions.
+     */
+    private static String findImpureCall(Decl function) {
+        Set<Decl> visited = new HashSet<>();
+        Deque<Decl> todo = new ArrayDeque<>();
+        todo.add(function);
+        while (!todo.isEmpty()) {
+            Decl d = todo.remove();
+            if (!visited.add(d)) continue;
+            if (IMPURE_FUNCTIONS.contains(d.getQualifiedName())) {
+                return d.getQualifiedName();
+            }
+            for (FnApp app : d.findChildren(FnApp.class)) {
+                addFunction(todo, app.getDecl());
+            }
+            for (ParFnApp app : d.findChildren(ParFnApp.class)) {
+                addFunction(todo, app.getDecl());
+            }
+            for (NamedParFnAppParam p : d.findChildren(NamedParFnAppParam.class)) {
+                addFunction(todo, p.getModuleDecl().lookup(new KindedName(Kind.FUN, p.getName())));
+            }
+        }
+        return null;
+    }
+
+    private static void addFunction(Deque<Decl> todo, Decl d) {
+        if (d instanceof FunctionDecl || d instanceof PartialFunctionDecl) {
+            todo.add(d);
+        }
+    }
+}
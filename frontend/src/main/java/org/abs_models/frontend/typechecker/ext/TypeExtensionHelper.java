@@ -30,6 +30,7 @@ public class TypeExtensionHelper implements TypeSystemExtension {
         register(new SchedulerChecker(m));
         register(new MainBlockChecker(m));
         register(new HttpExportChecker(m));
+        register(new MemoizeChecker(m));
     }
 
     public TypeSystemExtension getFirstRegisteredTypeExtension(Class<?> clazz) {
@@ -80,6 +80,16 @@ public class FunctionalTests extends SemanticTests {
         assertEvalTrue("data A = A(Int, Int); { Bool testresult = A(1, 0) == A(1, 0); }");
     }
 
+    @Test
+    public void dataTypeEqNested() throws Exception {
+        assertEvalTrue("data T = Leaf(Int) | Node(T, T); { T a = Node(Leaf(1), Node(Leaf(2), Leaf(3))); T b = Node(Leaf(1), Node(Leaf(2), Leaf(3))); Bool testresult = a == b && a != Node(Leaf(1), Leaf(2)) && set[a, b] == set[b]; }");
+    }
+
+    @Test
+    public void dataTypeIntern() throws Exception {
+        assertEvalTrue("[Intern] data T = Leaf(Int) | Node(T, T); { T a = Node(Leaf(1), Leaf(2)); T b = Node(Leaf(1), Leaf(2)); Bool testresult = a == b && Node(a, b) != Node(b, Leaf(2)) && case a { Node(Leaf(x), _) => x == 1; _ => False; }; }");
+    }
+
     @Test
     public void dataTypeNEq() throws Exception {
         assertEvalTrue("{ Bool testresult = list[1, 2, 3] != list[1, 2]; }");
@@ -318,6 +328,21 @@ public class FunctionalTests extends SemanticTests {
         assertEvalTrue("def Bool f() = let (Int i) = 4 in case i { 2 => False; 4 => True; };" + CALL_F);
     }
     
+    @Test
+    public void casePatternManyLiterals() throws Exception {
+        assertEvalTrue("""
+            def Int f(String s, String b) = case s {
+                "a" => 1; "b" => 2; "c" => 3; "a" => 4; b => 5; "d" => 6; _ => 7; };
+            def Int g(Int i) = case i {
+                1 => 1; 2 => 2; 3 => 3; 10000000000 => 4; _ => 5; };
+            {
+                Bool testresult = f("a", "d") == 1 && f("c", "d") == 3
+                    && f("d", "d") == 5 && f("d", "x") == 6 && f("x", "y") == 7
+                    && g(3) == 3 && g(10000000000) == 4 && g(4294967297) == 5 && g(-1) == 5;
+            }
+            """);
+    }
+
     @Test
     public void caseField() throws Exception {
         assertEvalTrue(new File("abssamples/backend/FunctionalTests/caseField.abs"));
@@ -413,6 +438,21 @@ public class FunctionalTests extends SemanticTests {
             """);
     }
 
+    @Test
+    public void tailCallArguments() throws Exception {
+        // Arguments of a tail call see the parameter values of the
+        // current call, also when parameters swap places.
+        assertEvalTrue("""
+            def Int swap(Int a, Int b, Int n) = when n == 0 then a - b else swap(b, a, n - 1);
+            def Int ping(Int a, Int n) = case n { 0 => a; _ => pong(n - 1, a + 1); };
+            def Int pong(Int n, Int a) = when n == 0 then -a else ping(a * 2, n - 1);
+            {
+                Bool testresult = swap(1, 2, 3) == 1 && swap(1, 2, 2) == -1
+                    && ping(0, 3) == -3 && ping(1, 2) == 4;
+            }
+            """);
+    }
+
     @Test
     public void patternVarRew() throws Exception {
         String fileName = "abssamples/PVTest.abs";
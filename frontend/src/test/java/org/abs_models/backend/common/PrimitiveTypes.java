@@ -95,6 +95,22 @@ public class PrimitiveTypes extends SemanticTests {
         assertEvalTrue("{ Bool testresult = 5 < 9223372036854775808;  }");
     }
 
+    @Test
+    public void intMultOverflow() throws Exception {
+        // operands fit into a long, the product does not
+        assertEvalTrue("{ Int x = 999999999999999999; Bool testresult = x * x == 999999999999999998000000000000000001;  }");
+    }
+
+    @Test
+    public void intAddAcrossLongRange() throws Exception {
+        assertEvalTrue("{ Int x = 999999999999999999; Int y = x * 10 + 9; Bool testresult = y - x * 10 == 9 && y > x;  }");
+    }
+
+    @Test
+    public void intMinusSmall() throws Exception {
+        assertEvalTrue("{ Int x = 1000; Int y = -x; Bool testresult = y + 2000 == 1000 && -y == x && y < 0;  }");
+    }
+
     @Test
     public void intLtEq() throws Exception {
         assertEvalTrue("{ Bool testresult = 5 <= 10;  }");
@@ -152,6 +168,18 @@ public class PrimitiveTypes extends SemanticTests {
         assertEvalTrue("{ Rat x = 5/3 % 1/2; Bool testresult = x == 1/3;  }");
     }
 
+    @Test
+    public void ratAddOverflow() throws Exception {
+        // the common denominator does not fit into a long
+        assertEvalTrue("{ Int a = 999999999999999989; Int b = 999999999999999967; Bool testresult = 1/a + 1/b == (a + b) / (a * b);  }");
+    }
+
+    @Test
+    public void ratLtLarge() throws Exception {
+        // the cross products do not fit into a long
+        assertEvalTrue("{ Bool testresult = 999999999999999997/999999999999999998 < 999999999999999998/999999999999999999;  }");
+    }
+
     @Test
     public void ratEq() throws Exception {
         assertEvalTrue("{ Bool testresult = 8/24 == 2/6 ;  }");
@@ -355,4 +383,100 @@ public class PrimitiveTypes extends SemanticTests {
             }
             """);
     }
+
+    @Test
+    public void boolFloatLocalsAndParams() throws Exception {
+        assertEvalTrue("""
+            def Bool neg(Bool b) = case b { True => False; False => True; };
+            def Float half(Float f) = f / 2.0;
+            {
+                Bool flag = False;
+                Float f = half(5.0);
+                Bool testresult = neg(flag) && f == 2.5;
+            }
+            """);
+    }
+
+    @Test
+    public void boolFloatFieldDefaults() throws Exception {
+        assertEvalTrue("""
+            interface I { Bool ok(); }
+            class C implements I {
+                Bool b;
+                Float f;
+                Bool ok() { return !b && f == 0.0; }
+            }
+            {
+                I o = new C();
+                Bool testresult = o.ok();
+            }
+            """);
+    }
+
+    @Test
+    public void boolFloatFutures() throws Exception {
+        assertEvalTrue("""
+            interface I { Bool neg(Bool b); Float twice(Float f); }
+            class C implements I {
+                Bool neg(Bool b) { return !b; }
+                Float twice(Float f) { return f * 2.0; }
+            }
+            {
+                I o = new C();
+                Fut<Bool> fb = o!neg(False);
+                Fut<Float> ff = o!twice(1.25);
+                Bool b = fb.get;
+                Float f = ff.get;
+                Bool testresult = b && f == 2.5;
+            }
+            """);
+    }
+
+    @Test
+    public void boolFloatConstructorArgs() throws Exception {
+        assertEvalTrue("""
+            data D = D(Bool, Float);
+            def Float value(D d) = case d { D(True, f) => f; D(False, f) => -f; };
+            {
+                Bool b = False;
+                Float f = 1.5;
+                Maybe<Float> m = Just(f);
+                Pair<Bool, Float> p = Pair(b, f);
+                Bool testresult = value(D(b, f)) == -1.5 && fromJust(m) == f
+                    && !fst(p) && snd(p) == 1.5;
+            }
+            """);
+    }
+
+    @Test
+    public void boolFloatCase() throws Exception {
+        assertEvalTrue("""
+            def Float pick(Bool b, Float x, Float y) = case b { True => x; False => y; };
+            {
+                Bool flag = True;
+                Float f = 2.5;
+                Float g = 2.5;
+                Int i = case flag { False => 0; True => 1; };
+                Float h = case f { g => 1.0; _ => 0.0; };
+                Float k = case f { x => x * 2.0; };
+                Bool testresult = i == 1 && h == 1.0 && k == 5.0
+                    && pick(flag, f, 0.0) == 2.5 && pick(!flag, f, 0.0) == 0.0;
+            }
+            """);
+    }
+
+    @Test
+    public void floatTailRecursion() throws Exception {
+        assertEvalTrue("""
+            def Float sum(Int n, Float acc) = when n == 0 then acc else sum(n - 1, acc + 0.5);
+            def Float even(Int n, Float acc) = when n == 0 then acc else odd(n - 1, acc + 1.0);
+            def Float odd(Int n, Float acc) = when n == 0 then -acc else even(n - 1, acc + 1.0);
+            def Bool flip(Int n, Bool b) = when n == 0 then b else flip(n - 1, !b);
+            {
+                Bool testresult = sum(100000, 0.0) == 50000.0
+                    && even(4, 0.0) == 4.0 && even(3, 0.0) == -3.0
+                    && flip(100001, False);
+            }
+            """);
+    }
 }
@@ -21,6 +21,36 @@ public class StdLibTests extends SemanticTests {
         assertEvalTrue("{ List<Int> list = list[1, 2, 3]; Bool testresult = nth(list,2) == 3; }");
     }
 
+    @Test
+    public void listOperations() throws Exception {
+        assertEvalTrue("{ List<Int> l = list[1, 2, 3]; Bool testresult = concatenate(l, list[4]) == list[1, 2, 3, 4] && appendright(l, 4) == Cons(1, Cons(2, Cons(3, Cons(4, Nil)))) && reverse(l) == list[3, 2, 1] && without(list[1, 2, 1], 1) == list[2] && copy(0, 2) == list[0, 0] && length(l) == 3 && !isEmpty(l) && isEmpty(tail(list[1])) && head(l) == 1 && tail(l) == list[2, 3]; }");
+    }
+
+    @Test
+    public void listPatternMatch() throws Exception {
+        assertEvalTrue("{ List<Int> l = appendright(list[1, 2], 3); Bool testresult = case l { Cons(1, Cons(x, rest)) => x == 2 && rest == list[3]; _ => False; }; }");
+    }
+
+    @Test
+    public void listLarge() throws Exception {
+        assertEvalTrue("""
+            {
+                List<Int> front = Nil;
+                List<Int> back = Nil;
+                Int i = 0;
+                while (i < 500) {
+                    front = Cons(i, front);
+                    back = appendright(back, i);
+                    i = i + 1;
+                }
+                List<Int> l = concatenate(front, back);
+                Bool testresult = length(l) == 1000 && nth(l, 0) == 499
+                    && nth(l, 499) == 0 && nth(l, 999) == 499
+                    && reverse(front) == back;
+            }
+            """);
+    }
+
     @Test
     public void testNestedParametricDataType() throws Exception {
         // Code generation fails on Java backend; related to
@@ -80,6 +110,38 @@ public class StdLibTests extends SemanticTests {
         assertEvalTrue("{ Set<Int> set = set[]; Bool testresult = takeMaybe(set) == Nothing; }");
     }
 
+    @Test
+    public void setOrder() throws Exception {
+        assertEvalTrue("{ Set<Int> s = set[3, 1, 2, 1]; Pair<Set<Int>, Int> p = next(s); Bool testresult = s == set[1, 2, 3] && take(s) == 1 && snd(p) == 1 && fst(p) == set[2, 3] && size(s) == 3; }");
+    }
+
+    @Test
+    public void setPatternMatch() throws Exception {
+        assertEvalTrue("{ Set<Int> s = set[2, 1]; Bool testresult = case s { Insert(1, Insert(x, EmptySet)) => x == 2; _ => False; }; }");
+    }
+
+    @Test
+    public void setOperations() throws Exception {
+        assertEvalTrue("{ Set<Int> s1 = set[1, 2, 3, 5]; Set<Int> s2 = set[2, 4, 5]; Bool testresult = intersection(s1, s2) == set[2, 5] && difference(s1, s2) == set[1, 3] && difference(s2, s1) == set[4] && union(s2, s1) == set[1, 2, 3, 4, 5] && isSubset(set[2, 5], s2) && !isSubset(s1, s2); }");
+    }
+
+    @Test
+    public void setLarge() throws Exception {
+        assertEvalTrue("""
+            {
+                Set<Int> s = set[];
+                Int i = 0;
+                while (i < 500) {
+                    s = insertElement(s, (i * 7) % 500);
+                    i = i + 1;
+                }
+                s = remove(s, 250);
+                Bool testresult = size(s) == 499 && take(s) == 0
+                    && contains(s, 499) && !contains(s, 250);
+            }
+            """);
+    }
+
     @Test
     public void mapLookup1() throws Exception {
         assertEvalTrue("{ Map<Int, Int> map = map[Pair(1, 100), Pair(2, 200), Pair(3, 300)]; Bool testresult = lookup(map, 3) == Just(300); }");
@@ -157,6 +219,34 @@ public class StdLibTests extends SemanticTests {
         assertEvalTrue("{ Map<Int, Int> map = map[Pair(1, 100), Pair(2, 200), Pair(3, 300)]; Bool testresult = entries(map) == list[Pair(1, 100), Pair(2, 200), Pair(3, 300)]; }");
     }
 
+    @Test
+    public void mapPatternMatch() throws Exception {
+        assertEvalTrue("{ Map<Int, Int> map = map[Pair(1, 100), Pair(2, 200)]; Bool testresult = case map { InsertAssoc(Pair(1, v), InsertAssoc(_, EmptyMap)) => v == 100; _ => False; }; }");
+    }
+
+    @Test
+    public void mapRemoveShadowedKey() throws Exception {
+        assertEvalTrue("{ Map<Int, Int> map = insert(map[Pair(1, 100), Pair(2, 200)], Pair(2, 300)); Bool testresult = lookup(map, 2) == Just(300) && lookup(removeKey(map, 2), 2) == Just(200) && removeKey(map, 2) == map[Pair(1, 100), Pair(2, 200)]; }");
+    }
+
+    @Test
+    public void mapLarge() throws Exception {
+        assertEvalTrue("""
+            {
+                Map<Int, Int> m = map[];
+                Int i = 0;
+                while (i < 500) {
+                    m = put(m, i, i * i);
+                    i = i + 1;
+                }
+                m = removeKey(m, 250);
+                Bool testresult = lookupDefault(m, 499, 0) == 249001
+                    && lookup(m, 250) == Nothing
+                    && length(values(m)) == 499;
+            }
+            """);
+    }
+
     // BUILT-IN FUNCTIONS
 
     @Test
@@ -339,6 +429,40 @@ public class StdLibTests extends SemanticTests {
 	assertEvalTrue("{ Bool testresult = foldr((Int elem, Int acc) => elem + acc)(list[1, 2, 3], 0) == 6; }");
     }
 
+    @Test
+    public void mapFilterChain() throws Exception {
+        assertEvalTrue("def Int double(Int x) = x * 2;"
+                       + "{ Int k = 4;"
+                       + " Bool testresult = map(double)(filter((Int x) => x > k)(map((Int x) => x + k - 1)(list[1, 2, 3, 4]))) == list[10, 12, 14]"
+                       + " && foldl((String s, String acc) => acc + s)(list[\"a\", \"b\", \"c\"], \"\") == \"abc\""
+                       + " && foldr((String s, String acc) => s + acc)(list[\"a\", \"b\", \"c\"], \"\") == \"abc\"; }");
+    }
+
+    @Test
+    public void mapFilterChainAcrossModules() throws Exception {
+        // Client reuses the expansions of map and filter from UnitTest
+        assertEvalTrue("""
+            def Int double(Int x) = x * 2;
+            def Bool positive(Int x) = x > 0;
+            def List<Int> doubled(List<Int> l) = map(double)(l);
+            def List<Int> positives(List<Int> l) = filter(positive)(l);
+
+            module Client;
+            import * from UnitTest;
+            {
+                Bool testresult = map(double)(filter(positive)(list[-1, 2, 3])) == list[4, 6];
+            }
+            """);
+    }
+
+    @Test
+    public void parMapReduce() throws Exception {
+        assertEvalTrue("{ Int k = 2;"
+                       + " Bool testresult = parMap((Int x) => x * k)(list[1, 2, 3]) == list[2, 4, 6]"
+                       + " && parReduce((String a, String b) => a + b)(list[\"a\", \"b\", \"c\"], \"\") == \"abc\""
+                       + " && parReduce((Int a, Int b) => a + b)(Nil, 0) == 0; }");
+    }
+
     @Test
     public void durationLessThan() throws Exception {
         assertEvalTrue("{ Bool testresult = durationLessThan(Duration(5), InfDuration); }");
@@ -71,6 +71,11 @@ public class StmtTests extends SemanticTests {
         assertEvalTrue("{ Int x = 0; switch (Pair(2, 3)) { Pair(2, y) => x = y; _ => skip; } Bool testresult = x == 3; }");
     }
     
+    @Test
+    public void caseStatementManyLiterals() throws Exception {
+        assertEvalTrue("{ Int x = 0; foreach (s in list[\"b\", \"z\", \"c\"]) { switch (s) { \"a\" => x = x + 1; \"b\" => x = x + 10; \"c\" => x = x + 100; _ => x = x + 1000; } } Bool testresult = x == 1110; }");
+    }
+
     @Test
     public void caseStmtField() throws Exception {
         assertEvalTrue(new File("abssamples/backend/StmtTests/caseStmtField.abs"));
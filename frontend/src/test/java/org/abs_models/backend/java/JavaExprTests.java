@@ -4,6 +4,17 @@
  */
 package org.abs_models.backend.java;
 
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.abs_models.backend.java.codegeneration.JavaCode;
+import org.abs_models.backend.java.codegeneration.NativeStdLib;
+import org.abs_models.frontend.ast.Decl;
+import org.abs_models.frontend.ast.FunctionDecl;
+import org.abs_models.frontend.ast.Model;
+import org.abs_models.frontend.ast.ModuleDecl;
 import org.junit.Test;
 
 public class JavaExprTests extends JavaBackendTest {
@@ -89,4 +100,348 @@ public class JavaExprTests extends JavaBackendTest {
         assertValidJava(getJavaCode("module M; import * from ABS.DC; { DeploymentComponent dc = thisDC(); }"));
     }
 
+    @Test
+    public void tailCalls() throws Exception {
+        // Tail calls are compiled into loops, so deep recursion must not
+        // overflow the Java stack.
+        assertEvalTrue("""
+            def Int count(Int n, Int acc) = when n == 0 then acc else count(n - 1, acc + 1);
+            def Bool isEven(Int n) = case n { 0 => True; _ => isOdd(n - 1); };
+            def Bool isOdd(Int n) = case n { 0 => False; _ => isEven(n - 1); };
+            def List<A> rev<A>(List<A> l, List<A> acc) = case l { Nil => acc; Cons(x, xs) => rev(xs, Cons(x, acc)); };
+            {
+                List<Int> l = copy(1, 1000000);
+                Bool testresult = count(1000000, 0) == 1000000
+                    && isEven(1000000) && !isOdd(1000000)
+                    && length(rev(l, Nil)) == 1000000
+                    && foldl((Int x, Int acc) => x + acc)(l, 0) == 1000000;
+            }
+            """);
+    }
+
+    @Test
+    public void listFunctions() throws Exception {
+        // map, filter and the folds are compiled into loops, so long
+        // lists must not overflow the Java stack.
+        assertEvalTrue("""
+            {
+                List<Int> l = copy(1, 1000000);
+                Int k = 2;
+                Bool testresult = length(map((Int x) => x + k)(l)) == 1000000
+                    && length(filter((Int x) => x > k)(l)) == 0
+                    && foldr((Int x, Int acc) => x + acc)(l, 0) == 1000000
+                    && foldl((Int x, Int acc) => x + acc)(filter((Int x) => x < k)(map((Int x) => x * k - 1)(l)), 0) == 1000000;
+            }
+            """);
+    }
+
+    @Test
+    public void parallelListFunctions() throws Exception {
+        // Long enough to be processed in parallel; the order of the
+        // elements must be kept.
+        assertEvalTrue("""
+            def List<Int> upto(Int n, List<Int> acc) = when n == 0 then acc else upto(n - 1, Cons(n, acc));
+            {
+                List<Int> l = upto(100000, Nil);
+                Int k = 3;
+                List<Int> m = parMap((Int x) => x * k)(l);
+                Bool testresult = length(m) == 100000 && nth(m, 99999) == 300000
+                    && parReduce((Int a, Int b) => a + b)(m, 0) == 15000150000
+                    && parReduce((List<Int> a, List<Int> b) => concatenate(a, b))(parMap((Int x) => list[x])(l), Nil) == l;
+            }
+            """);
+    }
+
+    @Test
+    public void compileTimeConstants() throws Exception {
+        // Closed calls are evaluated by the compiler and stored in
+        // static fields; the other calls compute the same values at
+        // runtime.
+        assertEvalTrue("""
+            def Int fact(Int n) = when n == 0 then 1 else n * fact(n - 1);
+            {
+                Int n = 20;
+                Map<String, Int> m = map(list[Pair("a", 1), Pair("b", 2)]);
+                Bool testresult = fact(20) == fact(n) && pow(2, 20) == 1048576
+                    && pow(2, -3) == 1 / 8 && toString(pow(2, -3)) == "1/8"
+                    && m == map(list[Pair("a", 1), Pair("b", n - 18)]) && lookupDefault(m, "b", 0) == 2
+                    && set(list[3, 1, 2]) == set(list[1, 2, n - 17]);
+            }
+            """);
+    }
+
+    @Test
+    public void compileTimeConstantsInTailCallGroup() throws Exception {
+        // f and g call each other in tail position; each returns a
+        // closed call stored in a static field of its own class.
+        assertEvalTrue("""
+            def Int f(Int n) = when n == 0 then pow(2, 3) else g(n - 1);
+            def Int g(Int n) = when n == 0 then pow(3, 2) else f(n - 1);
+            {
+                Bool testresult = f(0) == 8 && f(1) == 9 && f(2) == 8
+                    && g(0) == 9 && g(1) == 8 && g(2) == 9;
+            }
+            """);
+    }
+
+    @Test
+    public void largeIntLiterals() throws Exception {
+        // Literals outside the shared small values are static fields of
+        // the function's class; inlined bodies and merged tail calls
+        // refer to them from other classes.
+        assertEvalTrue("""
+            def Int scale(Int x) = x * 5000;
+            def Int down(Int n, Int acc) = when n == 0 then acc else up(n - 1, acc + 100000);
+            def Int up(Int n, Int acc) = when n == 0 then acc else down(n - 1, acc - 99999);
+            {
+                Int n = 1000000;
+                Bool testresult = scale(3) == 15000 && scale(n) == 5000000000
+                    && down(n, 0) == 500000 && up(n - 1, 0) == 400000;
+            }
+            """);
+    }
+
+    @Test
+    public void memoize() throws Exception {
+        // Without the cache, fib(80) would take far too long; the
+        // arguments of pair are datatype values built anew on each call.
+        assertEvalTrue("""
+            [Memoize] def Int fib(Int n) = when n < 2 then n else fib(n - 1) + fib(n - 2);
+            [MemoizeWith(2, EvictOldest)] def Int pair(Pair<Int, String> p) = fst(p) + strlen(snd(p));
+            {
+                Bool testresult = fib(80) == 23416728348467685
+                    && pair(Pair(1, "ab")) == 3 && pair(Pair(1, "ab")) == 3
+                    && pair(Pair(2, "a")) == 3 && pair(Pair(3, "")) == 3
+                    && pair(Pair(1, "abc")) == 4;
+            }
+            """);
+    }
+
+    @Test
+    public void inlining() throws Exception {
+        // Selectors, native list functions and one-liners are inlined
+        // at their call sites, also within the bodies of functions.
+        assertEvalTrue("""
+            def Int inc(Int x) = x + 1;
+            def A first<A, B>(Pair<A, B> p) = fst(p);
+            def Int sum(Pair<Int, Int> p) = fst(p) + snd(p);
+            {
+                Int one = 1;
+                Pair<Pair<Int, String>, Bool> p = Pair(Pair(one, "a"), True);
+                Maybe<Int> m = Just(inc(one));
+                List<Int> l = list[one, 2, 3];
+                Bool testresult = fst(fst(p)) == 1 && snd(fst(p)) == "a" && snd(p)
+                    && isJust(m) && !isJust(Nothing) && fromJust(m) == 2
+                    && inc(inc(one)) == 3 && first(Pair(one, 5)) == 1 && sum(Pair(one, 2)) == 3
+                    && head(tail(l)) == 2 && length(l) == 3 && !isEmpty(l) && contains(set(l), 3);
+            }
+            """);
+    }
+
+    @Test
+    public void selectorWithConstant() throws Exception {
+        // The long literal is stored in a static field of get's class,
+        // so get is called, not inlined.
+        assertEvalTrue("""
+            data D = A(Int) | B;
+            def Int get(D d) = case d { A(x) => x; B => 1000000000000000000000; };
+            {
+                D b = B;
+                Bool testresult = get(b) - 1 == 999999999999999999999 && get(A(1)) == 1;
+            }
+            """);
+    }
+
+    @Test
+    public void inliningKeepsEvaluationOrder() throws Exception {
+        // Both arguments of f are evaluated before g is called, so the
+        // unmatched case in h is reported, not the division by zero.
+        JavaCode code = getJavaCode("""
+            module JavaUnitTest;
+            def Int g(Int x) = truncate(1 / x);
+            def Int f(Int x, Int y) = g(x) + y;
+            def Int h(Int x) = case x { 1 => 1; };
+            {
+                Int zero = 0;
+                Int r = f(zero, h(zero));
+            }
+            """, Config.WITHOUT_MODULE_NAME);
+        String output = runJava(code).toString();
+        assertTrue(output, output.contains("did not match any pattern"));
+    }
+
+    @Test
+    public void filterKeepsEvaluationOrder() throws Exception {
+        // filter evaluates the rest of the list before the condition,
+        // so the condition fails for the last element first.
+        JavaCode code = getJavaCode("""
+            module JavaUnitTest;
+            def Bool first(Int x) = case x { 2 => True; };
+            def Bool last(Int x) = case x { 2 => True; };
+            {
+                Int one = 1;
+                List<Int> r = filter((Int x) => when x == 1 then first(x) else last(x))(list[one, 2, 3]);
+            }
+            """, Config.WITHOUT_MODULE_NAME);
+        String output = runJava(code).toString();
+        assertTrue(output, output.contains(":3:") && !output.contains(":2:"));
+    }
+
+    @Test
+    public void fusedLoopsKeepEvaluationOrder() throws Exception {
+        // map runs over the whole list before filter, so the unmatched
+        // case in checkMap is reported, not the one in checkFilter.
+        JavaCode code = getJavaCode("""
+            module JavaUnitTest;
+            def Int checkMap(Int x) = case x { 1 => 1; 2 => 2; };
+            def Bool checkFilter(Int x) = case x { 2 => True; };
+            {
+                Int one = 1;
+                List<Int> r = filter(checkFilter)(map(checkMap)(list[one, 2, 3]));
+            }
+            """, Config.WITHOUT_MODULE_NAME);
+        String output = runJava(code).toString();
+        assertTrue(output, output.contains(":2:") && !output.contains(":3:"));
+    }
+
+    @Test
+    public void letExpressions() throws Exception {
+        // Let variables become local variables; they can shadow each
+        // other, be matched against, and surround tail calls.
+        assertEvalTrue("""
+            interface I { }
+            def Int shadow(Int x) = let (Int x) = x + 1 in let (Int y) = x * 2 in let (Int x) = y + x in x;
+            def Int sum(Int n, Int acc) = let (Int m) = n - 1 in when n == 0 then acc else sum(m, acc + n);
+            def Bool same(Int x, List<Int> l) = let (Int y) = x in case l { Cons(y, _) => True; _ => False; };
+            def Int countNil(Int x) = let (List<Int> l) = Nil in length(l) + x;
+            def Bool isNull(I i) = let (I j) = i in j == null;
+            {
+                Int one = 1;
+                Bool t = True;
+                Int z = let (Bool b) = t in when b then let (Int one) = one + 1 in one else one;
+                Bool testresult = shadow(one) == 6 && sum(1000000, 0) == 500000500000
+                    && same(one, list[1, 2]) && !same(one, list[2, 1])
+                    && countNil(one) == 1 && isNull(null) && z == 2;
+            }
+            """);
+    }
+
+    @Test
+    public void sharedConstants() throws Exception {
+        // Nullary constructors are shared and closed constructor
+        // applications, lists and large integers are stored in static
+        // fields; values built at runtime must still compare equal.
+        assertEvalTrue("""
+            [Intern] data Shape = Dot | Box(Int);
+            def Maybe<A> none<A>() = Nothing;
+            {
+                Int one = 1;
+                Maybe<Int> m = Nothing;
+                List<Maybe<Int>> l = list[Just(1), Nothing];
+                Bool testresult = m == none() && !isJust(m) && lookup(map(list[Pair(one, Dot)]), 2) == Nothing
+                    && l == list[Just(one), Nothing] && head(l) == Just(one) && nth(l, one) == m
+                    && Box(1) == Box(one) && Dot != Box(one) && case Dot { Dot => True; _ => False; }
+                    && 123456789012345678901234567890 + one == 123456789012345678901234567891;
+            }
+            """);
+    }
+
+    @Test
+    public void largeListLiteral() throws Exception {
+        // A literal this large does not fit into a single Java method.
+        String elements = IntStream.range(0, 20000)
+            .mapToObj(i -> "Pair(" + i + ", \"" + i + "\")")
+            .collect(Collectors.joining(", "));
+        assertEvalTrue("{ List<Pair<Int, String>> l = list[" + elements + "];"
+                       + " Int n = 19999;"
+                       + " Bool testresult = length(l) == 20000 && fst(nth(l, n)) == n"
+                       + " && snd(head(l)) == \"0\" && snd(nth(l, n - 10000)) == \"9999\"; }");
+    }
+
+    @Test
+    public void largeBlocks() throws Exception {
+        // Without moving statements into helper methods, neither the
+        // method nor the main block would fit into a single Java method.
+        String method = IntStream.range(0, 2000)
+            .mapToObj(i -> "this.add(k + " + i + ");")
+            .collect(Collectors.joining(" "));
+        String main = IntStream.range(0, 2000)
+            .mapToObj(i -> "c.add(one * " + i + ");")
+            .collect(Collectors.joining(" "));
+        assertEvalTrue("interface I { Unit add(Int k); Unit addAll(Int k); Int get(); }"
+                       + " class C implements I { Int n = 0;"
+                       + " Unit add(Int k) { n = n + k; }"
+                       + " Unit addAll(Int k) { " + method + " }"
+                       + " Int get() { return n; } }"
+                       + " { I c = new local C(); Int one = 1; " + main
+                       + " c.addAll(one);"
+                       + " Bool testresult = c.get() == 1999000 + 2000 + 1999000; }");
+    }
+
+    @Test
+    public void stringBuilding() throws Exception {
+        // Appending to a string in a loop must take linear time; a
+        // quadratic implementation would not build 10 MB in time.
+        assertEvalTrue("""
+            {
+                String s = "";
+                String t = "x";
+                Int i = 0;
+                while (i < 1000000) {
+                    s = s + "01234" + "56789";
+                    if (i % 100000 == 0) {
+                        t = t + substr(s, i * 10, 1);
+                    }
+                    i = i + 1;
+                }
+                Bool testresult = strlen(s) == 10000000 && substr(s, 9999995, 5) == "56789"
+                    && t == "x0000000000";
+            }
+            """);
+    }
+
+    @Test
+    public void deepDataValues() throws Exception {
+        // Equality, ordering and toString must not overflow the Java
+        // stack on values nested a million levels deep.
+        assertEvalTrue("""
+            data Ints = NoInts | MoreInts(Int, Ints);
+            {
+                Ints a = NoInts;
+                Ints b = NoInts;
+                List<Ints> l = Nil;
+                Int i = 0;
+                while (i < 1000000) {
+                    a = MoreInts(i, a);
+                    b = MoreInts(i, b);
+                    l = Cons(NoInts, l);
+                    i = i + 1;
+                }
+                Bool testresult = a == b && !(a < b) && !(a > b)
+                    && MoreInts(0, a) < MoreInts(1, b) && a != MoreInts(0, b)
+                    && strlen(toString(a)) > 10000000
+                    && strlen(toString(l)) > 10000000
+                    && Cons(a, l) == Cons(b, l);
+            }
+            """);
+    }
+
+    @Test
+    public void nativeFunctionBodies() throws Exception {
+        // Native bodies only refer to parameters and type parameters
+        // that the standard library declares; getFunctionBody throws
+        // otherwise.
+        Model m = assertParse("{}");
+        int natives = 0;
+        for (ModuleDecl module : m.getModuleDecls()) {
+            if (!module.getName().equals("ABS.StdLib")) continue;
+            for (Decl d : module.getDecls()) {
+                if (d instanceof FunctionDecl f && NativeStdLib.getFunctionBody(f) != null) {
+                    natives++;
+                }
+            }
+        }
+        assertTrue(natives > 0);
+    }
+
 }
@@ -62,12 +62,25 @@ public class JavaObservationTest extends JavaBackendTest {
         assertOutputContains(I_AND_C + "  { I i; i = new local C(); i!m(); i!k(Bar(\"HALLO\",\"Welt\")); }", "TASK CREATED");
     }
 
+    @Test
+    public void taskCreationAsync() throws Exception {
+        assertOutputContains(I_AND_C + " { I i; i = new local C(); i!m();}", "TASK CREATED", "-Dabs.asyncobservers=true");
+    }
+
+    @Test
+    public void mainTerminatedAsync() throws Exception {
+        assertOutputContains("{ }", "MAIN TERMINATED", "-Dabs.asyncobservers=true");
+    }
+
     static final String STDDATA = "data Foo = Bar(String,String);";
 
-    private void assertOutputContains(String absCode, String expectedOutput) throws Exception {
+    private void assertOutputContains(String absCode, String expectedOutput, String... jvmArgs) throws Exception {
         JavaCode code = getJavaCode("module JavaTest;" + STDDATA + absCode);
         // System.out.println(java);
-        String output = runJava(code, "-Dabs.systemobserver=" + TestSystemObserver.class.getName()).toString().trim();
+        String[] args = new String[jvmArgs.length + 1];
+        args[0] = "-Dabs.systemobserver=" + TestSystemObserver.class.getName();
+        System.arraycopy(jvmArgs, 0, args, 1, jvmArgs.length);
+        String output = runJava(code, args).toString().trim();
         Assert.assertTrue("Expected to find " + expectedOutput + ", but output was:\n" + output, output.contains(expectedOutput));
     }
 
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import org.abs_models.backend.java.codegeneration.JavaCode;
+import org.abs_models.backend.java.codegeneration.JavaCodeStream;
+import org.abs_models.backend.java.profiling.PositionTable;
+import org.junit.Test;
+
+public class JavaProfilingTest extends JavaBackendTest {
+
+    @Test
+    public void positionTableForMethod() throws Exception {
+        JavaCode code = getJavaCode("module JavaUnitTest;\n"
+                                    + "class C {\n"
+                                    + "  Unit m() {\n"
+                                    + "    Int x = 1;\n"
+                                    + "    x = x + 1;\n"
+                                    + "  }\n"
+                                    + "}\n",
+                                    Config.WITHOUT_MODULE_NAME);
+        try {
+            File javaFile = new File(code.getSrcDir(), "JavaUnitTest/C_c.java");
+            try (URLClassLoader loader = new URLClassLoader(new URL[] { code.getSrcDir().toURI().toURL() })) {
+                PositionTable table = PositionTable.load(loader, "JavaUnitTest.C_c");
+                int javaLines = Files.readAllLines(javaFile.toPath()).size();
+                boolean found = false;
+                for (int line = 1; line <= javaLines; line++) {
+                    PositionTable.Entry pos = table.lookup(line);
+                    if (pos != null && pos.context().equals("JavaUnitTest.C.m") && pos.line() == 5) {
+                        found = true;
+                    }
+                }
+                assertTrue("No Java line maps to line 5 of method m", found);
+            }
+        } finally {
+            code.deleteCode();
+        }
+    }
+
+    @Test
+    public void codeStreamCountsAllNewlines() throws Exception {
+        File dir = Files.createTempDirectory("abs").toFile();
+        File javaFile = new File(dir, "F.java");
+        File posFile = new File(dir, "F" + PositionTable.RESOURCE_SUFFIX);
+        try {
+            JavaCodeStream stream = JavaCodeStream.from(javaFile);
+            stream.print('x');
+            stream.print((Object)"a\nb");
+            stream.print('\n');
+            stream.recordAbsPosition("M.f", null, 7);
+            stream.close();
+            assertEquals("3\t7\tM.f\t\n", Files.readString(posFile.toPath()));
+        } finally {
+            javaFile.delete();
+            posFile.delete();
+            dir.delete();
+        }
+    }
+}
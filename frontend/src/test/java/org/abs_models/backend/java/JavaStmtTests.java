@@ -151,4 +151,37 @@ public class JavaStmtTests extends JavaBackendTest {
             """);
     }
 
+    @Test
+    public void customScheduler() throws Exception {
+        // The scheduler fails with a pattern-match error if the
+        // builtins of ABS.Scheduler return malformed values.
+        assertEvalTrue("""
+            import * from ABS.Scheduler;
+            def Bool wellFormed(Process p) =
+                let Bool times = case arrival(p) { Time(_) => case start(p) { Time(_) => case finish(p) { Time(_) => True; }; }; } in
+                let Bool noCost = case cost(p) { InfDuration => True; } in
+                let Bool deadline = case method(p) {
+                    "withDeadline" => case proc_deadline(p) { Duration(_) => True; };
+                    _ => case proc_deadline(p) { InfDuration => True; };
+                } in
+                times && noCost && deadline;
+            def Process checked(List<Process> queue) =
+                case foldl((Process p, Bool acc) => acc && wellFormed(p))(queue, True) { True => head(queue); };
+            interface I { Bool withDeadline(); Bool withoutDeadline(); }
+            [Scheduler: checked(queue)]
+            class C implements I {
+                Bool withDeadline() { return True; }
+                Bool withoutDeadline() { return True; }
+            }
+            {
+                I o = new C();
+                [Deadline: Duration(10)] Fut<Bool> f1 = o!withDeadline();
+                Fut<Bool> f2 = o!withoutDeadline();
+                Bool r1 = await f1;
+                Bool r2 = await f2;
+                Bool testresult = r1 && r2;
+            }
+            """);
+    }
+
 }
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class LoggingTest {
+
+    /**
+     * Load a fresh copy of {@link Logging} with the given log level
+     * property, and return the values of its guard constants.
+     */
+    private static boolean[] guardsFor(String level) throws Exception {
+        String oldProperty = System.getProperty(Logging.LOGLEVEL_PROPERTY);
+        Logger parent = Logger.getLogger("org.abs_models.backend.java");
+        Level oldLevel = parent.getLevel();
+        Set<Handler> oldHandlers = Set.of(parent.getHandlers());
+        URL classes = Logging.class.getProtectionDomain().getCodeSource().getLocation();
+        System.setProperty(Logging.LOGLEVEL_PROPERTY, level);
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes }, ClassLoader.getPlatformClassLoader())) {
+            Class<?> logging = Class.forName(Logging.class.getName(), true, loader);
+            boolean[] result = new boolean[5];
+            String[] names = { "INFO", "CONFIG", "FINE", "FINER", "FINEST" };
+            for (int i = 0; i < names.length; i++) {
+                result[i] = logging.getField(names[i]).getBoolean(null);
+            }
+            return result;
+        } finally {
+            // undo the configuration done by the copy
+            if (oldProperty == null) {
+                System.clearProperty(Logging.LOGLEVEL_PROPERTY);
+            } else {
+                System.setProperty(Logging.LOGLEVEL_PROPERTY, oldProperty);
+            }
+            for (Handler h : parent.getHandlers()) {
+                if (!oldHandlers.contains(h)) parent.removeHandler(h);
+            }
+            parent.setLevel(oldLevel);
+        }
+    }
+
+    @Test
+    public void levelGuards() throws Exception {
+        // INFO, CONFIG, FINE, FINER, FINEST
+        assertEquals(List.of(false, false, false, false, false), asList(guardsFor("warning")));
+        assertEquals(List.of(true, true, true, false, false), asList(guardsFor("fine")));
+        assertEquals(List.of(true, true, true, true, true), asList(guardsFor("FINEST")));
+    }
+
+    private static List<Boolean> asList(boolean[] values) {
+        return List.of(values[0], values[1], values[2], values[3], values[4]);
+    }
+
+    @Test
+    public void loggedClasses() {
+        Filter filter = Logging.loggerFilter(new String[] { "COG", "org.abs_models.backend.java.lib.runtime.ABSFut" });
+        assertTrue(filter.isLoggable(record("org.abs_models.backend.java.lib.runtime.COG")));
+        assertTrue(filter.isLoggable(record("org.abs_models.backend.java.lib.runtime.ABSFut")));
+        assertFalse(filter.isLoggable(record("org.abs_models.backend.java.lib.runtime.ABSRuntime")));
+        assertFalse(filter.isLoggable(record(null)));
+    }
+
+    private static LogRecord record(String loggerName) {
+        LogRecord result = new LogRecord(Level.WARNING, "message");
+        result.setLoggerName(loggerName);
+        return result;
+    }
+
+    private static Logger testLogger(Handler handler) {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        logger.addHandler(handler);
+        return logger;
+    }
+
+    @Test
+    public void jsonLines() throws Exception {
+        File file = File.createTempFile("abs-events", ".jsonl");
+        file.deleteOnExit();
+        JsonLinesLogHandler handler = new JsonLinesLogHandler(file);
+        try {
+            Logger logger = testLogger(handler);
+            logger.warning("plain \"message\"");
+            Logging.event(logger, Level.INFO, "schedule", "task", 3, "clock", 42L, "ready", true, "name", "C.m", "none", null);
+            logger.fine("fine");
+            handler.setLevel(Level.INFO);
+            logger.fine("not written");
+            handler.flush();
+
+            ObjectMapper mapper = new ObjectMapper();
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertEquals(3, lines.size());
+            JsonNode plain = mapper.readTree(lines.get(0));
+            assertEquals("WARNING", plain.get("level").asText());
+            assertEquals("plain \"message\"", plain.get("message").asText());
+            assertTrue(plain.has("time") && plain.has("thread") && plain.has("logger"));
+            assertFalse(plain.has("event"));
+
+            JsonNode event = mapper.readTree(lines.get(1));
+            assertEquals("INFO", event.get("level").asText());
+            assertEquals("schedule", event.get("event").asText());
+            assertEquals(3, event.get("task").asInt());
+            assertEquals(42L, event.get("clock").asLong());
+            assertTrue(event.get("ready").asBoolean());
+            assertEquals("C.m", event.get("name").asText());
+            assertTrue(event.get("none").isNull());
+            assertFalse(event.has("message"));
+
+            assertEquals("fine", mapper.readTree(lines.get(2)).get("message").asText());
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void flushWaitsForWriter() throws Exception {
+        File file = File.createTempFile("abs-events", ".jsonl");
+        file.deleteOnExit();
+        JsonLinesLogHandler handler = new JsonLinesLogHandler(file);
+        try {
+            Logger logger = testLogger(handler);
+            int n = 3 * JsonLinesLogHandler.QUEUE_CAPACITY;
+            for (int i = 0; i < n; i++) {
+                logger.log(new LogRecord(Level.INFO, "record " + i));
+            }
+            handler.flush();
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertEquals(n, lines.size());
+            assertTrue(lines.get(n - 1).contains("record " + (n - 1)));
+        } finally {
+            handler.close();
+        }
+    }
+}
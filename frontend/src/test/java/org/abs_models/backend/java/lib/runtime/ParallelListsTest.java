@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.abs_models.backend.java.lib.types.ABSList;
+import org.junit.Test;
+
+public class ParallelListsTest {
+
+    private static final int SIZE = 40_000;
+
+    private static ABSList<Integer> elements() {
+        Integer[] result = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = i;
+        }
+        return ABSList.of(result);
+    }
+
+    private static boolean fails(int x) {
+        return x == 100 || x == 30_000;
+    }
+
+    @Test
+    public void mapThrowsForFirstElement() {
+        Function<Integer, Integer> f = x -> {
+            if (fails(x)) throw new IllegalStateException("failed for " + x);
+            return x;
+        };
+        try {
+            ParallelLists.map(elements(), f);
+            fail("Expected an exception");
+        } catch (IllegalStateException e) {
+            assertEquals("failed for 100", e.getMessage());
+        }
+    }
+
+    @Test
+    public void reduceThrowsForLastElement() {
+        // like foldr, sequential evaluation starts at the end of the list
+        BinaryOperator<Integer> f = (x, acc) -> {
+            if (fails(x)) throw new IllegalStateException("failed for " + x);
+            return Math.max(x, acc);
+        };
+        try {
+            ParallelLists.reduce(elements(), Integer.MIN_VALUE, f);
+            fail("Expected an exception");
+        } catch (IllegalStateException e) {
+            assertEquals("failed for 30000", e.getMessage());
+        }
+    }
+}
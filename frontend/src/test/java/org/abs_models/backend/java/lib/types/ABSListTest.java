@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.lib.types;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apfloat.Apint;
+import org.junit.Test;
+
+public class ABSListTest {
+
+    @Test
+    public void copy() {
+        ABSList<String> l = ABSList.copy("a", new Apint(3));
+        assertEquals(3, l.size());
+        assertEquals("a", l.nth(new Apint(2)));
+        assertEquals(0, ABSList.copy("a", Apint.ZERO).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void copyNegative() {
+        ABSList.copy("a", new Apint(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void copyTooLong() {
+        // would be truncated to 0 by intValue
+        ABSList.copy("a", new Apint(1L << 32));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void copyHuge() {
+        ABSList.copy("a", new Apint("123456789012345678901234567890"));
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.observing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class AsyncObserverDispatcherTest {
+
+    private static final int THREADS = 4;
+    private static final int EVENTS = 20000;
+
+    /** Counts delivered steps by line number; throws on the given line. */
+    private static class StepCounter extends DefaultTaskObserver {
+        final ConcurrentHashMap<Integer, AtomicInteger> seen = new ConcurrentHashMap<>();
+        final int failingLine;
+
+        StepCounter(int failingLine) {
+            this.failingLine = failingLine;
+        }
+
+        @Override
+        public void taskStep(TaskView task, String fileName, int line) {
+            if (line == failingLine) {
+                throw new AssertionError("observer failure");
+            }
+            seen.computeIfAbsent(line, l -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private static void publishConcurrently(AsyncObserverDispatcher dispatcher, StepCounter observer)
+        throws InterruptedException
+    {
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int first = t * EVENTS;
+            threads[t] = new Thread(() -> {
+                for (int i = first; i < first + EVENTS; i++) {
+                    dispatcher.publish(ObserverEvent.TASK_STEP, observer, null, "file", null, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+    }
+
+    private static void assertDeliveredOnce(StepCounter observer, int expected) {
+        assertEquals(expected, observer.seen.size());
+        assertTrue(observer.seen.values().stream().allMatch(n -> n.get() == 1));
+    }
+
+    @Test
+    public void deliversAllEvents() throws Exception {
+        AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher(64);
+        StepCounter observer = new StepCounter(-1);
+        publishConcurrently(dispatcher, observer);
+        dispatcher.shutdown();
+        assertDeliveredOnce(observer, THREADS * EVENTS);
+    }
+
+    @Test
+    public void survivesConsumerFailure() throws Exception {
+        // The error kills the consumer thread; the publishing threads
+        // take over delivery.
+        AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher(64);
+        StepCounter observer = new StepCounter(EVENTS / 2);
+        publishConcurrently(dispatcher, observer);
+        dispatcher.shutdown();
+        assertDeliveredOnce(observer, THREADS * EVENTS - 1);
+    }
+
+    @Test
+    public void shutdownDeliversPendingEvents() throws Exception {
+        AsyncObserverDispatcher dispatcher = new AsyncObserverDispatcher(64);
+        StepCounter observer = new StepCounter(-1);
+        Thread publisher = new Thread(() -> {
+            try {
+                publishConcurrently(dispatcher, observer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        publisher.start();
+        dispatcher.shutdown();
+        publisher.join();
+        // events published after the shutdown are delivered directly
+        assertDeliveredOnce(observer, THREADS * EVENTS);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Map;
+
+import org.abs_models.backend.java.lib.runtime.Task;
+import org.junit.Test;
+
+public class SamplingProfilerTest {
+
+    private static final Map<String, PositionTable.Entry> POSITIONS = Map.of(
+        "M.f_f:20", new PositionTable.Entry("M.f", "m.abs", 8),
+        "M.f_f:18", new PositionTable.Entry("M.f", "m.abs", 7),
+        "M.C_c:40", new PositionTable.Entry("M.C.m", "m.abs", 3),
+        "M.C_c$1:41", new PositionTable.Entry("M.D.n", "m.abs", 12));
+
+    private static StackTraceElement frame(String className, String method, int line) {
+        return new StackTraceElement(className, method, null, line);
+    }
+
+    private static String collapse(StackTraceElement... trace) {
+        return SamplingProfiler.collapse(trace, f -> POSITIONS.get(f.getClassName() + ":" + f.getLineNumber()));
+    }
+
+    private static final StackTraceElement TASK = frame(Task.class.getName(), "run", 100);
+    private static final StackTraceElement THREAD = frame("java.lang.Thread", "run", 1000);
+
+    @Test
+    public void collapsesAbsFrames() {
+        // innermost frame first; the two frames of f (e.g., for a let
+        // expression) become one with the innermost line, the runtime
+        // frame is attributed to f, and the wrapper of the asynchronous
+        // call is skipped
+        assertEquals("M.C.m:3;M.f:8",
+                     collapse(frame("M.f_f", "apply", 20),
+                              frame("M.f_f", "apply", 18),
+                              frame("org.abs_models.backend.java.lib.runtime.ABSBuiltInFunctions", "println", 5),
+                              frame("M.C_c", "m", 40),
+                              frame("M.C_c$1", "call", 41),
+                              TASK, THREAD));
+    }
+
+    @Test
+    public void runtimeOnly() {
+        assertEquals("[runtime]",
+                     collapse(frame("org.abs_models.backend.java.lib.runtime.COG", "schedule", 5), TASK, THREAD));
+    }
+
+    @Test
+    public void noTask() {
+        assertNull(collapse(frame("M.f_f", "apply", 20), THREAD));
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BinaryTraceTest {
+
+    private static File tempTrace() throws IOException {
+        File file = File.createTempFile("abs-trace", ".bin");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static List<TraceEvent> readAll(File file) throws IOException {
+        try (BinaryTraceReader reader = new BinaryTraceReader(file)) {
+            return reader.readAll();
+        }
+    }
+
+    /** Replace the time of an event by 0, for comparing events. */
+    private static TraceEvent untimed(TraceEvent event) {
+        return switch (event) {
+        case TraceEvent.CogCreated e -> new TraceEvent.CogCreated(0, e.cog(), e.object(), e.className());
+        case TraceEvent.ObjectCreated e -> new TraceEvent.ObjectCreated(0, e.cog(), e.object(), e.className());
+        case TraceEvent.MessageSent e -> new TraceEvent.MessageSent(0, e.task(), e.senderTask(),
+                                                                    e.sourceObject(), e.sourceClass(),
+                                                                    e.targetObject(), e.targetClass(), e.targetCog(),
+                                                                    e.method(), e.future());
+        case TraceEvent.TaskStarted e -> new TraceEvent.TaskStarted(0, e.task());
+        case TraceEvent.TaskFinished e -> new TraceEvent.TaskFinished(0, e.task());
+        case TraceEvent.FutureResolved e -> new TraceEvent.FutureResolved(0, e.future());
+        };
+    }
+
+    private static void writeSample(BinaryTraceWriter writer) {
+        writer.recordObject(TraceFormat.COG_CREATED, 1, 10, "M.Main");
+        writer.recordMessage(1, -1, -1, null, 10, "M.Main", 1, "run", 1);
+        writer.record(TraceFormat.TASK_STARTED, 1);
+        writer.recordObject(TraceFormat.OBJECT_CREATED, 1, 11, "M.Wörker");
+        writer.recordMessage(2, 1, 10, "M.Main", 11, "M.Wörker", 1, "work", 2);
+        writer.record(TraceFormat.TASK_FINISHED, 1);
+        writer.record(TraceFormat.TASK_STARTED, 2);
+        writer.record(TraceFormat.TASK_FINISHED, 2);
+        writer.record(TraceFormat.FUTURE_RESOLVED, 2);
+    }
+
+    private static final List<TraceEvent> SAMPLE = List.of(
+        new TraceEvent.CogCreated(0, 1, 10, "M.Main"),
+        new TraceEvent.MessageSent(0, 1, -1, -1, null, 10, "M.Main", 1, "run", 1),
+        new TraceEvent.TaskStarted(0, 1),
+        new TraceEvent.ObjectCreated(0, 1, 11, "M.Wörker"),
+        new TraceEvent.MessageSent(0, 2, 1, 10, "M.Main", 11, "M.Wörker", 1, "work", 2),
+        new TraceEvent.TaskFinished(0, 1),
+        new TraceEvent.TaskStarted(0, 2),
+        new TraceEvent.TaskFinished(0, 2),
+        new TraceEvent.FutureResolved(0, 2));
+
+    @Test
+    public void roundTrip() throws Exception {
+        File file = tempTrace();
+        long before = System.currentTimeMillis();
+        BinaryTraceWriter writer = new BinaryTraceWriter(file);
+        writeSample(writer);
+        writer.close();
+
+        try (BinaryTraceReader reader = new BinaryTraceReader(file)) {
+            assertTrue(reader.getStartTimeMillis() >= before);
+            List<TraceEvent> events = reader.readAll();
+            assertEquals(SAMPLE, events.stream().map(BinaryTraceTest::untimed).toList());
+            for (int i = 1; i < events.size(); i++) {
+                assertTrue(events.get(i).time() >= events.get(i - 1).time());
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void crossesRegionBoundary() throws Exception {
+        // Messages take 53 bytes, so the records cross the boundary of
+        // the first 16 MB region; new strings are written on both sides.
+        int n = 400_000;
+        File file = tempTrace();
+        BinaryTraceWriter writer = new BinaryTraceWriter(file);
+        for (int i = 0; i < n; i++) {
+            writer.recordMessage(i, i - 1, i, "C", i + 1, "C", 0, "m" + (i / 1000), i);
+        }
+        writer.close();
+        assertTrue(file.length() > 16 << 20);
+
+        List<TraceEvent> events = readAll(file);
+        assertEquals(n, events.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(new TraceEvent.MessageSent(0, i, i - 1, i, "C", i + 1, "C", 0, "m" + (i / 1000), i),
+                         untimed(events.get(i)));
+        }
+    }
+
+    @Test
+    public void stopsAtEndMarker() throws Exception {
+        // Where the file cannot be truncated, the END marker is followed
+        // by the rest of the mapped region.
+        File file = tempTrace();
+        BinaryTraceWriter writer = new BinaryTraceWriter(file);
+        writeSample(writer);
+        writer.close();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(TraceFormat.END);
+            out.write(new byte[] { 42, 1, 2, 3 });
+        }
+        assertEquals(SAMPLE, readAll(file).stream().map(BinaryTraceTest::untimed).toList());
+    }
+
+    @Test
+    public void readsTruncatedTrace() throws Exception {
+        // A model that did not shut down cleanly leaves no END marker.
+        File file = tempTrace();
+        BinaryTraceWriter writer = new BinaryTraceWriter(file);
+        writeSample(writer);
+        writer.close();
+        long length = file.length();
+        try (RandomAccessFile f = new RandomAccessFile(file, "rw")) {
+            // cut off the middle of the last record
+            f.setLength(length - 3);
+        }
+        assertEquals(SAMPLE.subList(0, SAMPLE.size() - 1),
+                     readAll(file).stream().map(BinaryTraceTest::untimed).toList());
+    }
+}
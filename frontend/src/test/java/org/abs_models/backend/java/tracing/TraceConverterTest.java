@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.backend.java.tracing;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class TraceConverterTest {
+
+    /**
+     * The main task creates a worker COG and a local object and sends
+     * two messages to the worker; the second one is started but does
+     * not finish before the end of the trace.
+     */
+    private static final List<TraceEvent> EVENTS = List.of(
+        new TraceEvent.CogCreated(1000, 1, 10, "M.Main"),
+        new TraceEvent.MessageSent(2000, 1, -1, -1, null, 10, "M.Main", 1, "run", 1),
+        new TraceEvent.TaskStarted(3000, 1),
+        new TraceEvent.CogCreated(4000, 2, 11, "M.Worker"),
+        new TraceEvent.ObjectCreated(4500, 1, 12, "M.Log"),
+        new TraceEvent.MessageSent(5000, 2, 1, 10, "M.Main", 11, "M.Worker", 2, "work", 2),
+        new TraceEvent.MessageSent(5500, 3, 1, 10, "M.Main", 11, "M.Worker", 2, "work", 3),
+        new TraceEvent.TaskFinished(6000, 1),
+        new TraceEvent.TaskStarted(7000, 2),
+        new TraceEvent.TaskFinished(1_007_000, 2),
+        new TraceEvent.TaskStarted(1_500_000, 3),
+        new TraceEvent.FutureResolved(1_007_000, 2));
+
+    private static String lines(String s) {
+        return s.replace(System.lineSeparator(), "\n");
+    }
+
+    @Test
+    public void chrome() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ChromeTraceConverter().write(EVENTS, out);
+        String expected = """
+            {"displayTimeUnit":"ms","traceEvents":[
+            {"name":"process_name","ph":"M","pid":1,"args":{"name":"COG 1 (M.Main)"}},
+            {"name":"process_name","ph":"M","pid":2,"args":{"name":"COG 2 (M.Worker)"}},
+            {"name":"thread_name","ph":"M","pid":1,"tid":1,"args":{"name":"Task 1: M.Main.run"}},
+            {"name":"M.Main.run","cat":"task","ph":"X","ts":3.0,"dur":3.0,"pid":1,"tid":1,"args":{"object":10,"future":1,"finished":true}},
+            {"name":"thread_name","ph":"M","pid":2,"tid":2,"args":{"name":"Task 2: M.Worker.work"}},
+            {"name":"M.Worker.work","cat":"task","ph":"X","ts":7.0,"dur":1000.0,"pid":2,"tid":2,"args":{"object":11,"future":2,"finished":true}},
+            {"name":"call","cat":"message","ph":"s","id":2,"ts":5.0,"pid":1,"tid":1},
+            {"name":"call","cat":"message","ph":"f","bp":"e","id":2,"ts":7.0,"pid":2,"tid":2},
+            {"name":"thread_name","ph":"M","pid":2,"tid":3,"args":{"name":"Task 3: M.Worker.work"}},
+            {"name":"M.Worker.work","cat":"task","ph":"X","ts":1500.0,"dur":0.0,"pid":2,"tid":3,"args":{"object":11,"future":3,"finished":false}},
+            {"name":"call","cat":"message","ph":"s","id":3,"ts":5.5,"pid":1,"tid":1},
+            {"name":"call","cat":"message","ph":"f","bp":"e","id":3,"ts":1500.0,"pid":2,"tid":3},
+            {"name":"new M.Log","cat":"object","ph":"i","s":"p","ts":4.5,"pid":1,"args":{"object":12}}
+            ]}
+            """;
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(expected), mapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    public void sdedit() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SdeditConverter().write(EVENTS, new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertEquals("""
+            HiddenEnv:HiddenEnv[pe]
+            M_Main_10:M.Main[a]"M.Main [COG 1]"
+            M_Worker_11:M.Worker[a]"M.Worker [COG 2]"
+            M_Log_12:M.Log[a]"M.Log [COG 1]"
+
+            HiddenEnv:>M_Main_10.run()
+            M_Main_10:>M_Worker_11.work()
+            M_Main_10:>M_Worker_11.work()
+            """, lines(out.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void latencyStatistics() {
+        // work: waits of 2 us and 1494.5 us, one run of 1 ms
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LatencyStatistics().write(EVENTS, new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertEquals("""
+            method                                      count  wait-mean   wait-p95   run-mean    run-p50    run-p95    run-p99    run-max  total-p95
+            M.Main.run                                      1      0.001      0.001      0.003      0.003      0.003      0.003      0.003      0.004
+            M.Worker.work                                   2      0.748      1.495      1.000      1.000      1.000      1.000      1.000      1.002
+            """, lines(out.toString(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2026, The HATS Consortium. All rights reserved.
+ * This file is licensed under the terms of the Modified BSD License.
+ */
+package org.abs_models.frontend.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.abs_models.frontend.FrontendTest;
+import org.abs_models.frontend.ast.FnApp;
+import org.abs_models.frontend.ast.Model;
+import org.junit.Test;
+
+public class PartialEvaluatorTest extends FrontendTest {
+
+    private static final String FUNCTIONS = """
+        def Int fact(Int n) = when n == 0 then 1 else n * fact(n - 1);
+        def Int loop(Int n) = loop(n + 1);
+        def List<Int> squares(List<Int> l) = case l { Nil => Nil; Cons(x, r) => Cons(x * x, squares(r)); };
+        """;
+
+    private Object evaluate(String block, int i) {
+        Model m = assertParse(FUNCTIONS + block, TYPE_CHECK);
+        return ((FnApp)getExp(m, i)).getCompileTimeValue();
+    }
+
+    private String evaluate(String block) {
+        Object value = evaluate(block, 0);
+        return value == null ? null : value.toString();
+    }
+
+    @Test
+    public void arithmetic() {
+        assertEquals("3628800", evaluate("{ Int x = fact(10); }"));
+        assertEquals("1024", evaluate("{ Rat x = pow(2, 10); }"));
+        assertEquals("1/8", evaluate("{ Rat x = pow(2, -3); }"));
+        assertEquals("2", evaluate("{ Int x = max(1, 2); }"));
+    }
+
+    @Test
+    public void datatypes() {
+        assertEquals("Cons(1, Cons(4, Cons(9, Nil)))", evaluate("{ List<Int> x = squares(list[1, 2, 3]); }"));
+        assertEquals("2", evaluate("{ Int x = lookupDefault(map(list[Pair(\"a\", 1), Pair(\"b\", 2)]), \"b\", 0); }"));
+        assertEquals("true", evaluate("{ Bool x = contains(set(list[3, 1, 2]), 2); }"));
+    }
+
+    @Test
+    public void strings() {
+        assertEquals("ell", evaluate("{ String x = substr(\"hello\", 1, 3); }"));
+        assertEquals("5", evaluate("{ String x = toString(strlen(\"hello\")); }"));
+    }
+
+    @Test
+    public void givesUp() {
+        // free variable
+        assertNull(evaluate("{ Int n = 3; Int x = fact(n); }", 1));
+        // no termination
+        assertNull(evaluate("{ Int x = loop(0); }"));
+        // failing pattern match, builtin with side effects, Float
+        assertNull(evaluate("{ Int x = head(tail(list[1])); }"));
+        assertNull(evaluate("{ Int x = random(10); }"));
+        assertNull(evaluate("{ Int x = floor(sqrt(2.0)); }"));
+    }
+
+    @Test
+    public void keepsOutcomesOfSubexpressions() {
+        // loop does not terminate, so the whole call gives up; neither
+        // argument is evaluated again
+        Model m = assertParse(FUNCTIONS + "{ Int x = max(fact(20), loop(0)); }", TYPE_CHECK);
+        FnApp app = (FnApp)getExp(m, 0);
+        assertNull(app.getCompileTimeValue());
+        assertEquals("2432902008176640000", app.getParam(0).compileTimeOutcome.toString());
+        assertSame(PartialEvaluator.FAILED, app.getParam(1).compileTimeOutcome);
+        assertEquals("2432902008176640000", app.getParam(0).getCompileTimeValue().toString());
+        assertNull(app.getParam(1).getCompileTimeValue());
+    }
+}
@@ -9,6 +9,7 @@ import static org.junit.Assert.assertEquals;
 import java.util.List;
 
 import org.abs_models.frontend.FrontendTest;
+import org.abs_models.frontend.analyser.ErrorMessage;
 import org.abs_models.frontend.ast.ClassDecl;
 import org.abs_models.frontend.ast.DataConstructorExp;
 import org.abs_models.frontend.ast.Model;
@@ -49,6 +50,33 @@ public class AnnotationTests extends FrontendTest {
         assertHasLocAnnotation(decl.getParam(0).getType(),"Far");
     }
     
+    @Test
+    public void testMemoize() {
+        assertTypeOK("[Memoize] def Int f(Int x) = x + 1;");
+        assertTypeOK("[MemoizeWith(10, EvictOldest)] def A id<A>(A x) = x;");
+    }
+
+    @Test
+    public void testMemoizeOnlyOnFunctions() {
+        assertTypeErrors("[Memoize] class C { }", ErrorMessage.WRONG_MEMOIZE_TARGET);
+        assertTypeErrors("def Int f([Memoize] Int x) = x;", ErrorMessage.WRONG_MEMOIZE_TARGET);
+    }
+
+    @Test
+    public void testMemoizeSize() {
+        assertTypeErrors("[MemoizeWith(0, EvictOldest)] def Int f(Int x) = x;", ErrorMessage.WRONG_MEMOIZE_SIZE);
+        assertTypeErrors("[MemoizeWith(1 + 1, EvictOldest)] def Int f(Int x) = x;", ErrorMessage.WRONG_MEMOIZE_SIZE);
+    }
+
+    @Test
+    public void testMemoizeImpure() {
+        assertTypeErrors("[Memoize] def Int f(Int x) = random(x);", ErrorMessage.IMPURE_MEMOIZE_FUNCTION);
+        assertTypeErrors("def Unit g(String s) = println(s); [Memoize] def Int f(Int x) = let Unit u = g(toString(x)) in x;",
+                         ErrorMessage.IMPURE_MEMOIZE_FUNCTION);
+        assertTypeErrors("[Memoize] def List<Int> f(List<Int> l) = map(random)(l);", ErrorMessage.IMPURE_MEMOIZE_FUNCTION);
+        assertTypeOK("def Int g(Int x) = x * 2; [Memoize] def List<Int> f(List<Int> l) = map(g)(l);");
+    }
+
     private Model assertParseOkAnn(String exampleCode) {
         return assertParse(TEST_ANN+exampleCode);
     }